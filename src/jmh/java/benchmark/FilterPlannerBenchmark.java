@@ -0,0 +1,154 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+import model.ComparatorSet;
+import model.Dog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link model.ACFilterPlanner#filter} as a search runs it: filtered and sorted, then
+ * collected into the result list.
+ *
+ * {@link #filter} runs filter combinations without sorting, and {@link #sort} sorts all dogs
+ * by each field of {@link ComparatorSet}.
+ *
+ * Only 10 of the 64 filter combinations run by default: no filter, each field alone, two and
+ * three fields, and all six. The planner chains one predicate per field in a fixed order, so a
+ * combination costs each predicate's time for the dogs that pass the ones before it. The single
+ * fields measure each predicate, and the larger sets measure the chaining. Running all 64
+ * would take over an hour at four inventory sizes. Any other combination can be run with
+ * {@code -p filters=sex,age -p sortOn=price}.
+ */
+public class FilterPlannerBenchmark {
+
+    /**
+     * The filters of a search, with values taken from the inventory's probe dog so every
+     * filter matches at least one dog whatever the seed.
+     */
+    @State(Scope.Benchmark)
+    public static class Filters {
+        /** The fields to filter on, separated by commas, or "none"; a subset of all 64, see the class doc. */
+        @Param({"none", "name", "sex", "breed", "age", "weight", "price", "sex,breed", "breed,age,price",
+                "name,sex,breed,age,weight,price"})
+        public String filters;
+
+        /** Whether to filter by name. */
+        boolean nameOn;
+        /** Whether to filter by sex. */
+        boolean sexOn;
+        /** Whether to filter by breed. */
+        boolean breedOn;
+        /** Whether to filter by age. */
+        boolean ageOn;
+        /** Whether to filter by weight. */
+        boolean weightOn;
+        /** Whether to filter by price. */
+        boolean priceOn;
+        /** The name filter, the start of the probe's name. */
+        String name;
+        /** The sex filter. */
+        String sex;
+        /** The breed filter. */
+        String breed;
+        /** The age filter. */
+        String age;
+        /** The weight filter. */
+        String weight;
+        /** The price filter. */
+        String price;
+
+        /**
+         * Reads the filter fields and takes their values from the probe dog.
+         *
+         * @param inventory the inventory being searched
+         * @throws IllegalArgumentException if a field is not recognized
+         */
+        @Setup
+        public void setUp(Inventory inventory) {
+            List<String> fields = filters.equals("none") ? List.of() : Arrays.asList(filters.split(","));
+            for (String field : fields) {
+                if (ComparatorSet.getPredicate(field, "1") == null) {
+                    throw new IllegalArgumentException("Unknown filter " + field);
+                }
+            }
+            Dog probe = inventory.probe;
+            nameOn = fields.contains("name");
+            sexOn = fields.contains("sex");
+            breedOn = fields.contains("breed");
+            ageOn = fields.contains("age");
+            weightOn = fields.contains("weight");
+            priceOn = fields.contains("price");
+            name = probe.getName().substring(0, Math.min(3, probe.getName().length()));
+            sex = probe.getSex();
+            breed = probe.getBreed().name();
+            age = String.valueOf(probe.getAge());
+            weight = String.valueOf(probe.getWeight());
+            price = String.valueOf(probe.getPrice());
+        }
+    }
+
+    /**
+     * The field to sort by.
+     */
+    @State(Scope.Benchmark)
+    public static class Sort {
+        /** A field of {@link ComparatorSet}, or "none" to leave the dogs unsorted. */
+        @Param({"none", "name", "sex", "breed", "age", "weight", "price"})
+        public String sortOn;
+
+        /**
+         * Checks the sort field.
+         *
+         * @throws IllegalArgumentException if the field is not recognized
+         */
+        @Setup
+        public void setUp() {
+            if (!sortOn.equals("none") && ComparatorSet.getComparator(sortOn) == null) {
+                throw new IllegalArgumentException("Unknown sort field " + sortOn);
+            }
+        }
+
+        /**
+         * Returns the field as the planner takes it.
+         *
+         * @return the field, or null for no sorting
+         */
+        String field() {
+            return sortOn.equals("none") ? null : sortOn;
+        }
+    }
+
+    /**
+     * Filters all dogs by a combination of fields.
+     *
+     * @param inventory the dogs
+     * @param filters the filters to apply
+     * @return the matching dogs
+     */
+    @Benchmark
+    public List<Dog> filter(Inventory inventory, Filters filters) {
+        return inventory.planner.filter(filters.nameOn, filters.name, filters.sexOn, filters.sex,
+                filters.breedOn, filters.breed, filters.ageOn, filters.age,
+                filters.weightOn, filters.weight, filters.priceOn, filters.price, null, true).toList();
+    }
+
+    /**
+     * Sorts all dogs by one field.
+     *
+     * @param inventory the dogs
+     * @param sort the field to sort by
+     * @return the sorted dogs
+     */
+    @Benchmark
+    public List<Dog> sort(Inventory inventory, Sort sort) {
+        return inventory.planner.filter(false, null, false, null, false, null, false, null,
+                false, null, false, null, sort.field(), true).toList();
+    }
+}
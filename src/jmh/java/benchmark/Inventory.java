@@ -0,0 +1,55 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.List;
+
+import model.ACFilterPlanner;
+import model.AdoptionCenterModel;
+import model.Dog;
+import model.SyntheticInventory;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A synthetic inventory of dogs shared by all threads of a benchmark, with a model holding the
+ * dogs and a planner over the adoptable ones.
+ *
+ * The inventory is built once per size and fork by {@link SyntheticInventory} from the bundled
+ * breeds. Its contents are fixed by the seed, so runs of different builds measure the same data.
+ */
+@State(Scope.Benchmark)
+public class Inventory {
+    /** The seed of the generated dogs. */
+    static final long SEED = SyntheticInventory.DEFAULT_SEED;
+
+    /** The number of dogs. */
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int size;
+
+    /** The model holding the dogs. */
+    public AdoptionCenterModel model;
+    /**
+     * A planner over the adoptable dogs. The controller builds one like it per model version and
+     * shares it between searches, so it is built once here too.
+     */
+    public ACFilterPlanner planner;
+    /** The adoptable dog in the middle of the inventory, whose values the filters look for. */
+    public Dog probe;
+
+    /**
+     * Generates the dogs and adds them to a new model.
+     *
+     * @throws IOException if the bundled breed catalogue cannot be read
+     */
+    @Setup
+    public void setUp() throws IOException {
+        model = new AdoptionCenterModel();
+        SyntheticInventory.bundled(SEED).stream(1, size).forEach(model::addDog);
+        List<Dog> adoptable = model.getAdoptableDogs();
+        planner = new ACFilterPlanner(adoptable);
+        probe = adoptable.get(adoptable.size() / 2);
+    }
+}
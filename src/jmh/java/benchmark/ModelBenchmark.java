@@ -0,0 +1,76 @@
+package benchmark;
+
+import java.util.List;
+import java.util.Random;
+
+import model.Dog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the lookups of {@link model.AdoptionCenterModel} used by the controllers.
+ */
+public class ModelBenchmark {
+
+    /**
+     * The ids a thread looks up, in a random order fixed by the seed.
+     */
+    @State(Scope.Thread)
+    public static class Ids {
+        /** The ids of existing dogs to look up. */
+        String[] ids;
+        /** The index of the next id. */
+        int next;
+
+        /**
+         * Picks the ids to look up.
+         *
+         * @param inventory the dogs
+         */
+        @Setup
+        public void setUp(Inventory inventory) {
+            Random random = new Random(Inventory.SEED);
+            ids = new String[1024];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = String.valueOf(1 + random.nextInt(inventory.size));
+            }
+        }
+
+        /**
+         * Returns the next id to look up.
+         *
+         * @return an id of an existing dog
+         */
+        String next() {
+            String id = ids[next];
+            next = (next + 1) & (ids.length - 1);
+            return id;
+        }
+    }
+
+    /**
+     * Looks up a dog by id.
+     *
+     * @param inventory the dogs
+     * @param ids the ids to look up
+     * @return the dog found
+     */
+    @Benchmark
+    public Dog getDogById(Inventory inventory, Ids ids) {
+        return inventory.model.getDogById(ids.next());
+    }
+
+    /**
+     * Lists the dogs ready for adoption.
+     *
+     * @param inventory the dogs
+     * @return the adoptable dogs
+     */
+    @Benchmark
+    public List<Dog> getAdoptableDogs(Inventory inventory) {
+        return inventory.model.getAdoptableDogs();
+    }
+}
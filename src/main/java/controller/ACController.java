@@ -8,67 +8,108 @@ import model.Dog;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 
 public class ACController {
-    /** The model containing adoption center data. */
-    private AdoptionCenterModel model;
-    /** The list of dogs resulting from applied filters. */
-    private List<Dog> resultList;
-    /** The planner for filtering dogs. */
-    private ACFilterPlanner planner;
-    /** Flag indicating if name filter is active. */
-    private boolean nameOn = false;
-    /** The search string for filtering by name. */
-    private String nameSearch;
-    /** Flag indicating if sex filter is active. */
-    private boolean sexOn = false;
-    /** The search string for filtering by sex. */
-    private String sexSearch;
-    /** Flag indicating if breed filter is active. */
-    private boolean breedOn = false;
-    /** The search string for filtering by breed. */
-    private String breedSearch;
-    /** Flag indicating if age filter is active. */
-    private boolean ageOn = false;
-    /** The search string for filtering by age. */
-    private String ageSearch;
-    /** Flag indicating if weight filter is active. */
-    private boolean weightOn = false;
-    /** The search string for filtering by weight. */
-    private String weightSearch;
-    /** Flag indicating if price filter is active. */
-    private boolean priceOn = false;
-    /** The search string for filtering by price. */
-    private String priceSearch;
-    /** The attribute to sort results by. */
-    private String sortOn = "price";
-    /** Flag indicating if sorting should be in ascending order. */
-    private boolean ascending = true;
-    /** Wish list for the wish list page. */
-    private List<Dog> wishList = new ArrayList<>();
-    /** List for the home page. */
-    private List<Dog> homeList = new ArrayList<>();
-
-    /**
-     * Constructs a new ACController with the given model.
+    /** The id of the session used by single-user front ends such as the GUI. */
+    public static final String LOCAL_SESSION = "local";
+
+    /** The model containing adoption center data, shared by all sessions. */
+    private final AdoptionCenterModel model;
+    /** The planner for filtering dogs and the model version it was built at, shared by all sessions. */
+    private final AtomicReference<VersionedPlanner> planner;
+    /** The registry holding the state of every session. */
+    private final SessionRegistry sessions;
+    /** The session this controller reads and writes. */
+    private final SearchSession session;
+
+    /**
+     * Constructs a new ACController with the given model, bound to the local session.
      *
      * @param model The AdoptionCenterModel to use.
      */
     public ACController(AdoptionCenterModel model) {
+        this(model, new SessionRegistry());
+    }
+
+    /**
+     * Constructs a new ACController with the given model and session registry, bound to the
+     * local session.
+     *
+     * @param model The AdoptionCenterModel to use.
+     * @param sessions The registry holding per-session state.
+     */
+    public ACController(AdoptionCenterModel model, SessionRegistry sessions) {
+        this(model, new AtomicReference<>(new VersionedPlanner(model.getVersion(),
+                new ACFilterPlanner(model.getAdoptableDogs()))), sessions, sessions.getOrCreate(LOCAL_SESSION));
+    }
+
+    /**
+     * Constructs a new ACController sharing the model and planner of another controller.
+     *
+     * @param model The AdoptionCenterModel to use.
+     * @param planner The shared planner.
+     * @param sessions The registry holding per-session state.
+     * @param session The session to bind to.
+     */
+    private ACController(AdoptionCenterModel model, AtomicReference<VersionedPlanner> planner,
+                         SessionRegistry sessions, SearchSession session) {
         this.model = model;
-        this.planner = new ACFilterPlanner(this.model.getAdoptableDogs());
+        this.planner = planner;
+        this.sessions = sessions;
+        this.session = session;
+    }
+
+    /**
+     * Returns a controller bound to the session with the given id, creating the session if needed.
+     *
+     * The returned controller shares this controller's model and planner, so it is cheap to
+     * create per request.
+     *
+     * @param sessionId the id of the session
+     * @return a controller for that session
+     */
+    public ACController forSession(String sessionId) {
+        return forSession(sessions.getOrCreate(sessionId));
+    }
+
+    /**
+     * Returns a controller bound to a session already taken from the registry.
+     *
+     * @param session the session
+     * @return a controller for that session
+     */
+    public ACController forSession(SearchSession session) {
+        return new ACController(model, planner, sessions, session);
+    }
+
+    /**
+     * Returns the session this controller is bound to.
+     *
+     * @return the session
+     */
+    public SearchSession getSession() {
+        return this.session;
+    }
+
+    /**
+     * Returns the session registry shared by this controller.
+     *
+     * @return the session registry
+     */
+    public SessionRegistry getSessions() {
+        return this.sessions;
     }
 
     /**
      * Sets the Home list to youngest to oldest dogs.
      */
     public void setHomeList() {
-        this.homeList = planner.filter(false, null,
+        session.setHomeList(planner().filter(false, null,
         false, null, false, null, false,
-        null, false, null, false, null, "age", true).toList();
+        null, false, null, false, null, "age", true).toList());
     }
 
     /**
@@ -77,7 +118,7 @@ public class ACController {
      * @return the home list of dogs.
      */
     public List<Dog> getHomeList() {
-        return this.homeList;
+        return session.getHomeList();
     }
 
     /**
@@ -86,8 +127,7 @@ public class ACController {
      * @param name The name to search for.
      */
     public void setNameSearch(String name) {
-        this.nameOn = true;
-        this.nameSearch = name;
+        session.setNameSearch(name);
     }
 
     /**
@@ -96,8 +136,7 @@ public class ACController {
      * @param sex The sex to search for.
      */
     public void setSexSearch(String sex) {
-        this.sexOn = true;
-        this.sexSearch = sex;
+        session.setSexSearch(sex);
     }
 
     /**
@@ -106,35 +145,21 @@ public class ACController {
      * @param breed The breed to search for.
      */
     public void setBreedSearch(String breed) {
-        this.breedOn = true;
-        this.breedSearch = breed;
+        session.setBreedSearch(breed);
     }
 
     /**
      * Clears all search filters.
      */
     public void clearSearchFilters() {
-        nameOn = false;
-        sexOn = false;
-        breedOn = false;
-        ageOn = false;
-        weightOn = false;
-        priceOn = false;
+        session.clearSearchFilters();
     }
 
     /**
      * Applies all active filters and sets the resultList.
      */
     public void setResultList() {
-        Stream<Dog> filteredDogs;
-        filteredDogs = planner.filter(
-        this.nameOn, this.nameSearch,
-        this.sexOn, this.sexSearch,
-        this.breedOn, this.breedSearch,
-        this.ageOn, this.ageSearch,
-        this.weightOn, this.weightSearch,
-        this.priceOn, this.priceSearch, this.sortOn, this.ascending);
-        this.resultList = filteredDogs.toList();
+        session.setResultList(planner());
     }
 
     /**
@@ -143,7 +168,7 @@ public class ACController {
      * @return the result list.
      */
     public List<Dog> getResultList() {
-        return this.resultList;
+        return session.getResultList();
     }
 
     /**
@@ -154,7 +179,7 @@ public class ACController {
     public String getWishListToJsonFormat() {
         ObjectMapper objectMapper = new ObjectMapper();
         try {
-            return objectMapper.writeValueAsString(this.wishList);
+            return objectMapper.writeValueAsString(session.getWishList());
         } catch (JsonProcessingException e) {
             e.printStackTrace();
             return "[]";
@@ -188,12 +213,24 @@ public class ACController {
     }
 
     /**
-     * Returns the list of dogs in the wish list.
+     * Returns the list of dogs in the wish list, in the order they were added.
+     *
+     * The returned list is unmodifiable; use addToWishList and removeFromWishList to change it.
      *
      * @return a List of Dog objects representing the wish list.
      */
     public List<Dog> getWishList() {
-        return this.wishList;
+        return session.getWishList();
+    }
+
+    /**
+     * Checks whether the dog with the given id is in the wish list.
+     *
+     * @param id the ID of the Dog to look up.
+     * @return true if the dog is in the wish list, false otherwise.
+     */
+    public boolean isInWishList(String id) {
+        return session.isInWishList(id);
     }
 
     /**
@@ -203,13 +240,7 @@ public class ACController {
      * @return a String message indicating whether the dog was added or already exists in the wish list.
      */
     public String addToWishList(Dog dog) {
-        boolean alreadyExists = wishList.stream().anyMatch(wishDog -> wishDog.getID().equals(dog.getID()));
-        if (!alreadyExists) {
-            wishList.add(dog);
-            return dog.getName() + " has been added to your wishlist.";
-        } else {
-            return dog.getName() + " is already in your wishlist.";
-        }
+        return session.addToWishList(dog);
     }
 
     /**
@@ -219,14 +250,7 @@ public class ACController {
      * @return a String message indicating whether the dog was removed or could not be found in the wish list.
      */
     public String removeFromWishList(String id) {
-        for (int index = 0; index < wishList.size(); index++) {
-            if (id.equals(wishList.get(index).getID())) {
-                String name = wishList.get(index).getName();
-                this.wishList.remove(index);
-                return name + " was removed from wish list.";
-            }
-        }
-        return id + " could not be found in the wish list.";
+        return session.removeFromWishList(id);
     }
 
     /**
@@ -239,6 +263,60 @@ public class ACController {
         return this.model.getDogById(id);
     }
 
+    /**
+     * Runs a search over the adoptable dogs with the shared planner.
+     *
+     * @param query the search criteria
+     * @return the stream of matching dogs, sorted
+     * @throws IllegalArgumentException if a filter value is invalid
+     */
+    public Stream<Dog> search(SearchQuery query) {
+        return query.run(planner());
+    }
+
+    /**
+     * Returns the version of the model, which changes whenever a dog is added, removed or changed.
+     *
+     * @return the model version
+     */
+    public long getVersion() {
+        return this.model.getVersion();
+    }
+
+    /**
+     * Returns the time of the last change to the model.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    public long getLastModified() {
+        return this.model.getLastModified();
+    }
+
+    /**
+     * Returns the shared planner, rebuilding it first if the model changed since it was built,
+     * so dogs that became adoptable or stopped being adoptable are taken into account.
+     *
+     * @return the planner over the current adoptable dogs
+     */
+    private ACFilterPlanner planner() {
+        VersionedPlanner current = planner.get();
+        long version = model.getVersion();
+        if (current.version() != version) {
+            current = new VersionedPlanner(version, new ACFilterPlanner(model.getAdoptableDogs()));
+            planner.set(current);
+        }
+        return current.planner();
+    }
+
+    /**
+     * A planner and the model version it was built at.
+     *
+     * @param version the model version
+     * @param planner the planner over the adoptable dogs at that version
+     */
+    private record VersionedPlanner(long version, ACFilterPlanner planner) {
+    }
+
     /**
      * Gets the list of adoptable dogs.
      * 
@@ -0,0 +1,107 @@
+package controller;
+import model.ACFilterPlanner;
+import model.Dog;
+
+import java.util.stream.Stream;
+
+/**
+ * The criteria of a dog search, as entered in the GUI or given in a query string. The GUI
+ * captures them on the event dispatch thread so the search itself can run in the background.
+ *
+ * A filter is off when its value is null or empty.
+ *
+ * @param name the name to filter by
+ * @param sex the sex to filter by, "m" or "f"
+ * @param breed the breed to filter by
+ * @param age the age to filter by
+ * @param weight the weight to filter by
+ * @param price the price to filter by
+ * @param sortOn the field to sort by
+ * @param ascending if true, sort in ascending order
+ */
+public record SearchQuery(String name, String sex, String breed, String age, String weight,
+                          String price, String sortOn, boolean ascending) {
+
+    /**
+     * Runs the query against the dogs of a planner.
+     *
+     * @param planner the planner holding the dogs to search
+     * @return the stream of matching dogs, sorted
+     * @throws IllegalArgumentException if a filter value is invalid
+     */
+    public Stream<Dog> run(ACFilterPlanner planner) {
+        return planner.filter(
+                isOn(name), name,
+                isOn(sex), sex,
+                isOn(breed), breed,
+                isOn(age), age,
+                isOn(weight), weight,
+                isOn(price), price,
+                sortOn, ascending);
+    }
+
+    /**
+     * Checks whether the query has to compare the name of every dog. Name filters match any
+     * part of the name, so unlike the other filters they cannot use a precomputed lookup and
+     * cost a string search per dog.
+     *
+     * @return true if the name filter is on
+     */
+    public boolean isNameScan() {
+        return isOn(name);
+    }
+
+    /**
+     * Checks whether this query refines another one, that is whether every dog it matches is
+     * also matched by the other query. A refinement can then be run against the other query's
+     * results instead of the whole inventory. The sort order does not matter, since the
+     * results are sorted again.
+     *
+     * The name and breed filters match substrings, so a longer text containing the previous
+     * one refines it. The other filters match exact values, so they refine the previous query
+     * if it did not use them or used the same value.
+     *
+     * @param previous the query whose results would be filtered
+     * @return true if this query matches a subset of the dogs the previous query matches
+     */
+    public boolean refines(SearchQuery previous) {
+        return containsText(name, previous.name)
+                && containsText(breed, previous.breed)
+                && sameOrAdded(sex, previous.sex)
+                && sameOrAdded(age, previous.age)
+                && sameOrAdded(weight, previous.weight)
+                && sameOrAdded(price, previous.price);
+    }
+
+    /**
+     * Checks whether a substring filter is at least as narrow as a previous one.
+     *
+     * @param value the new filter value
+     * @param previous the previous filter value
+     * @return true if the previous filter was off or the new value contains it
+     */
+    private static boolean containsText(String value, String previous) {
+        return !isOn(previous) || (isOn(value) && value.contains(previous));
+    }
+
+    /**
+     * Checks whether an exact-match filter is at least as narrow as a previous one.
+     *
+     * @param value the new filter value
+     * @param previous the previous filter value
+     * @return true if the previous filter was off or the values are equal
+     */
+    private static boolean sameOrAdded(String value, String previous) {
+        return !isOn(previous) || previous.equals(value);
+    }
+
+    /**
+     * Checks whether a filter value turns its filter on.
+     *
+     * @param value the filter value
+     * @return true if the value is neither null nor empty
+     */
+    static boolean isOn(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,232 @@
+package controller;
+import model.ACFilterPlanner;
+import model.Dog;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The per-user state of a browsing session: active search filters, the last result list,
+ * the home list and the wish list.
+ *
+ * Sessions are created and looked up through a {@link SessionRegistry}. A session is only
+ * ever used by one user at a time, so its methods synchronize on the session itself rather
+ * than relying on the registry.
+ */
+public class SearchSession {
+    /** The id of this session. */
+    private final String id;
+    /** Flag indicating if name filter is active. */
+    private boolean nameOn = false;
+    /** The search string for filtering by name. */
+    private String nameSearch;
+    /** Flag indicating if sex filter is active. */
+    private boolean sexOn = false;
+    /** The search string for filtering by sex. */
+    private String sexSearch;
+    /** Flag indicating if breed filter is active. */
+    private boolean breedOn = false;
+    /** The search string for filtering by breed. */
+    private String breedSearch;
+    /** Flag indicating if age filter is active. */
+    private boolean ageOn = false;
+    /** The search string for filtering by age. */
+    private String ageSearch;
+    /** Flag indicating if weight filter is active. */
+    private boolean weightOn = false;
+    /** The search string for filtering by weight. */
+    private String weightSearch;
+    /** Flag indicating if price filter is active. */
+    private boolean priceOn = false;
+    /** The search string for filtering by price. */
+    private String priceSearch;
+    /** The attribute to sort results by. */
+    private String sortOn = "price";
+    /** Flag indicating if sorting should be in ascending order. */
+    private boolean ascending = true;
+    /** The list of dogs resulting from applied filters. */
+    private List<Dog> resultList;
+    /** List for the home page. */
+    private List<Dog> homeList = List.of();
+    /** Wish list for the wish list page, keyed by dog id in insertion order. */
+    private final Map<String, Dog> wishList = new LinkedHashMap<>();
+    /** Cached read-only snapshot of the wish list, rebuilt after each change. */
+    private List<Dog> wishListView;
+    /** Time of the last access in milliseconds, used for idle eviction. */
+    private volatile long lastAccess;
+
+    /**
+     * Constructs a new, empty SearchSession.
+     *
+     * @param id the id of the session
+     * @param now the current time in milliseconds
+     */
+    SearchSession(String id, long now) {
+        this.id = id;
+        this.lastAccess = now;
+    }
+
+    /**
+     * Returns the id of this session.
+     *
+     * @return the session id
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Returns the time this session was last accessed.
+     *
+     * @return the last access time in milliseconds
+     */
+    public long getLastAccess() {
+        return this.lastAccess;
+    }
+
+    /**
+     * Records an access to this session.
+     *
+     * @param now the current time in milliseconds
+     */
+    void touch(long now) {
+        this.lastAccess = now;
+    }
+
+    /**
+     * Sets the name search filter.
+     *
+     * @param name The name to search for.
+     */
+    public synchronized void setNameSearch(String name) {
+        this.nameOn = true;
+        this.nameSearch = name;
+    }
+
+    /**
+     * Sets the sex search filter.
+     *
+     * @param sex The sex to search for.
+     */
+    public synchronized void setSexSearch(String sex) {
+        this.sexOn = true;
+        this.sexSearch = sex;
+    }
+
+    /**
+     * Sets the breed search filter.
+     *
+     * @param breed The breed to search for.
+     */
+    public synchronized void setBreedSearch(String breed) {
+        this.breedOn = true;
+        this.breedSearch = breed;
+    }
+
+    /**
+     * Clears all search filters.
+     */
+    public synchronized void clearSearchFilters() {
+        nameOn = false;
+        sexOn = false;
+        breedOn = false;
+        ageOn = false;
+        weightOn = false;
+        priceOn = false;
+    }
+
+    /**
+     * Applies all active filters with the given planner and sets the resultList.
+     *
+     * @param planner the shared planner to run the search with
+     */
+    synchronized void setResultList(ACFilterPlanner planner) {
+        this.resultList = planner.filter(
+        this.nameOn, this.nameSearch,
+        this.sexOn, this.sexSearch,
+        this.breedOn, this.breedSearch,
+        this.ageOn, this.ageSearch,
+        this.weightOn, this.weightSearch,
+        this.priceOn, this.priceSearch, this.sortOn, this.ascending).toList();
+    }
+
+    /**
+     * Gets the result list from the last search.
+     *
+     * @return the result list.
+     */
+    public synchronized List<Dog> getResultList() {
+        return this.resultList;
+    }
+
+    /**
+     * Sets the home list.
+     *
+     * @param homeList the dogs to show on the home page
+     */
+    synchronized void setHomeList(List<Dog> homeList) {
+        this.homeList = homeList;
+    }
+
+    /**
+     * Returns the home list of dogs.
+     *
+     * @return the home list of dogs.
+     */
+    public synchronized List<Dog> getHomeList() {
+        return this.homeList;
+    }
+
+    /**
+     * Returns the list of dogs in the wish list, in the order they were added.
+     *
+     * @return an unmodifiable List of Dog objects representing the wish list.
+     */
+    public synchronized List<Dog> getWishList() {
+        if (this.wishListView == null) {
+            this.wishListView = List.copyOf(this.wishList.values());
+        }
+        return this.wishListView;
+    }
+
+    /**
+     * Checks whether the dog with the given id is in the wish list.
+     *
+     * @param id the ID of the Dog to look up.
+     * @return true if the dog is in the wish list, false otherwise.
+     */
+    public synchronized boolean isInWishList(String id) {
+        return this.wishList.containsKey(id);
+    }
+
+    /**
+     * Adds a Dog to the wish list if it does not already exist.
+     *
+     * @param dog the Dog object to be added to the wish list.
+     * @return a String message indicating whether the dog was added or already exists in the wish list.
+     */
+    public synchronized String addToWishList(Dog dog) {
+        if (wishList.putIfAbsent(dog.getID(), dog) == null) {
+            this.wishListView = null;
+            return dog.getName() + " has been added to your wishlist.";
+        } else {
+            return dog.getName() + " is already in your wishlist.";
+        }
+    }
+
+    /**
+     * Removes a Dog from the wish list based on its ID.
+     *
+     * @param id the ID of the Dog to be removed from the wish list.
+     * @return a String message indicating whether the dog was removed or could not be found in the wish list.
+     */
+    public synchronized String removeFromWishList(String id) {
+        Dog removed = this.wishList.remove(id);
+        if (removed != null) {
+            this.wishListView = null;
+            return removed.getName() + " was removed from wish list.";
+        }
+        return id + " could not be found in the wish list.";
+    }
+}
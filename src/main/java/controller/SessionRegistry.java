@@ -0,0 +1,168 @@
+package controller;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A concurrent registry of browsing sessions.
+ *
+ * Each session keeps its own filters and wish list, while the model and planner stay shared
+ * between all of them. Sessions that have not been accessed for longer than the time-to-live
+ * are evicted, either by calling {@link #evictIdle()} or by the background evictor started
+ * with {@link #startEvictor(Duration)}.
+ */
+public class SessionRegistry implements AutoCloseable {
+    /** The default idle time after which a session is evicted. */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(30);
+
+    /** The live sessions by id. */
+    private final Map<String, SearchSession> sessions = new ConcurrentHashMap<>();
+    /** The idle time in milliseconds after which a session is evicted. */
+    private final long ttlMillis;
+    /** The clock used for access times. */
+    private final LongSupplier clock;
+    /** The background evictor, or null if it was not started. */
+    private ScheduledExecutorService evictor;
+
+    /**
+     * Constructs a new SessionRegistry with the default time-to-live.
+     */
+    public SessionRegistry() {
+        this(DEFAULT_TTL, System::currentTimeMillis);
+    }
+
+    /**
+     * Constructs a new SessionRegistry.
+     *
+     * @param ttl the idle time after which a session is evicted
+     * @param clock the clock returning the current time in milliseconds
+     * @throws IllegalArgumentException if the ttl is not positive
+     */
+    public SessionRegistry(Duration ttl, LongSupplier clock) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Session TTL must be positive.");
+        }
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a new session with a random id.
+     *
+     * @return the new session
+     */
+    public SearchSession create() {
+        return getOrCreate(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Returns the session with the given id, creating it if it does not exist or was evicted.
+     *
+     * @param id the session id
+     * @return the session
+     */
+    public SearchSession getOrCreate(String id) {
+        long now = clock.getAsLong();
+        return sessions.compute(id, (key, session) -> {
+            if (session == null) {
+                session = new SearchSession(key, now);
+            }
+            session.touch(now); // inside the mapping, so a concurrent eviction cannot remove it first
+            return session;
+        });
+    }
+
+    /**
+     * Returns the session with the given id.
+     *
+     * @param id the session id
+     * @return the session, or null if it does not exist or was evicted
+     */
+    public SearchSession get(String id) {
+        long now = clock.getAsLong();
+        return sessions.computeIfPresent(id, (key, session) -> {
+            session.touch(now);
+            return session;
+        });
+    }
+
+    /**
+     * Removes the session with the given id.
+     *
+     * @param id the session id
+     */
+    public void remove(String id) {
+        sessions.remove(id);
+    }
+
+    /**
+     * Returns the number of live sessions.
+     *
+     * @return the number of sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes all sessions that have been idle for longer than the time-to-live.
+     *
+     * Each session is checked again while its entry is locked, so a session touched by
+     * {@link #getOrCreate} or {@link #get} in the meantime is kept.
+     *
+     * @return the number of sessions removed
+     */
+    public int evictIdle() {
+        long cutoff = clock.getAsLong() - ttlMillis;
+        int removed = 0;
+        for (Map.Entry<String, SearchSession> entry : sessions.entrySet()) {
+            if (entry.getValue().getLastAccess() >= cutoff) {
+                continue;
+            }
+            boolean[] evicted = new boolean[1];
+            sessions.computeIfPresent(entry.getKey(), (key, session) -> {
+                evicted[0] = session.getLastAccess() < cutoff;
+                return evicted[0] ? null : session;
+            });
+            if (evicted[0]) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Starts a daemon thread that evicts idle sessions at the given interval.
+     *
+     * @param interval the time between eviction runs
+     */
+    public synchronized void startEvictor(Duration interval) {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        evictor.scheduleAtFixedRate(this::evictIdle, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background evictor, if it was started.
+     */
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+    }
+}
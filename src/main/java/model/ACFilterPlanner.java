@@ -4,10 +4,10 @@ import java.util.function.*;
 import java.util.stream.*;
 
 public class ACFilterPlanner implements IACFilterPlanner{
-    /** The stream of filtered Dog objects. */
+    /** The stream of filtered Dog objects used by {@link #applyFilter}. */
     private Stream<Dog> filtered;
     /** The list of Dog objects to be filtered/sorted. */
-    private List<Dog> dogs;
+    private final List<Dog> dogs;
 
     /**
      * Constructs a new ACFilterPlanner with the given list of dogs.
@@ -47,23 +47,23 @@ public class ACFilterPlanner implements IACFilterPlanner{
                               boolean priceOn, String priceFilter,
                               String sortOn, boolean ascending) {
 
-        filtered = dogs.stream();
+        Stream<Dog> result = dogs.stream();
 
-        applyFilter(nameOn, "name", nameFilter);
-        applyFilter(sexOn, "sex", sexFilter);
-        applyFilter(breedOn, "breed", breedFilter);
-        applyFilter(ageOn, "age", ageFilter);
-        applyFilter(weightOn, "weight", weightFilter);
-        applyFilter(priceOn, "price", priceFilter);
+        result = withFilter(result, nameOn, "name", nameFilter);
+        result = withFilter(result, sexOn, "sex", sexFilter);
+        result = withFilter(result, breedOn, "breed", breedFilter);
+        result = withFilter(result, ageOn, "age", ageFilter);
+        result = withFilter(result, weightOn, "weight", weightFilter);
+        result = withFilter(result, priceOn, "price", priceFilter);
 
         if (sortOn != null && !sortOn.isEmpty()) {
             Comparator<Dog> comparator = ComparatorSet.getComparator(sortOn);
             if (comparator != null) {
-                filtered = ascending ? filtered.sorted(comparator) : filtered.sorted(comparator.reversed());
+                result = ascending ? result.sorted(comparator) : result.sorted(comparator.reversed());
             }
         }
 
-        return filtered;
+        return result;
     }
 
     /**
@@ -75,13 +75,30 @@ public class ACFilterPlanner implements IACFilterPlanner{
      */
     @Override
     public void applyFilter(boolean filterOn, String field, Object value) {
-        if (filterOn) {
-            if (value == null || (value instanceof String && ((String) value).isEmpty())) {
-                throw new IllegalArgumentException(field + " filter cannot be null or empty");
-            }
-            Predicate<Dog> predicate = ComparatorSet.getPredicate(field, value);
-            filtered = filtered.filter(predicate);
+        filtered = withFilter(filtered, filterOn, field, value);
+    }
+
+    /**
+     * Returns the given stream with a filter applied for the specified field and value.
+     *
+     * The planner itself is not modified, so one planner can be shared by concurrent callers
+     * of {@link #filter}.
+     *
+     * @param stream the stream to filter
+     * @param filterOn indicates whether to apply the filter
+     * @param field the field to filter by
+     * @param value the value to filter by
+     * @return the filtered stream, or the same stream if the filter is off
+     */
+    private static Stream<Dog> withFilter(Stream<Dog> stream, boolean filterOn, String field, Object value) {
+        if (!filterOn) {
+            return stream;
+        }
+        if (value == null || (value instanceof String && ((String) value).isEmpty())) {
+            throw new IllegalArgumentException(field + " filter cannot be null or empty");
         }
+        Predicate<Dog> predicate = ComparatorSet.getPredicate(field, value);
+        return stream.filter(predicate);
     }
 
 }
\ No newline at end of file
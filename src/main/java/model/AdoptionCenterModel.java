@@ -1,11 +1,35 @@
 package model;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public class AdoptionCenterModel implements IACModel {
     /** List to store Dog objects. */
     private List<Dog> dogs;
 
+    /**
+     * Guards the list of dogs, which request threads read while dogs are added and removed.
+     * Listeners and thumbnails are handled outside the lock.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * The version of the model, increased by every added, removed or changed dog. It starts at
+     * the creation time in milliseconds, so versions from different runs are very unlikely to
+     * collide.
+     */
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    /** The time of the last change, in milliseconds since the epoch. */
+    private volatile long lastModified = System.currentTimeMillis();
+
+    /** The listeners told about every change to a dog. */
+    private final List<Consumer<DogChange>> listeners = new CopyOnWriteArrayList<>();
+
     /**
      * Constructor to initialize the list.
      */
@@ -14,7 +38,7 @@ public class AdoptionCenterModel implements IACModel {
     }
 
     /**
-     * Adds a Dog to the list.
+     * Adds a Dog to the list and makes sure a thumbnail of its image exists.
      *
      * @param dog the Dog object to add
      * @throws IllegalArgumentException if the Dog object is null
@@ -22,7 +46,16 @@ public class AdoptionCenterModel implements IACModel {
     @Override
     public void addDog(Dog dog) {
         if (dog != null) {
-            dogs.add(dog);
+            lock.writeLock().lock();
+            try {
+                dogs.add(dog);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            long added = nextVersion();
+            dog.attach(this, added);
+            fire(dog, DogChange.Kind.ADDED, added);
+            ThumbnailStore.global().ensure(dog.getImage());
         } else {
             throw new IllegalArgumentException("Dog object cannot be null.");
         }
@@ -35,7 +68,17 @@ public class AdoptionCenterModel implements IACModel {
      */
     @Override
     public void removeDog(String dogId) {
-        dogs.removeIf(dog -> dog.getID().equals(dogId));
+        List<Dog> removed = new ArrayList<>();
+        lock.writeLock().lock();
+        try {
+            dogs.removeIf(dog -> dog.getID().equals(dogId) && removed.add(dog));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Dog dog : removed) {
+            dog.detach(this);
+            fire(dog, DogChange.Kind.REMOVED, nextVersion());
+        }
     }
 
     /**
@@ -45,7 +88,12 @@ public class AdoptionCenterModel implements IACModel {
      */
     @Override
     public List<Dog> getAllDogs() {
-        return new ArrayList<>(dogs);
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(dogs);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -56,10 +104,15 @@ public class AdoptionCenterModel implements IACModel {
      */
     @Override
     public Dog getDogById(String dogId) {
-        return dogs.stream()
-                   .filter(dog -> dog.getID().equals(dogId))
-                   .findFirst()
-                   .orElse(null);
+        lock.readLock().lock();
+        try {
+            return dogs.stream()
+                       .filter(dog -> dog.getID().equals(dogId))
+                       .findFirst()
+                       .orElse(null);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -117,12 +170,100 @@ public class AdoptionCenterModel implements IACModel {
         }
     }
 
+    /**
+     * Returns the version of the model. It increases whenever a dog is added, removed or
+     * changed, including changes made directly on a Dog held by the model.
+     *
+     * @return the current version
+     */
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the time of the last change to the model.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    @Override
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Adds a listener that is told about every dog added, removed or changed. Listeners are
+     * called on the thread making the change, so they must return quickly.
+     *
+     * @param listener the listener to add
+     */
+    @Override
+    public void addChangeListener(Consumer<DogChange> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a change listener.
+     *
+     * @param listener the listener to remove
+     */
+    @Override
+    public void removeChangeListener(Consumer<DogChange> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Records a change to one of the model's dogs. The dog takes the new version before the
+     * listeners hear of the change, so a listener never sees the dog at its old version.
+     *
+     * @param dog the dog that changed
+     * @param kind what changed
+     */
+    void dogChanged(Dog dog, DogChange.Kind kind) {
+        long changed = nextVersion();
+        dog.changedAt(changed);
+        fire(dog, kind, changed);
+    }
+
+    /**
+     * Tells the listeners about a change to a dog.
+     *
+     * @param dog the dog that changed
+     * @param kind what changed
+     * @param changed the model version the change created
+     */
+    private void fire(Dog dog, DogChange.Kind kind, long changed) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        DogChange change = new DogChange(dog.getID(), kind, changed, dog.getIsReady(), dog.getPrice());
+        for (Consumer<DogChange> listener : listeners) {
+            listener.accept(change);
+        }
+    }
+
+    /**
+     * Increases the version and records the time of the change.
+     *
+     * @return the new version
+     */
+    private long nextVersion() {
+        long next = version.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+        return next;
+    }
+
     /**
      * Returns a list of all the dogs that are adoptable.
      * @return List of dogs that are adoptable.
      */
     @Override
     public List<Dog> getAdoptableDogs() {
-        return this.dogs.stream().filter(dog -> dog.getIsReady() == true).toList();
+        lock.readLock().lock();
+        try {
+            return this.dogs.stream().filter(dog -> dog.getIsReady() == true).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 }
@@ -1,32 +1,102 @@
 package model;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class ApiUtil {
     /** The base URL for the Dog API (v2). */
-    private static final String API_BASE_URL = "https://dogapi.dog/api/v2";
+    public static final String API_BASE_URL = "https://dogapi.dog/api/v2";
 
-    /** The HttpClient instance used to send HTTP requests. */
-    private final HttpClient httpClient;
+    /** The default number of breed pages fetched at the same time. */
+    public static final int DEFAULT_MAX_CONCURRENT_PAGES = 4;
+
+    /** Matches the page number query parameter of a pagination link, plain or URL-encoded. */
+    private static final Pattern PAGE_NUMBER = Pattern.compile("(page(?:\\[|%5B)number(?:\\]|%5D)=)(\\d+)");
+
+    /** The base URL requests are sent to. */
+    private final String baseUrl;
+
+    /** The maximum number of breed pages requested at the same time. */
+    private final int maxConcurrentPages;
+
+    /** The client used to send HTTP requests, with timeouts, retries and a circuit breaker. */
+    private final ResilientHttpClient httpClient;
 
     /** The ObjectMapper instance used for JSON parsing. */
     private final ObjectMapper objectMapper;
 
+    /**
+     * One page of the breed list.
+     *
+     * @param breeds the breeds on the page by name
+     * @param next the URL of the next page, or null if this is the last page
+     * @param last the number of the last page, or 0 if the page does not say
+     */
+    private record Page(Map<String, Breed> breeds, String next, int last) {}
 
     /**
      * Constructs a new ApiUtil.
      */
     public ApiUtil() {
+        this(API_BASE_URL);
+    }
+
+    /**
+     * Constructs a new ApiUtil that talks to the given base URL instead of the public Dog API.
+     *
+     * @param baseUrl the base URL of the API, without a trailing slash
+     */
+    public ApiUtil(String baseUrl) {
+        this(baseUrl, DEFAULT_MAX_CONCURRENT_PAGES);
+    }
+
+    /**
+     * Constructs a new ApiUtil that talks to the given base URL with a limit on concurrent page requests.
+     *
+     * @param baseUrl the base URL of the API, without a trailing slash
+     * @param maxConcurrentPages the maximum number of breed pages requested at the same time
+     * @throws IllegalArgumentException if maxConcurrentPages is less than one
+     */
+    public ApiUtil(String baseUrl, int maxConcurrentPages) {
+        this(baseUrl, maxConcurrentPages, new ResilientHttpClient());
+    }
+
+    /**
+     * Constructs a new ApiUtil that sends its requests through the given client.
+     *
+     * @param baseUrl the base URL of the API, without a trailing slash
+     * @param maxConcurrentPages the maximum number of breed pages requested at the same time
+     * @param httpClient the client used to send requests
+     * @throws IllegalArgumentException if maxConcurrentPages is less than one
+     */
+    public ApiUtil(String baseUrl, int maxConcurrentPages, ResilientHttpClient httpClient) {
+        if (maxConcurrentPages < 1) {
+            throw new IllegalArgumentException("At least one concurrent page request is required.");
+        }
+        this.baseUrl = baseUrl;
+        this.maxConcurrentPages = maxConcurrentPages;
         this.objectMapper = new ObjectMapper();
-        this.httpClient = HttpClient.newBuilder().build();
+        this.httpClient = httpClient;
     }
 
     /**
@@ -37,7 +107,7 @@ public class ApiUtil {
      * @throws InterruptedException If the operation is interrupted.
      */
     public String getBreeds() throws IOException, InterruptedException {
-        String endpoint = API_BASE_URL + "/breeds";
+        String endpoint = baseUrl + "/breeds";
         HttpRequest request = HttpRequest.newBuilder()
         .uri(URI.create(endpoint)).GET().build();
 
@@ -46,39 +116,449 @@ public class ApiUtil {
     }
 
     /**
-     * Parses the JSON response and returns a Map of breed names to Breed objects.
+     * Fetches every page of the breed list and parses the breeds as each page streams in.
+     *
+     * The first page is fetched to learn the page count, then the remaining pages are requested
+     * concurrently, at most {@code maxConcurrentPages} at a time. No page is buffered as a whole.
+     *
+     * @return A Map with breed names as keys and Breed objects as values, from all pages.
+     * @throws IOException If an I/O error occurs, the API answers with an error status, or the JSON is invalid.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Map<String, Breed> getAllBreeds() throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+        .uri(URI.create(baseUrl + "/breeds")).GET().build();
+        return fetchRemainingPages(readPage(httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream())));
+    }
+
+    /**
+     * Fetches the pages that follow the given first page and adds their breeds to its breeds.
+     *
+     * When the first page links to the last page, all page URLs are derived from the "next" link
+     * and requested concurrently. Otherwise the "next" links are followed one at a time.
+     *
+     * @param firstPage the parsed first page
+     * @return the breeds of all pages
+     * @throws IOException If an I/O error occurs, the API answers with an error status, or the JSON is invalid.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    private Map<String, Breed> fetchRemainingPages(Page firstPage) throws IOException, InterruptedException {
+        Map<String, Breed> breeds = firstPage.breeds();
+        String next = firstPage.next();
+        if (next == null || next.isEmpty()) {
+            return breeds;
+        }
+        Matcher matcher = PAGE_NUMBER.matcher(next);
+        if (firstPage.last() > 0 && matcher.find()) {
+            int first = Integer.parseInt(matcher.group(2));
+            List<String> urls = new ArrayList<>();
+            for (int page = first; page <= firstPage.last(); page++) {
+                urls.add(matcher.replaceFirst("$1" + page));
+            }
+            for (Page page : fetchConcurrently(urls)) {
+                breeds.putAll(page.breeds());
+            }
+        } else {
+            while (next != null && !next.isEmpty()) {
+                Page page = readPage(httpClient.send(HttpRequest.newBuilder()
+                .uri(URI.create(next)).GET().build(), HttpResponse.BodyHandlers.ofInputStream()));
+                breeds.putAll(page.breeds());
+                next = page.next();
+            }
+        }
+        return breeds;
+    }
+
+    /**
+     * Requests the given URLs with {@code sendAsync}, keeping at most {@code maxConcurrentPages}
+     * pages in flight. A page counts as in flight until its body has been parsed. Bodies are
+     * parsed on a pool of their own, as parsing blocks on the network.
+     *
+     * When a page fails, no further pages are requested and the pages still in flight are
+     * cancelled; their bodies are closed unread when they arrive.
+     *
+     * @param urls the URLs to fetch
+     * @return the parsed pages, in the same order as the URLs
+     * @throws IOException If any request fails, answers with an error status, or sends invalid JSON.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    private List<Page> fetchConcurrently(List<String> urls) throws IOException, InterruptedException {
+        Semaphore permits = new Semaphore(maxConcurrentPages);
+        ExecutorService readers = WorkerThreads.newExecutor("breed-pages", maxConcurrentPages);
+        CompletableFuture<Void> failed = new CompletableFuture<>();
+        List<CompletableFuture<Page>> futures = new ArrayList<>();
+        boolean fetched = false;
+        try {
+            for (String url : urls) {
+                permits.acquire();
+                if (failed.isDone()) {
+                    break;
+                }
+                HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+                CompletableFuture<Page> page = new CompletableFuture<>();
+                page.whenComplete((parsed, error) -> {
+                    if (error != null) {
+                        failed.completeExceptionally(error); // before the release, so no page follows
+                    }
+                    permits.release();
+                });
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                        .whenComplete((response, error) -> {
+                            if (error != null) {
+                                page.completeExceptionally(error instanceof CompletionException
+                                        && error.getCause() != null ? error.getCause() : error);
+                                return;
+                            }
+                            try {
+                                readers.execute(() -> readPage(response, page));
+                            } catch (RejectedExecutionException e) {
+                                closeQuietly(response);
+                            }
+                        });
+                futures.add(page);
+            }
+            CompletableFuture<Void> all = CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+            CompletableFuture.anyOf(all, failed).get();
+            List<Page> pages = new ArrayList<>();
+            for (CompletableFuture<Page> future : futures) {
+                pages.add(future.join());
+            }
+            fetched = true;
+            return pages;
+        } catch (ExecutionException e) {
+            throw new IOException("Fetching a breed page failed", e.getCause());
+        } finally {
+            if (!fetched) {
+                for (CompletableFuture<Page> future : futures) {
+                    future.cancel(false);
+                }
+            }
+            readers.shutdown();
+        }
+    }
+
+    /**
+     * Parses a page into the future waiting for it, or closes the body unread if the page was
+     * cancelled.
+     *
+     * @param response the response, with its body not yet read
+     * @param page the future to complete with the parsed page
+     */
+    private void readPage(HttpResponse<InputStream> response, CompletableFuture<Page> page) {
+        if (page.isDone()) {
+            closeQuietly(response);
+            return;
+        }
+        try {
+            page.complete(readPage(response));
+        } catch (IOException | RuntimeException e) {
+            page.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Closes the body of a response that will not be read.
+     *
+     * @param response the response
+     */
+    private static void closeQuietly(HttpResponse<InputStream> response) {
+        try {
+            response.body().close();
+        } catch (IOException e) {
+            // nothing more to do with an unread body
+        }
+    }
+
+    /**
+     * Checks that a streamed response succeeded and parses its page, closing the body either way.
+     *
+     * @param response the response, with its body not yet read
+     * @return the parsed page
+     * @throws IOException If the status is not 200 or the JSON is invalid.
+     */
+    private Page readPage(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Unexpected response status " + response.statusCode()
+                        + " from " + response.uri());
+            }
+            try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+                return readPage(parser, true);
+            }
+        }
+    }
+
+    /**
+     * Fetches the breed list with a conditional request, revalidating a previously cached response.
+     *
+     * If the API answers 304 Not Modified, the previous body is kept and only its fetch time is
+     * updated. Otherwise every page is parsed as it streams in, and the body of the new entry is
+     * the breeds written back in the API's format, so the cache never holds the raw pages.
+     *
+     * @param previous the previously cached response, or null to fetch unconditionally
+     * @return the current response, stamped with the time it was fetched
+     * @throws IOException If an I/O error occurs or the API answers with an error status.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public BreedCache.Entry getBreedsIfChanged(BreedCache.Entry previous) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+        .uri(URI.create(baseUrl + "/breeds")).GET();
+        if (previous != null && previous.etag() != null) {
+            builder.header("If-None-Match", previous.etag());
+        }
+        if (previous != null && previous.lastModified() != null) {
+            builder.header("If-Modified-Since", previous.lastModified());
+        }
+
+        HttpResponse<InputStream> response =
+                httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        long now = System.currentTimeMillis();
+        if (response.statusCode() == 304 && previous != null) {
+            response.body().close();
+            return new BreedCache.Entry(previous.body(), previous.etag(), previous.lastModified(), now);
+        }
+        Map<String, Breed> breeds = fetchRemainingPages(readPage(response));
+        return new BreedCache.Entry(writeBreeds(breeds),
+                response.headers().firstValue("ETag").orElse(null),
+                response.headers().firstValue("Last-Modified").orElse(null), now);
+    }
+
+    /**
+     * Writes breeds as a breed list in the API's format, which {@link #parseBreeds(String)} reads back.
+     *
+     * @param breeds the breeds to write
+     * @return the JSON breed list
+     * @throws IOException If an error occurs during JSON generation.
+     */
+    String writeBreeds(Map<String, Breed> breeds) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            for (Breed breed : breeds.values()) {
+                generator.writeStartObject();
+                generator.writeStringField("id", breed.id());
+                generator.writeStringField("type", "breed");
+                generator.writeObjectFieldStart("attributes");
+                generator.writeStringField("name", breed.name());
+                generator.writeStringField("description", breed.description());
+                writeRange(generator, "life", breed.lifeMin(), breed.lifeMax());
+                writeRange(generator, "male_weight", breed.maleWeightMin(), breed.maleWeightMax());
+                writeRange(generator, "female_weight", breed.femaleWeightMin(), breed.femaleWeightMax());
+                generator.writeBooleanField("hypoallergenic", breed.hypoallergenic());
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a {"min": .., "max": ..} object field.
+     *
+     * @param generator the generator
+     * @param field the name of the field
+     * @param min the lower bound
+     * @param max the upper bound
+     * @throws IOException If an error occurs during JSON generation.
+     */
+    private static void writeRange(JsonGenerator generator, String field, int min, int max) throws IOException {
+        generator.writeObjectFieldStart(field);
+        generator.writeNumberField("min", min);
+        generator.writeNumberField("max", max);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Parses a breed list, such as a cached one, token by token without building a JSON tree.
+     *
+     * @param jsonResponse The JSON breed list.
+     * @return A Map with breed names as keys and Breed objects as values.
+     * @throws IOException If an error occurs during JSON parsing.
+     */
+    public Map<String, Breed> parseBreeds(String jsonResponse) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(jsonResponse)) {
+            return readPage(parser, true).breeds();
+        }
+    }
+
+    /**
+     * Parses a breed list from a stream, token by token, without building a JSON tree.
      *
-     * @param jsonResponse The JSON string response from the API.
+     * Only the fields used by {@link Breed} are read; everything else is skipped. When
+     * includeDescription is false the description text is skipped too and the breeds get an
+     * empty description, which keeps the long description strings off the heap. Breed is a
+     * plain record, so a skipped description cannot be loaded later; callers that show or cache
+     * descriptions parse with them.
+     *
+     * @param in The JSON response from the API.
+     * @param includeDescription whether to keep the description text of each breed
      * @return A Map with breed names as keys and Breed objects as values.
      * @throws IOException If an error occurs during JSON parsing.
      */
-    public Map<String, Breed> parseBreeds(String jsonResponse) throws IOException{
+    public Map<String, Breed> parseBreeds(InputStream in, boolean includeDescription) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            return readPage(parser, includeDescription).breeds();
+        }
+    }
+
+    /**
+     * Reads one page of the breed list: its breeds, and the pagination links when present.
+     *
+     * @param parser the parser, positioned before the page's START_OBJECT token
+     * @param includeDescription whether to keep the description text of each breed
+     * @return the page
+     * @throws IOException If an error occurs during JSON parsing.
+     */
+    private static Page readPage(JsonParser parser, boolean includeDescription) throws IOException {
         Map<String, Breed> breedMap = new HashMap<>();
-        JsonNode root = objectMapper.readTree(jsonResponse);
-        JsonNode dataNode = root.get("data");
-
-        if (dataNode != null && dataNode.isArray()) {
-            for (JsonNode breedNode : dataNode) {
-                JsonNode attributes = breedNode.get("attributes");
-
-                if (attributes != null) {
-                    String breedName = attributes.get("name").asText();
-                    Breed breed = new Breed (
-                            breedNode.get("id").asText(),
-                            breedName,
-                            attributes.get("description").asText(),
-                            attributes.get("life").get("min").asInt(),
-                            attributes.get("life").get("max").asInt(),
-                            attributes.get("male_weight").get("min").asInt(),
-                            attributes.get("male_weight").get("max").asInt(),
-                            attributes.get("female_weight").get("min").asInt(),
-                            attributes.get("female_weight").get("max").asInt(),
-                            attributes.get("hypoallergenic").asBoolean()
-                            );
-                    breedMap.put(breedName, breed);
+        String next = null;
+        int last = 0;
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object at the start of the breed list.");
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    Breed breed = readBreed(parser, includeDescription);
+                    if (breed != null) {
+                        breedMap.put(breed.name(), breed);
+                    }
+                }
+            } else if ("links".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String link = parser.currentName();
+                    parser.nextToken();
+                    if ("next".equals(link)) {
+                        next = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else if ("meta".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String meta = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_OBJECT && "pagination".equals(meta)) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String key = parser.currentName();
+                            parser.nextToken();
+                            if ("last".equals(key)) {
+                                last = parser.getValueAsInt();
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return new Page(breedMap, next, last);
+    }
+
+    /**
+     * Reads one breed object. The parser must be positioned on the object's START_OBJECT token
+     * and is left on its END_OBJECT token.
+     *
+     * @param parser the parser
+     * @param includeDescription whether to keep the description text
+     * @return the breed, or null if the object has no attributes
+     * @throws IOException If an error occurs during JSON parsing.
+     */
+    private static Breed readBreed(JsonParser parser, boolean includeDescription) throws IOException {
+        String id = null;
+        String name = null;
+        String description = "";
+        int[] life = new int[2];
+        int[] maleWeight = new int[2];
+        int[] femaleWeight = new int[2];
+        boolean hypoallergenic = false;
+        boolean hasAttributes = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(field)) {
+                id = parser.getValueAsString();
+            } else if ("attributes".equals(field) && value == JsonToken.START_OBJECT) {
+                hasAttributes = true;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String attribute = parser.currentName();
+                    parser.nextToken();
+                    switch (attribute) {
+                        case "name":
+                            name = parser.getValueAsString();
+                            break;
+                        case "description":
+                            if (includeDescription) {
+                                description = parser.getValueAsString();
+                            }
+                            break;
+                        case "life":
+                            readRange(parser, life);
+                            break;
+                        case "male_weight":
+                            readRange(parser, maleWeight);
+                            break;
+                        case "female_weight":
+                            readRange(parser, femaleWeight);
+                            break;
+                        case "hypoallergenic":
+                            hypoallergenic = parser.getValueAsBoolean();
+                            break;
+                        default:
+                            parser.skipChildren();
+                    }
                 }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!hasAttributes) {
+            return null;
+        }
+        return new Breed(id, name, description, life[0], life[1], maleWeight[0], maleWeight[1],
+                femaleWeight[0], femaleWeight[1], hypoallergenic);
+    }
+
+    /**
+     * Reads a {"min": .., "max": ..} object into a two element array.
+     *
+     * @param parser the parser, positioned on the object's START_OBJECT token
+     * @param range the array receiving min at index 0 and max at index 1
+     * @throws IOException If an error occurs during JSON parsing.
+     */
+    private static void readRange(JsonParser parser, int[] range) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String bound = parser.currentName();
+            parser.nextToken();
+            if ("min".equals(bound)) {
+                range[0] = parser.getValueAsInt();
+            } else if ("max".equals(bound)) {
+                range[1] = parser.getValueAsInt();
+            } else {
+                parser.skipChildren();
             }
         }
-        return breedMap;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the request metrics of the underlying HTTP client.
+     *
+     * @return a snapshot of the HTTP metrics
+     */
+    public ResilientHttpClient.Metrics getHttpMetrics() {
+        return httpClient.getMetrics();
+    }
+}
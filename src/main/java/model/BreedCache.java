@@ -0,0 +1,125 @@
+package model;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+
+/**
+ * A local file cache of the breed catalogue returned by the Dog API.
+ *
+ * The cache keeps the raw API response together with the validators (ETag and Last-Modified)
+ * needed to revalidate it with a conditional request, and the time it was last confirmed
+ * against the API.
+ */
+public class BreedCache {
+    /** The system property that overrides the cache file location. */
+    public static final String CACHE_FILE_PROPERTY = "dogcenter.breedCache";
+
+    /** The default time after which cached breeds should be revalidated. */
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    /**
+     * A cached API response.
+     *
+     * @param body the raw JSON body returned by the API
+     * @param etag the ETag of the response, or null if none was sent
+     * @param lastModified the Last-Modified header of the response, or null if none was sent
+     * @param fetchedAt the time in milliseconds the body was last confirmed to be current
+     */
+    public record Entry(String body, String etag, String lastModified, long fetchedAt) {}
+
+    /** The cache file. */
+    private final Path file;
+
+    /** The time after which an entry is stale. */
+    private final Duration ttl;
+
+    /** The ObjectMapper instance used to read and write the cache file. */
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Constructs a new BreedCache at the default location with the default time-to-live.
+     *
+     * The default location is {@code ~/.dogcenter/breeds.json}, unless the
+     * {@value #CACHE_FILE_PROPERTY} system property is set.
+     */
+    public BreedCache() {
+        this(defaultFile(), DEFAULT_TTL);
+    }
+
+    /**
+     * Constructs a new BreedCache.
+     *
+     * @param file the cache file
+     * @param ttl the time after which cached breeds should be revalidated
+     */
+    public BreedCache(Path file, Duration ttl) {
+        this.file = file;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the default cache file location.
+     *
+     * @return the default cache file
+     */
+    private static Path defaultFile() {
+        String override = System.getProperty(CACHE_FILE_PROPERTY);
+        if (override != null && !override.isEmpty()) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".dogcenter", "breeds.json");
+    }
+
+    /**
+     * Reads the cached entry.
+     *
+     * @return the cached entry, or null if there is no readable cache file
+     */
+    public Entry load() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), Entry.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the entry to the cache file, replacing any previous entry.
+     *
+     * The file is written to a temporary file first and moved into place, so a reader never
+     * sees a partially written cache.
+     *
+     * @param entry the entry to store
+     * @throws IOException if the cache file cannot be written
+     */
+    public void store(Entry entry) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, "breeds", ".tmp");
+        try {
+            objectMapper.writeValue(temp.toFile(), entry);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Checks whether an entry is still within the time-to-live.
+     *
+     * @param entry the entry to check
+     * @param now the current time in milliseconds
+     * @return true if the entry does not need to be revalidated yet
+     */
+    public boolean isFresh(Entry entry, long now) {
+        return entry != null && now - entry.fetchedAt() < ttl.toMillis();
+    }
+}
@@ -0,0 +1,133 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Loads the breed catalogue without making startup wait for the network.
+ *
+ * Breeds come from the local {@link BreedCache} when it exists, or from the catalogue bundled
+ * with the application otherwise. The API is then revalidated in the background with a
+ * conditional request, and the cache is updated for the next start. When the API is
+ * unreachable, the cached or bundled breeds are used unchanged.
+ */
+public class BreedLoader {
+    /** The classpath resource holding the bundled breed catalogue. */
+    public static final String SEED_RESOURCE = "/breeds-seed.json";
+
+    /** The API used to refresh the catalogue. */
+    private final ApiUtil api;
+
+    /** The local cache of the catalogue. */
+    private final BreedCache cache;
+
+    /** The executor that runs the background refresh. */
+    private final ExecutorService executor = WorkerThreads.newExecutor("breed-refresh", 1);
+
+    /** The most recently loaded cache entry, or null if only the bundled catalogue is known. */
+    private volatile BreedCache.Entry current;
+
+    /**
+     * Constructs a new BreedLoader for the public Dog API and the default cache file.
+     */
+    public BreedLoader() {
+        this(new ApiUtil(), new BreedCache());
+    }
+
+    /**
+     * Constructs a new BreedLoader.
+     *
+     * @param api the API used to refresh the catalogue
+     * @param cache the local cache of the catalogue
+     */
+    public BreedLoader(ApiUtil api, BreedCache cache) {
+        this.api = api;
+        this.cache = cache;
+    }
+
+    /**
+     * Returns the breeds available locally, without contacting the API.
+     *
+     * @return a Map with breed names as keys and Breed objects as values
+     * @throws IOException if neither the cache nor the bundled catalogue can be read
+     */
+    public Map<String, Breed> load() throws IOException {
+        current = cache.load();
+        if (current != null) {
+            try {
+                return api.parseBreeds(current.body());
+            } catch (IOException e) {
+                current = null; // corrupt cache, fall back to the bundled catalogue
+            }
+        }
+        return parseSeed(api);
+    }
+
+    /**
+     * Checks whether the locally available breeds should be revalidated against the API.
+     *
+     * @return true if there is no cache or the cache is older than its time-to-live
+     */
+    public boolean needsRefresh() {
+        return !cache.isFresh(current, System.currentTimeMillis());
+    }
+
+    /**
+     * Revalidates the catalogue against the API in the background and updates the cache.
+     *
+     * The returned future never fails: if the API is unreachable it completes with the breeds
+     * already available locally.
+     *
+     * @return a future completing with the current breeds
+     */
+    public CompletableFuture<Map<String, Breed>> refreshInBackground() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                BreedCache.Entry fresh = api.getBreedsIfChanged(current);
+                Map<String, Breed> breeds = api.parseBreeds(fresh.body());
+                cache.store(fresh);
+                current = fresh;
+                return breeds;
+            } catch (IOException e) {
+                System.err.println("Breed refresh failed, using local breeds: " + e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                return load();
+            } catch (IOException e) {
+                return Map.of();
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns the breeds of the catalogue bundled with the application, for callers that must
+     * not depend on the network or a local cache, such as benchmarks and load tests.
+     *
+     * @return a Map with breed names as keys and Breed objects as values
+     * @throws IOException if the bundled catalogue cannot be read
+     */
+    public static Map<String, Breed> loadBundled() throws IOException {
+        return parseSeed(new ApiUtil());
+    }
+
+    /**
+     * Parses the catalogue bundled with the application as it is read from the classpath.
+     *
+     * @param api the API whose parser to use
+     * @return the bundled breeds by name
+     * @throws IOException if the resource is missing or cannot be parsed
+     */
+    private static Map<String, Breed> parseSeed(ApiUtil api) throws IOException {
+        try (InputStream in = BreedLoader.class.getResourceAsStream(SEED_RESOURCE)) {
+            if (in == null) {
+                throw new IOException("Missing bundled breed catalogue " + SEED_RESOURCE);
+            }
+            return api.parseBreeds(in, true);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Interns {@link Breed} records and gives each distinct breed a dense int ordinal.
+ *
+ * Dogs store the ordinal of their breed instead of a reference, so breed equality, grouping
+ * and sorting can work on ints. Equal breeds always get the same ordinal and the same shared
+ * record. Ordinals are never reused, and lookups by ordinal do not lock.
+ */
+public final class BreedRegistry {
+    /** The registry shared by all dogs. */
+    private static final BreedRegistry GLOBAL = new BreedRegistry();
+
+    /** The ordinal of each interned breed. */
+    private final Map<Breed, Integer> ordinals = new HashMap<>();
+    /** The interned breeds by ordinal; slots below size are never modified. */
+    private volatile Breed[] breeds = new Breed[16];
+    /** The number of interned breeds. */
+    private volatile int size;
+    /** The position of each ordinal in name order, or null if it must be recomputed. */
+    private volatile int[] nameRanks;
+
+    /**
+     * Constructs a new, empty BreedRegistry. Dogs always use the {@link #global()} registry.
+     */
+    public BreedRegistry() {
+    }
+
+    /**
+     * Returns the registry shared by all dogs.
+     *
+     * @return the global registry
+     */
+    public static BreedRegistry global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the ordinal of the given breed, registering it if it has not been seen before.
+     *
+     * @param breed the breed to intern
+     * @return the ordinal of the breed
+     * @throws IllegalArgumentException if the breed is null
+     */
+    public synchronized int intern(Breed breed) {
+        if (breed == null) {
+            throw new IllegalArgumentException("Breed cannot be null.");
+        }
+        Integer existing = ordinals.get(breed);
+        if (existing != null) {
+            return existing;
+        }
+        int ordinal = size;
+        Breed[] current = breeds;
+        if (ordinal == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[ordinal] = breed;
+        breeds = current;
+        ordinals.put(breed, ordinal);
+        size = ordinal + 1;
+        nameRanks = null;
+        return ordinal;
+    }
+
+    /**
+     * Returns the shared record of the given breed.
+     *
+     * @param breed the breed to look up
+     * @return the interned record equal to the breed
+     */
+    public Breed canonical(Breed breed) {
+        return get(intern(breed));
+    }
+
+    /**
+     * Returns the breed with the given ordinal.
+     *
+     * @param ordinal the ordinal of the breed
+     * @return the breed
+     * @throws IndexOutOfBoundsException if no breed has that ordinal
+     */
+    public Breed get(int ordinal) {
+        if (ordinal < 0 || ordinal >= size) {
+            throw new IndexOutOfBoundsException("No breed with ordinal " + ordinal);
+        }
+        return breeds[ordinal];
+    }
+
+    /**
+     * Returns the number of interned breeds.
+     *
+     * @return the number of breeds
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the position of a breed when all breeds are sorted by name, so comparing ranks
+     * gives the same order as comparing names.
+     *
+     * @param ordinal the ordinal of the breed
+     * @return the name rank of the breed
+     */
+    public int nameRank(int ordinal) {
+        int[] ranks = nameRanks;
+        if (ranks == null || ordinal >= ranks.length) {
+            ranks = computeNameRanks();
+        }
+        return ranks[ordinal];
+    }
+
+    /**
+     * Returns the ordinals of all breeds whose name contains the given text.
+     *
+     * @param text the text to look for
+     * @return a set with a bit for each matching ordinal
+     */
+    public BitSet ordinalsWithNameContaining(String text) {
+        int count = size;
+        Breed[] current = breeds;
+        BitSet matches = new BitSet(count);
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            if (current[ordinal].name().contains(text)) {
+                matches.set(ordinal);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Sorts all breeds by name and stores the resulting rank of each ordinal.
+     *
+     * @return the name ranks
+     */
+    private synchronized int[] computeNameRanks() {
+        int[] ranks = nameRanks;
+        if (ranks != null && ranks.length == size) {
+            return ranks;
+        }
+        Breed[] current = breeds;
+        Integer[] order = new Integer[size];
+        for (int ordinal = 0; ordinal < order.length; ordinal++) {
+            order[ordinal] = ordinal;
+        }
+        Arrays.sort(order, (a, b) -> current[a].name().compareTo(current[b].name()));
+        ranks = new int[order.length];
+        for (int index = 1; index < order.length; index++) {
+            boolean sameName = current[order[index]].name().equals(current[order[index - 1]].name());
+            ranks[order[index]] = sameName ? ranks[order[index - 1]] : index;
+        }
+        nameRanks = ranks;
+        return ranks;
+    }
+}
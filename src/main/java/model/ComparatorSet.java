@@ -23,7 +23,8 @@ public class ComparatorSet {
             case "sex":
                 return Comparator.comparing(Dog::getSex);
             case "breed":
-                return Comparator.comparing(dog -> dog.getBreed().name());
+                BreedRegistry registry = BreedRegistry.global();
+                return Comparator.comparingInt(dog -> registry.nameRank(dog.getBreedOrdinal()));
             case "age":
                 return Comparator.comparingInt(Dog::getAge);
             case "weight":
@@ -39,10 +40,11 @@ public class ComparatorSet {
      * Returns a Predicate for Dog objects based on the specified filter attribute and value.
      * 
      * @param filter the attribute to filter by. Supported values are "name", "sex", "breed", "age", "weight", and "price".
-     * @param value the value to compare against the attribute. The type of this value must match the type
-     *              expected for the given filter attribute.
+     * @param value the value to compare against the attribute. Age, weight and price accept either a
+     *              number or its text, as entered in a search form or query string.
      * @return a Predicate that can be used to filter Dog objects, or {@code null} if the
      *         filter attribute is not recognized.
+     * @throws IllegalArgumentException if an age, weight or price value is not a number
      */
     public static Predicate<Dog> getPredicate(String filter, Object value) {
         switch (filter.toLowerCase()) {
@@ -51,15 +53,78 @@ public class ComparatorSet {
             case "sex":
                 return dog -> dog.getSex().equalsIgnoreCase((String) value);
             case "breed":
-                return dog -> dog.getBreed().name().contains((String) value);
-            case "age":
-                return dog -> dog.getAge() == (int) value;
-            case "weight":
-                return dog -> dog.getWeight() == (double) value;
-            case "price":
-                return dog -> dog.getPrice() == (double) value;
+                return breedPredicate((String) value);
+            case "age": {
+                int age = toInt("age", value);
+                return dog -> dog.getAge() == age;
+            }
+            case "weight": {
+                double weight = toDouble("weight", value);
+                return dog -> dog.getWeight() == weight;
+            }
+            case "price": {
+                double price = toDouble("price", value);
+                return dog -> dog.getPrice() == price;
+            }
             default:
                 return null;
         }
     }
+
+    /**
+     * Returns a Predicate matching dogs whose breed name contains the given text.
+     *
+     * The matching breeds are looked up once, so testing a dog is a bit lookup on its breed
+     * ordinal. Breeds registered after the predicate was created are checked by name.
+     *
+     * @param text the text the breed name must contain
+     * @return a Predicate matching dogs of the matching breeds
+     */
+    private static Predicate<Dog> breedPredicate(String text) {
+        BreedRegistry registry = BreedRegistry.global();
+        int known = registry.size();
+        BitSet matches = registry.ordinalsWithNameContaining(text);
+        return dog -> {
+            int ordinal = dog.getBreedOrdinal();
+            return ordinal < known ? matches.get(ordinal) : registry.get(ordinal).name().contains(text);
+        };
+    }
+
+    /**
+     * Converts a filter value to a whole number.
+     *
+     * @param filter the attribute being filtered, for the error message
+     * @param value a number or its text
+     * @return the value as an int
+     * @throws IllegalArgumentException if the value is not a whole number
+     */
+    private static int toInt(String filter, Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        try {
+            return Integer.parseInt(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(filter + " filter must be a whole number: " + value);
+        }
+    }
+
+    /**
+     * Converts a filter value to a decimal number.
+     *
+     * @param filter the attribute being filtered, for the error message
+     * @param value a number or its text
+     * @return the value as a double
+     * @throws IllegalArgumentException if the value is not a number
+     */
+    private static double toDouble(String filter, Object value) {
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        try {
+            return Double.parseDouble(String.valueOf(value).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(filter + " filter must be a number: " + value);
+        }
+    }
 }
@@ -1,37 +1,46 @@
 package model;
-import java.io.File;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 public class Dog implements IDog{
 
+    /** the value of {@link #sex} for a male dog */
+    private static final byte MALE = 'm';
+
+    /** the value of {@link #sex} for a female dog */
+    private static final byte FEMALE = 'f';
+
+    /** the model holding the dog, or null if it is not in a model */
+    private volatile AdoptionCenterModel owner;
+
     /** the unique identifier of the dog */
     private String id;
 
     /** the name of the dog */
     private String name;
 
-    /** the sex of the dog ('m' or 'f', case insensitive) */
-    private String sex;
+    /** the weight of the dog in pounds */
+    private double weight;
+
+    /** the price of the dog */
+    private double price;
+
+    /** the version of the dog, which increases with every change */
+    private volatile long version;
 
-    /** the breed of the dog */
-    private Breed breed;
+    /** the ordinal of the breed of the dog in the {@link BreedRegistry} */
+    private int breed;
 
     /** the age of the dog in years */
     private int age;
 
-    /** the weight of the dog in pounds */
-    private double weight;
+    /** the id of the image of the dog in the {@link ImageCatalog} */
+    private short image;
 
-    /** the path to the image file of the dog. */
-    private String image;
-
-    /** the price of the dog */
-    private double price;
+    /** the sex of the dog, {@link #MALE} or {@link #FEMALE} */
+    private byte sex;
 
     /** the readiness for adoption status of the dog */
     private boolean isReady;
-    
-    /** the directory for all the dog images */
-    private static final String IMAGE_DIRECTORY = "src/main/resources/dogimages/";
 
       /**
      * Constructs a new Dog with the specified attributes, defaulting price to 0.00 and readiness for adoption to false.
@@ -73,8 +82,7 @@ public class Dog implements IDog{
         if (age <= 0) {
             throw new IllegalArgumentException("Dog age must be greater than zero.");
         }
-        File file = new File(IMAGE_DIRECTORY + image);
-        if (!file.exists() || file.isDirectory()) {
+        if (!ImageCatalog.global().exists(image)) {
             throw new IllegalArgumentException("The image does not exist or the path is not valid. Please place image in correct folder.");
         }
         if (weight <= 0) {
@@ -85,11 +93,11 @@ public class Dog implements IDog{
         }
         this.id = id;
         this.name = name;
-        this.sex = sex.toLowerCase();
-        this.breed = breed;
+        this.sex = sex.equalsIgnoreCase("m") ? MALE : FEMALE;
+        this.breed = BreedRegistry.global().intern(breed);
         this.age = age;
         this.weight = weight;
-        this.image = IMAGE_DIRECTORY + image;
+        this.image = ImageCatalog.global().intern(image);
         this.price = price;
         this.isReady = isReady;
     }
@@ -121,7 +129,7 @@ public class Dog implements IDog{
      */
     @Override
     public String getSex() {
-        return this.sex;
+        return this.sex == MALE ? "m" : "f";
     }
 
     /**
@@ -131,6 +139,17 @@ public class Dog implements IDog{
      */
     @Override
     public Breed getBreed() {
+        return BreedRegistry.global().get(this.breed);
+    }
+
+    /**
+     * Returns the ordinal of the breed of the dog in the global {@link BreedRegistry}.
+     * Two dogs have the same breed exactly when their ordinals are equal.
+     *
+     * @return the breed ordinal of the dog
+     */
+    @JsonIgnore
+    public int getBreedOrdinal() {
         return this.breed;
     }
 
@@ -161,7 +180,7 @@ public class Dog implements IDog{
      */
     @Override
     public String getImage() {
-        return this.image;
+        return ImageCatalog.global().path(this.image);
     }
 
     /**
@@ -192,6 +211,7 @@ public class Dog implements IDog{
     @Override
     public void changeName(String name) {
         this.name = name;
+        changed(DogChange.Kind.NAME);
     }
 
     /**
@@ -206,6 +226,7 @@ public class Dog implements IDog{
             throw new IllegalArgumentException("The new dog age must be older than the currently assigned one.");
         }
         this.age = age;
+        changed(DogChange.Kind.AGE);
     }
 
     /**
@@ -220,21 +241,23 @@ public class Dog implements IDog{
             throw new IllegalArgumentException("Dog weight must be greater than zero.");
         }
         this.weight = weight;
+        changed(DogChange.Kind.WEIGHT);
     }
 
     /**
-     * Changes the image of the dog.
+     * Changes the image of the dog and regenerates its thumbnail if it is out of date.
      *
      * @param image the new image of the dog
      * @throws IllegalArgumentException if the image path is invalid
      */
     @Override
     public void changeImage(String image) throws IllegalArgumentException {
-        File file = new File(IMAGE_DIRECTORY + image);
-        if (!file.exists() || file.isDirectory()) {
+        if (!ImageCatalog.global().exists(image)) {
             throw new IllegalArgumentException("The image does not exist or the path is not valid. Please place image in correct folder.");
         }
-        this.image = IMAGE_DIRECTORY + image;
+        this.image = ImageCatalog.global().intern(image);
+        ThumbnailStore.global().refresh(getImage());
+        changed(DogChange.Kind.IMAGE);
     }
 
     /**
@@ -249,6 +272,7 @@ public class Dog implements IDog{
             throw new IllegalArgumentException("Price of dog cannot be negative.");
         }
         this.price = price;
+        changed(DogChange.Kind.PRICE);
     }
 
     /**
@@ -259,5 +283,63 @@ public class Dog implements IDog{
     @Override
     public void changeIsReady(boolean isReady) {
         this.isReady = isReady;
+        changed(DogChange.Kind.READY);
+    }
+
+    /**
+     * Returns the version of the dog. It increases with every change to the dog; while the dog
+     * is in a model it is the model version at which the dog last changed.
+     *
+     * @return the version of the dog
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Records that the dog was added to a model.
+     *
+     * @param owner the model now holding the dog
+     * @param version the model version at which it was added
+     */
+    void attach(AdoptionCenterModel owner, long version) {
+        this.owner = owner;
+        this.version = version;
+    }
+
+    /**
+     * Records that the dog was removed from a model.
+     *
+     * @param owner the model the dog was removed from
+     */
+    void detach(AdoptionCenterModel owner) {
+        if (this.owner == owner) {
+            this.owner = null;
+        }
+    }
+
+    /**
+     * Sets the version of the dog to the model version at which it changed.
+     *
+     * @param version the new version of the dog
+     */
+    void changedAt(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Records a change to the dog by taking the next version from its model, or by counting
+     * up on its own if it is not in a model.
+     *
+     * @param kind what changed
+     */
+    private void changed(DogChange.Kind kind) {
+        AdoptionCenterModel model = owner;
+        if (model != null) {
+            model.dogChanged(this, kind);
+        } else {
+            version = version + 1;
+        }
     }
 }
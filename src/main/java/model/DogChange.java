@@ -0,0 +1,17 @@
+package model;
+
+/**
+ * A change to one of the model's dogs, as passed to the model's change listeners. The ready
+ * state and price are those of the dog right after the change, so listeners do not have to
+ * read the dog again.
+ *
+ * @param dogId the id of the dog
+ * @param kind what changed
+ * @param version the model version the change created
+ * @param ready whether the dog is ready for adoption
+ * @param price the price of the dog
+ */
+public record DogChange(String dogId, Kind kind, long version, boolean ready, double price) {
+    /** What changed about a dog. */
+    public enum Kind { ADDED, REMOVED, NAME, AGE, WEIGHT, IMAGE, PRICE, READY }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface IACModel {
     /**
@@ -25,6 +26,34 @@ public interface IACModel {
      */
     List<Dog> getAllDogs();
 
+    /**
+     * Returns the version of the model, which increases whenever a dog is added, removed or changed.
+     *
+     * @return the current version
+     */
+    long getVersion();
+
+    /**
+     * Returns the time of the last change to the model.
+     *
+     * @return the time in milliseconds since the epoch
+     */
+    long getLastModified();
+
+    /**
+     * Adds a listener that is told about every dog added, removed or changed.
+     *
+     * @param listener the listener to add
+     */
+    void addChangeListener(Consumer<DogChange> listener);
+
+    /**
+     * Removes a change listener.
+     *
+     * @param listener the listener to remove
+     */
+    void removeChangeListener(Consumer<DogChange> listener);
+
     /**
      * Gets a dog by its id.
      *
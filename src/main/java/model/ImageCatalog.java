@@ -0,0 +1,310 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interns dog image file names and gives each one a short id.
+ *
+ * Dogs store the id of their image instead of their own copy of the full path. Each path is
+ * built once, relative to the shared image directory, and shared by every dog using that image.
+ *
+ * The catalog also answers whether an image exists. The image directory is scanned once, on
+ * first use, and kept up to date by a {@link WatchService} started by the first check, so
+ * checking the image of each new dog does not touch the filesystem. If the watcher cannot run,
+ * the scan cannot see deletes and every check goes to disk. Closing the catalog stops the
+ * watcher, and later checks go to disk until it is started again.
+ */
+public final class ImageCatalog implements AutoCloseable {
+    /** The directory for all the dog images. */
+    public static final String IMAGE_DIRECTORY = "src/main/resources/dogimages/";
+
+    /** The largest number of distinct images a short id can address. */
+    private static final int MAX_IMAGES = 1 << 16;
+
+    /** The catalog shared by all dogs. */
+    private static final ImageCatalog GLOBAL = new ImageCatalog(IMAGE_DIRECTORY);
+
+    /** The directory image names are resolved against. */
+    private final String directory;
+    /** The id of each interned image name. */
+    private final Map<String, Integer> ids = new HashMap<>();
+    /** The full image paths by id; slots below size are never modified. */
+    private volatile String[] paths = new String[64];
+    /** The number of interned images. */
+    private volatile int size;
+    /** The names of the files in the image directory, or null until the first scan. */
+    private volatile Set<String> files;
+    /** The thread applying directory changes, or null if it is not running. */
+    private Thread watcher;
+    /** The watch service the watcher takes events from, or null if it is not running. */
+    private WatchService service;
+    /** Whether the watcher is keeping the known files up to date. */
+    private volatile boolean watching;
+    /** Whether the watcher was started or the catalog closed, so checks do not start it. */
+    private volatile boolean watchRequested;
+    /** The number of existence checks that went to disk. */
+    private final LongAdder diskChecks = new LongAdder();
+
+    /**
+     * Constructs a new, empty ImageCatalog. Dogs always use the {@link #global()} catalog.
+     *
+     * @param directory the directory image names are resolved against, ending with a separator
+     */
+    public ImageCatalog(String directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the catalog shared by all dogs.
+     *
+     * @return the global catalog
+     */
+    public static ImageCatalog global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns the directory image names are resolved against.
+     *
+     * @return the image directory
+     */
+    public String getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the id of the given image name, registering it if it has not been seen before.
+     *
+     * @param image the image file name, relative to the image directory
+     * @return the id of the image, to be read back with {@link Short#toUnsignedInt(short)}
+     * @throws IllegalStateException if the catalog is full
+     */
+    public synchronized short intern(String image) {
+        Integer existing = ids.get(image);
+        if (existing != null) {
+            return (short) (int) existing;
+        }
+        int id = size;
+        if (id == MAX_IMAGES) {
+            throw new IllegalStateException("No more than " + MAX_IMAGES + " distinct images are supported.");
+        }
+        String[] current = paths;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[id] = directory + image;
+        paths = current;
+        ids.put(image, id);
+        size = id + 1;
+        return (short) id;
+    }
+
+    /**
+     * Returns the full path of the image with the given id.
+     *
+     * @param id the id of the image
+     * @return the path of the image, relative to the working directory
+     * @throws IndexOutOfBoundsException if no image has that id
+     */
+    public String path(short id) {
+        int index = Short.toUnsignedInt(id);
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("No image with id " + index);
+        }
+        return paths[index];
+    }
+
+    /**
+     * Returns the number of interned images.
+     *
+     * @return the number of images
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether an image file exists in the image directory.
+     *
+     * The first check starts the watcher. While it runs, names found by the directory scan are
+     * answered from memory. Other names, such as paths into subdirectories, and all names while
+     * it is not running are checked on disk.
+     *
+     * @param image the image file name, relative to the image directory
+     * @return true if the image is an existing regular file
+     */
+    public boolean exists(String image) {
+        if (!watchRequested) {
+            startWatching();
+        }
+        if (watching && knownFiles().contains(image)) {
+            return true;
+        }
+        diskChecks.increment();
+        return Files.isRegularFile(Paths.get(directory, image));
+    }
+
+    /**
+     * Returns the number of existence checks that went to disk.
+     *
+     * @return the number of disk checks
+     */
+    public long getDiskCheckCount() {
+        return diskChecks.sum();
+    }
+
+    /**
+     * Scans the image directory again, replacing the known files.
+     */
+    public void rescan() {
+        Set<String> scanned = ConcurrentHashMap.newKeySet();
+        Path dir = Paths.get(directory);
+        if (Files.isDirectory(dir)) {
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                for (Path entry : entries) {
+                    if (Files.isRegularFile(entry)) {
+                        scanned.add(entry.getFileName().toString());
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Could not scan image directory " + directory + ": " + e.getMessage());
+            }
+        }
+        files = scanned;
+    }
+
+    /**
+     * Starts a daemon thread that watches the image directory, so images added or removed
+     * later are picked up without a rescan. The first {@link #exists(String)} calls this, so
+     * calling it directly only moves the scan earlier. Does nothing if the directory does not
+     * exist or the watcher is already running.
+     */
+    public synchronized void startWatching() {
+        watchRequested = true;
+        Path dir = Paths.get(directory);
+        if (watcher != null || !Files.isDirectory(dir)) {
+            return;
+        }
+        WatchService started;
+        try {
+            started = dir.getFileSystem().newWatchService();
+            dir.register(started, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("Could not watch image directory " + directory + ": " + e.getMessage());
+            return;
+        }
+        rescan(); // catch changes made before the watch was registered
+        watching = true;
+        service = started;
+        watcher = new Thread(() -> watch(started, dir), "image-catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops the watcher and closes its watch service. Later checks go to disk until the
+     * watcher is started again. Does nothing if the watcher is not running.
+     */
+    @Override
+    public synchronized void close() {
+        watchRequested = true;
+        if (watcher == null) {
+            return;
+        }
+        watching = false;
+        try {
+            service.close(); // wakes the watcher blocked in take()
+        } catch (IOException e) {
+            System.err.println("Could not close the watch on " + directory + ": " + e.getMessage());
+        }
+        watcher.interrupt();
+        watcher = null;
+        service = null;
+    }
+
+    /**
+     * Applies directory events to the known files until the service is closed or the thread
+     * is interrupted.
+     *
+     * @param service the watch service registered on the directory
+     * @param dir the image directory
+     */
+    private void watch(WatchService service, Path dir) {
+        try (service) {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = service.take();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        rescan();
+                        continue;
+                    }
+                    String name = ((Path) event.context()).toString();
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        knownFiles().remove(name);
+                    } else if (Files.isRegularFile(dir.resolve(name))) {
+                        knownFiles().add(name);
+                    }
+                }
+                if (!key.reset()) {
+                    break;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // closed by close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Stopped watching image directory " + directory + ": " + e.getMessage());
+        } finally {
+            stopped(service);
+        }
+    }
+
+    /**
+     * Falls back to disk checks when the watcher ends on its own, for example because the
+     * directory was removed.
+     *
+     * @param ended the watch service of the watcher that ended
+     */
+    private synchronized void stopped(WatchService ended) {
+        if (service == ended) {
+            watching = false;
+            watcher = null;
+            service = null;
+        }
+    }
+
+    /**
+     * Returns the names of the files in the image directory, scanning it on first use.
+     *
+     * @return the known file names
+     */
+    private Set<String> knownFiles() {
+        Set<String> known = files;
+        if (known == null) {
+            synchronized (this) {
+                if (files == null) {
+                    rescan();
+                }
+                known = files;
+            }
+        }
+        return known;
+    }
+}
@@ -0,0 +1,398 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An HttpClient wrapper with timeouts, retries and a circuit breaker.
+ *
+ * Every request gets a request timeout. Connection errors, timeouts and 429/5xx responses are
+ * retried with exponential backoff and full jitter. After a number of consecutive failures the
+ * circuit opens and requests fail immediately with a {@link CircuitOpenException} until the
+ * open period is over, so callers can fall back to cached data instead of waiting on a dead
+ * server. The underlying client prefers HTTP/2 and is shared by all requests, so connections
+ * are reused.
+ */
+public class ResilientHttpClient {
+
+    /**
+     * Thrown when a request is rejected because the circuit breaker is open.
+     */
+    public static class CircuitOpenException extends IOException {
+        /** The serialization version of the exception. */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Constructs a new CircuitOpenException.
+         *
+         * @param message the detail message
+         */
+        public CircuitOpenException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * A point-in-time view of the client's request metrics.
+     *
+     * @param requests the number of attempts sent, including retries
+     * @param failures the number of attempts that failed or returned a retryable status
+     * @param retries the number of retries
+     * @param rejected the number of requests rejected by the open circuit
+     * @param p50Millis the median latency of recent attempts in milliseconds
+     * @param p99Millis the 99th percentile latency of recent attempts in milliseconds
+     * @param maxMillis the highest latency of recent attempts in milliseconds
+     */
+    public record Metrics(long requests, long failures, long retries, long rejected,
+                          double p50Millis, double p99Millis, double maxMillis) {}
+
+    /** The states of the circuit breaker. */
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /** The number of recent latencies kept for percentiles. */
+    private static final int LATENCY_SAMPLES = 1024;
+
+    /** The underlying client. */
+    private final HttpClient client;
+    /** The timeout applied to each request attempt. */
+    private final Duration requestTimeout;
+    /** The maximum number of attempts per request, including the first. */
+    private final int maxAttempts;
+    /** The backoff before the first retry, in milliseconds. */
+    private final long baseBackoffMillis;
+    /** The maximum backoff between retries, in milliseconds. */
+    private final long maxBackoffMillis;
+    /** The number of consecutive failures that opens the circuit. */
+    private final int failureThreshold;
+    /** How long the circuit stays open, in nanoseconds. */
+    private final long openNanos;
+
+    /** The current circuit state. */
+    private State state = State.CLOSED;
+    /** The number of consecutive failures. */
+    private int consecutiveFailures;
+    /** The time in nanoseconds at which an open circuit may be tried again. */
+    private long openUntil;
+    /** Whether the single trial request of a half-open circuit is in flight. */
+    private final AtomicBoolean trialInFlight = new AtomicBoolean();
+
+    /** The number of attempts sent. */
+    private final LongAdder requests = new LongAdder();
+    /** The number of failed attempts. */
+    private final LongAdder failures = new LongAdder();
+    /** The number of retries. */
+    private final LongAdder retries = new LongAdder();
+    /** The number of requests rejected by the open circuit. */
+    private final LongAdder rejected = new LongAdder();
+    /** Ring buffer of recent attempt latencies in nanoseconds. */
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    /** The number of latencies recorded so far. */
+    private long latencyCount;
+
+    /**
+     * Constructs a new ResilientHttpClient with default settings: 5s connect timeout, 10s request
+     * timeout, 3 attempts with 200ms to 2s backoff, and a circuit that opens for 30s after 5
+     * consecutive failures.
+     */
+    public ResilientHttpClient() {
+        this(Duration.ofSeconds(5), Duration.ofSeconds(10), 3, Duration.ofMillis(200),
+                Duration.ofSeconds(2), 5, Duration.ofSeconds(30));
+    }
+
+    /**
+     * Constructs a new ResilientHttpClient.
+     *
+     * @param connectTimeout the timeout for establishing a connection
+     * @param requestTimeout the timeout for each request attempt
+     * @param maxAttempts the maximum number of attempts per request, including the first
+     * @param baseBackoff the backoff before the first retry
+     * @param maxBackoff the maximum backoff between retries
+     * @param failureThreshold the number of consecutive failures that opens the circuit
+     * @param openDuration how long the circuit stays open before a request is tried again
+     * @throws IllegalArgumentException if maxAttempts or failureThreshold is less than one
+     */
+    public ResilientHttpClient(Duration connectTimeout, Duration requestTimeout, int maxAttempts,
+                               Duration baseBackoff, Duration maxBackoff, int failureThreshold,
+                               Duration openDuration) {
+        if (maxAttempts < 1 || failureThreshold < 1) {
+            throw new IllegalArgumentException("Attempts and failure threshold must be at least one.");
+        }
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (WorkerThreads.isVirtualEnabled()) {
+            builder.executor(WorkerThreads.newExecutor("http-client", 1)); // response handling on virtual threads
+        }
+        this.client = builder.build();
+        this.requestTimeout = requestTimeout;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffMillis = baseBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Sends a request, retrying failures.
+     *
+     * If every attempt returns a retryable status, the last response is returned so the caller
+     * can report it.
+     *
+     * @param request the request to send
+     * @param handler the body handler
+     * @param <T> the body type
+     * @return the response
+     * @throws CircuitOpenException if the circuit is open
+     * @throws IOException if the last attempt failed with an I/O error or timed out
+     * @throws InterruptedException if the operation is interrupted
+     */
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler)
+            throws IOException, InterruptedException {
+        HttpRequest timed = withTimeout(request);
+        IOException lastError = null;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            if (attempt > 0) {
+                retries.increment();
+                Thread.sleep(backoffMillis(attempt));
+            }
+            checkCircuit();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<T> response;
+                try {
+                    response = client.send(timed, handler);
+                } catch (InterruptedException | RuntimeException e) {
+                    trialInFlight.set(false); // the attempt has no outcome, let another caller try
+                    throw e;
+                }
+                record(System.nanoTime() - start);
+                if (!isRetryable(response.statusCode())) {
+                    onSuccess();
+                    return response;
+                }
+                onFailure();
+                if (attempt == maxAttempts - 1) {
+                    return response;
+                }
+                discard(response);
+            } catch (IOException e) {
+                record(System.nanoTime() - start);
+                onFailure();
+                lastError = e;
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Sends a request asynchronously, retrying failures after a delay without blocking a thread.
+     *
+     * @param request the request to send
+     * @param handler the body handler
+     * @param <T> the body type
+     * @return a future completing with the response, or failing with the last error
+     */
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(HttpRequest request,
+                                                            HttpResponse.BodyHandler<T> handler) {
+        return attemptAsync(withTimeout(request), handler, 0);
+    }
+
+    /**
+     * Sends one asynchronous attempt and schedules the next one if it fails.
+     *
+     * @param request the request to send
+     * @param handler the body handler
+     * @param attempt the zero-based attempt number
+     * @param <T> the body type
+     * @return a future completing with the response, or failing with the last error
+     */
+    private <T> CompletableFuture<HttpResponse<T>> attemptAsync(HttpRequest request,
+                                                               HttpResponse.BodyHandler<T> handler,
+                                                               int attempt) {
+        try {
+            checkCircuit();
+        } catch (CircuitOpenException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(request, handler).handle((response, error) -> {
+            record(System.nanoTime() - start);
+            if (error == null && !isRetryable(response.statusCode())) {
+                onSuccess();
+                return CompletableFuture.completedFuture(response);
+            }
+            onFailure();
+            if (attempt == maxAttempts - 1) {
+                return error == null ? CompletableFuture.completedFuture(response)
+                        : CompletableFuture.<HttpResponse<T>>failedFuture(error);
+            }
+            if (response != null) {
+                discard(response);
+            }
+            retries.increment();
+            Executor delay = CompletableFuture.delayedExecutor(backoffMillis(attempt + 1), TimeUnit.MILLISECONDS);
+            return CompletableFuture.runAsync(() -> { }, delay)
+                    .thenCompose(ignored -> attemptAsync(request, handler, attempt + 1));
+        }).thenCompose(next -> next);
+    }
+
+    /**
+     * Returns the current request metrics.
+     *
+     * @return a snapshot of the metrics
+     */
+    public Metrics getMetrics() {
+        long[] recent;
+        synchronized (latencies) {
+            recent = Arrays.copyOf(latencies, (int) Math.min(latencyCount, LATENCY_SAMPLES));
+        }
+        Arrays.sort(recent);
+        return new Metrics(requests.sum(), failures.sum(), retries.sum(), rejected.sum(),
+                percentile(recent, 0.50), percentile(recent, 0.99),
+                recent.length == 0 ? 0 : recent[recent.length - 1] / 1e6);
+    }
+
+    /**
+     * Checks whether the circuit is open.
+     *
+     * @return true if requests are currently rejected
+     */
+    public synchronized boolean isOpen() {
+        return state == State.OPEN && System.nanoTime() < openUntil;
+    }
+
+    /**
+     * Rejects the request if the circuit is open, or lets one trial request through once the open
+     * period is over. While the trial is in flight, every other request is rejected as well.
+     *
+     * @throws CircuitOpenException if the circuit is open or its trial request is in flight
+     */
+    private synchronized void checkCircuit() throws CircuitOpenException {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.OPEN && System.nanoTime() < openUntil) {
+            rejected.increment();
+            throw new CircuitOpenException("Circuit open after " + consecutiveFailures
+                    + " consecutive failures.");
+        }
+        if (!trialInFlight.compareAndSet(false, true)) {
+            rejected.increment();
+            throw new CircuitOpenException("Circuit half-open, waiting for the trial request.");
+        }
+        state = State.HALF_OPEN;
+    }
+
+    /**
+     * Closes the circuit after a successful attempt.
+     */
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+        trialInFlight.set(false);
+    }
+
+    /**
+     * Counts a failed attempt and opens the circuit if the threshold is reached or a trial
+     * request failed.
+     */
+    private synchronized void onFailure() {
+        failures.increment();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntil = System.nanoTime() + openNanos;
+        }
+        trialInFlight.set(false);
+    }
+
+    /**
+     * Records the latency of an attempt.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    private void record(long nanos) {
+        requests.increment();
+        synchronized (latencies) {
+            latencies[(int) (latencyCount++ % LATENCY_SAMPLES)] = nanos;
+        }
+    }
+
+    /**
+     * Returns the backoff before the given retry: a random delay up to an exponentially growing
+     * cap ("full jitter").
+     *
+     * @param retry the retry number, starting at one
+     * @return the delay in milliseconds
+     */
+    private long backoffMillis(int retry) {
+        long cap = baseBackoffMillis << Math.min(retry - 1, 20);
+        cap = Math.min(maxBackoffMillis, cap);
+        return cap <= 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    /**
+     * Returns a copy of the request with the request timeout applied, unless it sets its own.
+     *
+     * @param request the request
+     * @return the request with a timeout
+     */
+    private HttpRequest withTimeout(HttpRequest request) {
+        if (request.timeout().isPresent()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true).timeout(requestTimeout).build();
+    }
+
+    /**
+     * Checks whether a status code is worth retrying.
+     *
+     * @param status the HTTP status code
+     * @return true for 429 and 5xx responses
+     */
+    private static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * Releases the body of a response that will not be returned to the caller.
+     *
+     * @param response the discarded response
+     */
+    private static void discard(HttpResponse<?> response) {
+        if (response.body() instanceof InputStream) {
+            try {
+                ((InputStream) response.body()).close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+
+    /**
+     * Returns a percentile of sorted latencies in milliseconds.
+     *
+     * @param sorted the latencies in nanoseconds, sorted ascending
+     * @param fraction the percentile as a fraction between 0 and 1
+     * @return the percentile in milliseconds, or 0 if there are no latencies
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
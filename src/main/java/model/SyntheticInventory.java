@@ -0,0 +1,200 @@
+package model;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates large inventories of made-up dogs for benchmarks and load tests.
+ *
+ * The same seed always gives the same dogs, and a smaller inventory is the start of a larger
+ * one, so results of different runs and sizes can be compared. Values follow the shape of a
+ * real shelter: a few breeds and names are far more common than the rest, most dogs are young,
+ * weights fall within the breed's range for the dog's sex, and about one dog in ten is not yet
+ * ready for adoption and has no price.
+ *
+ * Breeds come from any breed map, such as the bundled catalogue, so no network is needed. All
+ * dogs share the {@value #PLACEHOLDER_IMAGES} images in the image directory, so millions of
+ * dogs need no image files of their own and only that many thumbnails.
+ */
+public final class SyntheticInventory {
+    /** The seed used by benchmarks and load tests. */
+    public static final long DEFAULT_SEED = 42;
+    /** The number of shared images, named 1.png and up in the image directory. */
+    public static final int PLACEHOLDER_IMAGES = 30;
+
+    /** Names the dogs are given, most popular first. */
+    private static final String[] NAMES = {
+        "Bella", "Max", "Luna", "Charlie", "Lucy", "Cooper", "Daisy", "Buddy", "Bailey", "Sadie",
+        "Milo", "Molly", "Rocky", "Stella", "Bear", "Maggie", "Duke", "Penny", "Tucker", "Lola",
+        "Leo", "Zoe", "Jack", "Rosie", "Teddy", "Ruby", "Bentley", "Chloe", "Winston", "Coco",
+        "Toby", "Ellie", "Oliver", "Nala", "Zeus", "Gracie", "Murphy", "Piper", "Louie", "Sophie",
+        "Oscar", "Willow", "Finn", "Lily", "Hank", "Roxy", "Jax", "Pepper", "Gus", "Ginger",
+        "Bruno", "Abby", "Diesel", "Riley", "Moose", "Hazel", "Henry", "Dixie", "Loki", "Honey",
+        "Ollie", "Mia", "Sam", "Olive", "Thor", "Callie", "Rex", "Athena", "Bandit", "Ivy",
+        "Ranger", "Kona", "Apollo", "Maple", "Archie", "Harley", "Koda", "Sasha", "Hunter", "Izzy",
+        "Bruce", "Marley", "Otis", "Nova", "Remi", "Cleo", "Scout", "Juniper", "Ziggy", "Poppy",
+        "Baxter", "Minnie", "Benji", "Holly", "Chester", "Mabel", "Rusty", "Kira", "Alexander", "Ursula"
+    };
+    /** How strongly the popular names dominate; higher means more skew. */
+    private static final double NAME_SKEW = 1.1;
+    /** How strongly the popular breeds dominate; higher means more skew. */
+    private static final double BREED_SKEW = 0.9;
+    /** The mean age above one year, in years; ages fall off exponentially. */
+    private static final double MEAN_EXTRA_AGE = 3.0;
+    /** The share of dogs not yet ready for adoption. */
+    private static final double NOT_READY = 0.1;
+    /** The median price of an adult dog. */
+    private static final double MEDIAN_PRICE = 1100;
+
+    /** The breeds, most popular first. */
+    private final Breed[] breeds;
+    /** The cumulative popularity of the breeds, ending at 1. */
+    private final double[] breedWeights;
+    /** The cumulative popularity of the names, ending at 1. */
+    private final double[] nameWeights;
+    /** The seed of the generated values. */
+    private final long seed;
+
+    /**
+     * Constructs a new SyntheticInventory.
+     *
+     * @param breeds the breeds to use by name; their popularity is assigned from the seed
+     * @param seed the seed of the generated values
+     * @throws IllegalArgumentException if there are no breeds
+     */
+    public SyntheticInventory(Map<String, Breed> breeds, long seed) {
+        if (breeds.isEmpty()) {
+            throw new IllegalArgumentException("At least one breed is required.");
+        }
+        Breed[] ordered = breeds.values().toArray(new Breed[0]);
+        Arrays.sort(ordered, Comparator.comparing(Breed::name)); // independent of the map's order
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = ordered.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Breed swap = ordered[i];
+            ordered[i] = ordered[j];
+            ordered[j] = swap;
+        }
+        this.breeds = ordered;
+        this.breedWeights = zipf(ordered.length, BREED_SKEW);
+        this.nameWeights = zipf(NAMES.length, NAME_SKEW);
+        this.seed = seed;
+    }
+
+    /**
+     * Constructs a SyntheticInventory of the breeds bundled with the application.
+     *
+     * @param seed the seed of the generated values
+     * @return the new generator
+     * @throws IOException if the bundled breed catalogue cannot be read
+     */
+    public static SyntheticInventory bundled(long seed) throws IOException {
+        return new SyntheticInventory(BreedLoader.loadBundled(), seed);
+    }
+
+    /**
+     * Creates dogs with ids from 1 up.
+     *
+     * @param count the number of dogs
+     * @return the new dogs, in id order
+     */
+    public List<Dog> create(int count) {
+        List<Dog> dogs = new ArrayList<>(count);
+        stream(1, count).forEach(dogs::add);
+        return dogs;
+    }
+
+    /**
+     * Returns a lazy stream of dogs, each created as it is pulled. The stream is sequential; the
+     * n-th dog is the same whatever the first id.
+     *
+     * @param firstId the id of the first dog; the following dogs have the following ids
+     * @param count the number of dogs
+     * @return the stream of new dogs, in id order
+     */
+    public Stream<Dog> stream(long firstId, long count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return LongStream.range(firstId, firstId + count).mapToObj(id -> dog(id, random));
+    }
+
+    /**
+     * Creates the next dog.
+     *
+     * @param id the id of the dog
+     * @param random the source of its values
+     * @return the new dog
+     */
+    private Dog dog(long id, SplittableRandom random) {
+        String name = NAMES[pick(nameWeights, random.nextDouble())];
+        Breed breed = breeds[pick(breedWeights, random.nextDouble())];
+        boolean male = random.nextBoolean();
+
+        int maxAge = breed.lifeMax() > 1 ? breed.lifeMax() : 15;
+        int age = (int) Math.min(maxAge, 1 + Math.floor(-Math.log(1 - random.nextDouble()) * MEAN_EXTRA_AGE));
+
+        int low = male ? breed.maleWeightMin() : breed.femaleWeightMin();
+        int high = male ? breed.maleWeightMax() : breed.femaleWeightMax();
+        if (low <= 0 || high < low) {
+            low = 10;
+            high = 60;
+        }
+        double spread = Math.max(1, (high - low) / 4.0);
+        double weight = (low + high) / 2.0 + random.nextGaussian() * spread;
+        weight = Math.max(low * 0.8, Math.min(high * 1.2, weight));
+        if (age == 1) {
+            weight *= 0.75; // still growing
+        }
+        weight = Math.max(1, Math.round(weight * 10) / 10.0);
+
+        boolean ready = random.nextDouble() >= NOT_READY;
+        double price = 0;
+        if (ready) {
+            double ageFactor = age <= 2 ? 1.3 : age >= 8 ? 0.7 : 1.0;
+            double jitter = Math.exp(0.35 * random.nextGaussian());
+            price = Math.max(50, Math.round(MEDIAN_PRICE * ageFactor * jitter / 50) * 50);
+        }
+        String image = (1 + random.nextInt(PLACEHOLDER_IMAGES)) + ".png";
+        return new Dog(String.valueOf(id), name, male ? "M" : "F", breed, age, weight, image, price, ready);
+    }
+
+    /**
+     * Returns the cumulative weights of a Zipf distribution, where the k-th item is drawn in
+     * proportion to 1 / k^skew.
+     *
+     * @param n the number of items
+     * @param skew the exponent of the distribution
+     * @return the cumulative weights, ending at 1
+     */
+    private static double[] zipf(int n, double skew) {
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= total;
+        }
+        cumulative[n - 1] = 1;
+        return cumulative;
+    }
+
+    /**
+     * Picks an item by its cumulative weight.
+     *
+     * @param cumulative the cumulative weights, ending at 1
+     * @param u a uniform value in [0, 1)
+     * @return the index of the picked item
+     */
+    private static int pick(double[] cumulative, double u) {
+        int index = Arrays.binarySearch(cumulative, u);
+        return index >= 0 ? Math.min(index + 1, cumulative.length - 1) : -index - 1;
+    }
+}
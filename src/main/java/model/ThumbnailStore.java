@@ -0,0 +1,203 @@
+package model;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.imageio.ImageIO;
+
+/**
+ * Generates and stores scaled thumbnails of dog images on disk.
+ *
+ * Each thumbnail is a small JPEG in a {@value #THUMBNAIL_DIRECTORY} directory next to its
+ * original. A thumbnail is current while it is at least as new as its original, so replacing an
+ * image file invalidates its thumbnail. Thumbnails are generated in the background when a dog
+ * is added or its image changes, so displaying a dog never has to decode the full-size image.
+ */
+public class ThumbnailStore {
+    /** The width and height of a thumbnail in pixels. */
+    public static final int SIZE = 100;
+
+    /** The name of the directory holding the thumbnails, next to the originals. */
+    public static final String THUMBNAIL_DIRECTORY = ".thumbs";
+
+    /** The store shared by the model and the front ends. */
+    private static final ThumbnailStore GLOBAL = new ThumbnailStore();
+
+    /** The images whose thumbnail was already checked at intake. */
+    private final Set<String> checked = ConcurrentHashMap.newKeySet();
+    /** The generations in progress by image path. */
+    private final Map<String, CompletableFuture<Path>> pending = new ConcurrentHashMap<>();
+    /** The thread generating thumbnails in the background. */
+    private final ExecutorService generator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "thumbnail-generator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Constructs a new ThumbnailStore.
+     */
+    public ThumbnailStore() {
+    }
+
+    /**
+     * Returns the store shared by the model and the front ends.
+     *
+     * @return the global store
+     */
+    public static ThumbnailStore global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Returns where the thumbnail of an image is stored.
+     *
+     * @param imagePath the path of the original image
+     * @return the path of its thumbnail
+     */
+    public Path thumbnailPath(String imagePath) {
+        Path original = Paths.get(imagePath);
+        Path parent = original.getParent() == null ? Paths.get("") : original.getParent();
+        return parent.resolve(THUMBNAIL_DIRECTORY).resolve(original.getFileName() + ".jpg");
+    }
+
+    /**
+     * Checks whether the stored thumbnail of an image exists and is not older than the image.
+     *
+     * @param imagePath the path of the original image
+     * @return true if the thumbnail is current
+     */
+    public boolean isFresh(String imagePath) {
+        try {
+            Path thumbnail = thumbnailPath(imagePath);
+            return Files.isRegularFile(thumbnail) && Files.getLastModifiedTime(thumbnail)
+                    .compareTo(Files.getLastModifiedTime(Paths.get(imagePath))) >= 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the current thumbnail of an image, generating it first if it is missing or stale.
+     *
+     * @param imagePath the path of the original image
+     * @return the path of the thumbnail, or null if the image cannot be read
+     */
+    public Path getThumbnail(String imagePath) {
+        if (isFresh(imagePath)) {
+            return thumbnailPath(imagePath);
+        }
+        try {
+            return generateAsync(imagePath).join();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Makes sure the thumbnail of a newly added image is generated, in the background. Each image
+     * is checked only once, so adding many dogs that share an image costs one check.
+     *
+     * @param imagePath the path of the original image
+     */
+    public void ensure(String imagePath) {
+        if (checked.add(imagePath)) {
+            generateAsync(imagePath);
+        }
+    }
+
+    /**
+     * Checks the thumbnail of an image again, regenerating it in the background if it is stale.
+     * Used when a dog's image is changed.
+     *
+     * @param imagePath the path of the original image
+     */
+    public void refresh(String imagePath) {
+        checked.add(imagePath);
+        generateAsync(imagePath);
+    }
+
+    /**
+     * Generates the thumbnail of an image in the background unless it is current. Concurrent
+     * requests for the same image share one generation.
+     *
+     * @param imagePath the path of the original image
+     * @return a future completing with the path of the thumbnail
+     */
+    public CompletableFuture<Path> generateAsync(String imagePath) {
+        CompletableFuture<Path> future = pending.computeIfAbsent(imagePath,
+                key -> CompletableFuture.supplyAsync(() -> {
+                    if (isFresh(key)) {
+                        return thumbnailPath(key);
+                    }
+                    try {
+                        return generate(key);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not create thumbnail for " + key, e);
+                    }
+                }, generator));
+        future.whenComplete((path, error) -> pending.remove(imagePath, future));
+        return future;
+    }
+
+    /**
+     * Decodes an image, scales it and writes its thumbnail, replacing any previous one.
+     *
+     * @param imagePath the path of the original image
+     * @return the path of the thumbnail
+     * @throws IOException if the image cannot be read or the thumbnail cannot be written
+     */
+    public Path generate(String imagePath) throws IOException {
+        BufferedImage original = ImageIO.read(Paths.get(imagePath).toFile());
+        if (original == null) {
+            throw new IOException("Not a readable image: " + imagePath);
+        }
+        Path thumbnail = thumbnailPath(imagePath);
+        Files.createDirectories(thumbnail.getParent());
+        Path temp = Files.createTempFile(thumbnail.getParent(), "thumb", ".tmp");
+        try {
+            if (!ImageIO.write(scale(original, SIZE, false), "jpg", temp.toFile())) {
+                throw new IOException("No JPEG writer available.");
+            }
+            Files.move(temp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return thumbnail;
+    }
+
+    /**
+     * Scales an image to a square thumbnail.
+     *
+     * @param original the full-size image
+     * @param size the width and height of the thumbnail
+     * @param alpha whether to keep transparency; without it, transparent areas become white
+     * @return the thumbnail
+     */
+    public static BufferedImage scale(BufferedImage original, int size, boolean alpha) {
+        BufferedImage thumbnail = new BufferedImage(size, size,
+                alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = thumbnail.createGraphics();
+        if (!alpha) {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+        }
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(original, 0, 0, size, size, null);
+        g.dispose();
+        return thumbnail;
+    }
+}
@@ -0,0 +1,121 @@
+package model;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors that run blocking background work, such as image loading and breed
+ * refreshes, on either platform or virtual threads.
+ *
+ * Virtual threads are used when the {@value #VIRTUAL_THREADS_PROPERTY} system property is
+ * "true" and the runtime supports them (Java 21 or later). The same property switches the web
+ * tier through {@code spring.threads.virtual.enabled}. The virtual thread API is reached
+ * reflectively so the application still builds and runs on Java 17, where the switch falls
+ * back to platform threads.
+ */
+public final class WorkerThreads {
+    /** The system property that turns virtual threads on. */
+    public static final String VIRTUAL_THREADS_PROPERTY = "dogcenter.virtualThreads";
+
+    /** Creates virtual threads named after a prefix, or null if the runtime has none. */
+    private static final Method VIRTUAL_NAMED;
+    /** Turns a virtual thread builder into a thread factory, or null if the runtime has none. */
+    private static final Method VIRTUAL_FACTORY;
+    /** Creates an executor starting a new thread per task, or null if the runtime has none. */
+    private static final Method THREAD_PER_TASK;
+
+    static {
+        Method named = null;
+        Method factory = null;
+        Method perTask = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            named = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+            perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (ReflectiveOperationException e) {
+            // Java 20 or earlier: platform threads only
+        }
+        VIRTUAL_NAMED = named;
+        VIRTUAL_FACTORY = factory;
+        THREAD_PER_TASK = perTask;
+    }
+
+    /** Not instantiable; use the static factory methods. */
+    private WorkerThreads() {
+    }
+
+    /**
+     * Checks whether the runtime supports virtual threads.
+     *
+     * @return true on Java 21 or later
+     */
+    public static boolean isVirtualSupported() {
+        return THREAD_PER_TASK != null;
+    }
+
+    /**
+     * Checks whether background work runs on virtual threads.
+     *
+     * @return true if virtual threads are requested and supported
+     */
+    public static boolean isVirtualEnabled() {
+        return Boolean.getBoolean(VIRTUAL_THREADS_PROPERTY) && isVirtualSupported();
+    }
+
+    /**
+     * Creates an executor for blocking background work.
+     *
+     * With virtual threads, each task gets its own virtual thread, so tasks waiting on disk or
+     * network do not hold a platform thread. Otherwise a fixed pool of daemon platform threads
+     * runs the tasks.
+     *
+     * @param name the prefix of the thread names
+     * @param platformThreads the number of platform threads used when virtual threads are off
+     * @return the executor
+     */
+    public static ExecutorService newExecutor(String name, int platformThreads) {
+        if (isVirtualEnabled()) {
+            try {
+                return newVirtualExecutor(name);
+            } catch (ReflectiveOperationException e) {
+                System.err.println("Virtual threads unavailable, using platform threads: " + e);
+            }
+        }
+        return newPlatformExecutor(name, platformThreads);
+    }
+
+    /**
+     * Creates a fixed pool of daemon platform threads, whatever the virtual thread switch says.
+     * Used where the number of threads is itself the limit on how much work runs at once.
+     *
+     * @param name the prefix of the thread names
+     * @param threads the number of threads
+     * @return the executor
+     */
+    public static ExecutorService newPlatformExecutor(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, threads == 1 ? name : name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates an executor running each task on a new virtual thread.
+     *
+     * @param name the prefix of the thread names
+     * @return the executor
+     * @throws ReflectiveOperationException if the virtual thread API cannot be called
+     */
+    private static ExecutorService newVirtualExecutor(String name) throws ReflectiveOperationException {
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = VIRTUAL_NAMED.invoke(builder, name + "-", 1L);
+        ThreadFactory factory = (ThreadFactory) VIRTUAL_FACTORY.invoke(builder);
+        return (ExecutorService) THREAD_PER_TASK.invoke(null, factory);
+    }
+}
@@ -1,46 +1,56 @@
 package view;
 import controller.ACController;
+import controller.SearchQuery;
 import model.*;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.FlowLayout;
+import java.awt.Graphics;
 import java.awt.GridLayout;
-import java.awt.Image;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.io.File;
-import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-import javax.swing.BorderFactory;
-import javax.swing.ImageIcon;
+import java.util.function.Supplier;
+import javax.swing.DefaultComboBoxModel;
 import javax.swing.JButton;
+import javax.swing.JComponent;
 import javax.swing.JComboBox;
 import javax.swing.JDialog;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
+import javax.swing.JList;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
-import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
-public class DogAdoptionGUI extends JFrame {
+public class DogAdoptionGUI extends JFrame implements StartupView {
     /**
-     * Controller for managing the adoption center model and operations.
+     * Controller for managing the adoption center model and operations, or null while the
+     * model is still loading.
      */
     private ACController controller;
+    /**
+     * Records how long the GUI takes to appear and to become usable.
+     */
+    private final StartupMetrics metrics;
     /**
      * Main panels of the GUI.
      * mainPanel: Contains all other panels of the GUI.
      * searchPanel: Contains search input fields and buttons.
      * resultsPanel: Displays search results.
-     * wishlistPanel: Contains the wishlist button.
+     * wishlistPanel: Contains the wishlist button and the search status line.
      */
     private JPanel mainPanel, searchPanel, resultsPanel, wishlistPanel;
     /**
@@ -66,13 +76,56 @@ public class DogAdoptionGUI extends JFrame {
      */
     private JButton searchButton, clearButton, showWishlistButton;
     /**
-     * Panel for displaying individual dog information in a grid layout.
+     * Grid of dog cards; only the visible cards are painted, by a shared renderer.
+     */
+    private JList<Dog> dogGrid;
+    /**
+     * The dogs shown in the grid.
      */
-    private JPanel dogGridPanel;
+    private final DogListModel dogListModel = new DogListModel();
     /**
      * Scroll pane to allow scrolling through search results.
      */
     private JScrollPane scrollPane;
+    /**
+     * Cache of scaled dog thumbnails, loaded off the event dispatch thread.
+     */
+    private final ThumbnailCache thumbnails = new ThumbnailCache();
+    /**
+     * Delay after the last search request before the search starts, in milliseconds.
+     */
+    private static final int SEARCH_DELAY_MILLIS = 150;
+    /**
+     * Starts the search once search requests stop arriving, so rapid repeats run only once.
+     */
+    private final Timer searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> startSearch());
+    /**
+     * The search running in the background, or null if none was started.
+     */
+    private SearchWorker currentSearch;
+    /**
+     * The query of the search running in the background, or null if none is running.
+     */
+    private SearchQuery runningQuery;
+    /**
+     * The query of the last completed search, or null if the results shown are not the
+     * complete results of a query.
+     */
+    private SearchQuery lastQuery;
+    /**
+     * The complete results of lastQuery, which a refining query filters instead of the
+     * whole inventory.
+     */
+    private List<Dog> lastResults;
+    /**
+     * Whether the current search has not delivered any dogs yet; the previous results stay
+     * on screen until it does.
+     */
+    private boolean awaitingFirstChunk;
+    /**
+     * Non-modal line showing the progress and outcome of the last search.
+     */
+    private JLabel statusLabel;
 
     /**
      * Constructs a new DogAdoptionGUI with the given controller.
@@ -81,7 +134,18 @@ public class DogAdoptionGUI extends JFrame {
      * @param controller The ACController to be used for managing dog adoption data.
      */
     public DogAdoptionGUI(ACController controller) {
-        this.controller = controller;
+        this(new StartupMetrics());
+        attach(controller);
+    }
+
+    /**
+     * Constructs and shows a new DogAdoptionGUI while the model is still loading.
+     * The search controls stay disabled until a controller is attached.
+     *
+     * @param metrics Records how long the GUI takes to appear and to become usable.
+     */
+    public DogAdoptionGUI(StartupMetrics metrics) {
+        this.metrics = metrics;
         setTitle("Dog Adoption Program");
         setSize(800, 600);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -96,10 +160,59 @@ public class DogAdoptionGUI extends JFrame {
         mainPanel.add(wishlistPanel, BorderLayout.SOUTH);
 
         add(mainPanel);
-        updateDogList(controller.getAdoptableDogs()); // Displays all adoptable dogs initially
+        setControlsEnabled(false);
+        showStatus("Loading dogs...", false);
         setVisible(true);
     }
 
+    /**
+     * Connects the GUI to a controller over a loaded model and enables the search controls.
+     *
+     * @param controller The ACController to be used for managing dog adoption data.
+     */
+    @Override
+    public void attach(ACController controller) {
+        this.controller = controller;
+        breedComboBox.setModel(new DefaultComboBoxModel<>(getBreedList()));
+        updateDogList(controller.getAdoptableDogs()); // Displays all adoptable dogs initially
+        setControlsEnabled(true);
+        showStatus(" ", false);
+        metrics.markInteractive();
+    }
+
+    /**
+     * Shows in the status line that the dogs could not be loaded.
+     *
+     * @param message What went wrong.
+     */
+    @Override
+    public void showLoadFailure(String message) {
+        showStatus("Could not load the dogs: " + message, true);
+    }
+
+    /**
+     * Paints the frame, recording the first paint in the startup metrics.
+     *
+     * @param g The graphics context to paint with.
+     */
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        metrics.markFirstPaint();
+    }
+
+    /**
+     * Enables or disables the controls that need a controller.
+     *
+     * @param enabled Whether the controls are enabled.
+     */
+    private void setControlsEnabled(boolean enabled) {
+        for (JComponent control : new JComponent[]{nameField, sexComboBox, breedComboBox,
+                sortComboBox, searchButton, clearButton, showWishlistButton}) {
+            control.setEnabled(enabled);
+        }
+    }
+
     /**
      * Creates and initializes the search panel with input fields and buttons.
      */
@@ -110,7 +223,7 @@ public class DogAdoptionGUI extends JFrame {
         weightField = new JTextField(5);
         priceField = new JTextField(10);
         sexComboBox = new JComboBox<>(new String[]{"Any", "Male", "Female"});
-        breedComboBox = new JComboBox<>(getBreedList());
+        breedComboBox = new JComboBox<>(new String[]{"Any"}); // filled in once the dogs are loaded
         sortComboBox = new JComboBox<>(new String[]{"Name", "Age", "Weight", "Price"}); // Added sorting options
         searchButton = new JButton("Search");
         clearButton = new JButton("Clear");
@@ -127,8 +240,28 @@ public class DogAdoptionGUI extends JFrame {
         searchPanel.add(searchButton);
         searchPanel.add(clearButton);
 
-        searchButton.addActionListener(e -> performSearch()); // Trigger search when the button is clicked
+        searchButton.addActionListener(e -> scheduleSearch()); // Trigger search when the button is clicked
         clearButton.addActionListener(e -> clearSearch()); // Trigger clear search when the button is clicked
+
+        // Search as the user types or picks a sex or breed
+        nameField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                scheduleSearch();
+            }
+        });
+        sexComboBox.addActionListener(e -> scheduleSearch());
+        breedComboBox.addActionListener(e -> scheduleSearch());
     }
 
     /**
@@ -136,8 +269,8 @@ public class DogAdoptionGUI extends JFrame {
      */
     private void createResultsPanel() {
         resultsPanel = new JPanel(new BorderLayout());
-        dogGridPanel = new JPanel(new GridLayout(0, 3, 10, 10)); // 3 columns, dynamic rows
-        scrollPane = new JScrollPane(dogGridPanel);
+        dogGrid = createDogGrid(dogListModel, JList.HORIZONTAL_WRAP); // as many columns as fit
+        scrollPane = new JScrollPane(dogGrid);
         resultsPanel.add(scrollPane, BorderLayout.CENTER);
     }
 
@@ -149,6 +282,8 @@ public class DogAdoptionGUI extends JFrame {
         showWishlistButton = new JButton("Show Wishlist");
         showWishlistButton.addActionListener(e -> showWishlist()); // Trigger show wishlist when the button is clicked
         wishlistPanel.add(showWishlistButton);
+        statusLabel = new JLabel(" ");
+        wishlistPanel.add(statusLabel);
     }
 
     /**
@@ -157,10 +292,15 @@ public class DogAdoptionGUI extends JFrame {
      * @return An array of Strings containing all unique dog breeds, including "Any" as the first option.
      */
     private String[] getBreedList() {
+        BitSet ordinals = new BitSet();
+        for (Dog dog : controller.getAdoptableDogs()) {
+            ordinals.set(dog.getBreedOrdinal());
+        }
         Set<String> breeds = new HashSet<>();
         breeds.add("Any");
-        for (Dog dog : controller.getAdoptableDogs()) {
-            breeds.add(dog.getBreed().name());
+        BreedRegistry registry = BreedRegistry.global();
+        for (int ordinal = ordinals.nextSetBit(0); ordinal >= 0; ordinal = ordinals.nextSetBit(ordinal + 1)) {
+            breeds.add(registry.get(ordinal).name());
         }
         String[] breedArray = breeds.toArray(new String[0]);
         Arrays.sort(breedArray);
@@ -168,58 +308,109 @@ public class DogAdoptionGUI extends JFrame {
     }
 
     /**
-     * Performs a search based on the user's input criteria and updates the display with the results.
+     * Requests a search with the current criteria. The search starts once no further request
+     * has arrived for {@value #SEARCH_DELAY_MILLIS} ms.
      */
-    private void performSearch() {
-        List<Dog> allDogs = controller.getAdoptableDogs(); // Get all adoptable dogs
-        ACFilterPlanner planner = new ACFilterPlanner(allDogs); // Initialize the filter planner
-        boolean nameOn = !nameField.getText().isEmpty();
-        boolean ageOn = !ageField.getText().isEmpty();
+    private void scheduleSearch() {
+        searchTimer.setRepeats(false);
+        searchTimer.restart();
+    }
+
+    /**
+     * Starts a background search based on the user's input criteria, cancelling any search
+     * still running. Matching dogs replace the displayed results as they arrive.
+     * When the query refines the last completed one, such as a longer name or an added
+     * filter, only the last results are searched.
+     */
+    private void startSearch() {
+        cancelSearch();
+        SearchQuery query = readQuery();
+        Supplier<List<Dog>> source;
+        if (lastQuery != null && query.refines(lastQuery)) {
+            List<Dog> previous = lastResults;
+            source = () -> previous;
+        } else {
+            source = controller::getAdoptableDogs;
+        }
+        awaitingFirstChunk = true;
+        runningQuery = query;
+        showStatus("Searching...", false);
+        SearchWorker worker = new SearchWorker(source, query,
+                this::showChunk, this::showSearchDone, message -> showStatus(message, true));
+        currentSearch = worker;
+        worker.execute();
+    }
+
+    /**
+     * Reads the search criteria from the input fields.
+     *
+     * @return The query for the entered criteria.
+     */
+    private SearchQuery readQuery() {
         boolean sexOn = sexComboBox.getSelectedIndex() > 0;
         boolean breedOn = breedComboBox.getSelectedIndex() > 0 && !breedComboBox.getSelectedItem().equals("Any");
-        boolean weightOn = !weightField.getText().isEmpty();
-        boolean priceOn = !priceField.getText().isEmpty();
-
-        String nameFilter = nameField.getText();
-        String ageFilter = ageField.getText();
         String sexFilter = sexOn ? sexComboBox.getSelectedItem().toString().substring(0, 1).toLowerCase() : null;
         String breedFilter = breedOn ? breedComboBox.getSelectedItem().toString() : null; // Only apply breed filter if not "Any"
-        String weightFilter = weightField.getText();
-        String priceFilter = priceField.getText();
-
         String sortOn = sortComboBox.getSelectedItem().toString().toLowerCase();
         boolean ascending = true; // Sorting is always ascending in this implementation
+        return new SearchQuery(nameField.getText(), sexFilter, breedFilter, ageField.getText(),
+                weightField.getText(), priceField.getText(), sortOn, ascending);
+    }
 
-        try {
-            Stream<Dog> filteredDogs = planner.filter(
-                    nameOn, nameFilter,
-                    sexOn, sexFilter,
-                    breedOn, breedFilter,
-                    ageOn, ageFilter,
-                    weightOn, weightFilter,
-                    priceOn, priceFilter,
-                    sortOn, ascending
-            );
-
-            List<Dog> resultList = filteredDogs.collect(Collectors.toList());
-
-            updateDogList(resultList); // Update the UI with the filtered list
-
-            if (resultList.isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                        "No dogs match the search criteria.", "Search Results",
-                        JOptionPane.INFORMATION_MESSAGE);
-            } else {
-                JOptionPane.showMessageDialog(this,
-                        resultList.size() + " dogs found matching the search criteria.",
-                        "Search Results", JOptionPane.INFORMATION_MESSAGE);
-            }
+    /**
+     * Cancels the pending and running searches, if any.
+     */
+    private void cancelSearch() {
+        searchTimer.stop();
+        if (currentSearch != null) {
+            currentSearch.cancel(true);
+            currentSearch = null;
+            runningQuery = null;
+        }
+    }
 
+    /**
+     * Shows a chunk of search results. The first chunk replaces the previous results.
+     *
+     * @param chunk The next matching dogs, in order.
+     */
+    private void showChunk(List<Dog> chunk) {
+        if (awaitingFirstChunk) {
+            awaitingFirstChunk = false;
+            updateDogList(new ArrayList<>(chunk));
+        } else {
+            dogListModel.addDogs(chunk);
+        }
+        showStatus("Searching... " + dogListModel.getSize() + " dogs so far", false);
+    }
 
-        } catch (IllegalArgumentException e) {
-            JOptionPane.showMessageDialog(this, e.getMessage(),
-                    "Invalid Input", JOptionPane.ERROR_MESSAGE);
+    /**
+     * Shows the outcome of a completed search.
+     *
+     * @param count The number of matching dogs.
+     */
+    private void showSearchDone(int count) {
+        if (count == 0) {
+            updateDogList(List.of());
+            showStatus("No dogs match the search criteria.", false);
+        } else {
+            showStatus(count + " dogs found matching the search criteria.", false);
         }
+        lastQuery = runningQuery;
+        lastResults = dogListModel.getDogs();
+        runningQuery = null;
+        currentSearch = null;
+    }
+
+    /**
+     * Shows a message in the status line.
+     *
+     * @param message The message to show.
+     * @param error Whether the message reports an error.
+     */
+    private void showStatus(String message, boolean error) {
+        statusLabel.setForeground(error ? Color.RED : Color.BLACK);
+        statusLabel.setText(message);
     }
 
     /**
@@ -233,6 +424,10 @@ public class DogAdoptionGUI extends JFrame {
         weightField.setText("");
         priceField.setText("");
         sortComboBox.setSelectedIndex(0); // Reset sorting to default
+        cancelSearch();
+        lastQuery = null; // the full inventory shown below is not the result of a query
+        lastResults = null;
+        showStatus(" ", false);
         controller.clearSearchFilters(); // Clear filters in the controller
         updateDogList(controller.getAdoptableDogs()); // Display all dogs again
     }
@@ -243,61 +438,49 @@ public class DogAdoptionGUI extends JFrame {
      * @param dogs The list of Dog objects to be displayed.
      */
     private void updateDogList(List<Dog> dogs) {
-        dogGridPanel.removeAll(); // Clear the current display
-        for (Dog dog : dogs) {
-            JPanel dogPanel = createDogPanel(dog); // Create a panel for each dog
-            dogGridPanel.add(dogPanel); // Add the dog panel to the grid
-        }
-        dogGridPanel.revalidate(); // Refresh the grid
-        dogGridPanel.repaint();
+        dogListModel.setDogs(dogs); // the grid only lays out and paints the visible cards
+        dogGrid.ensureIndexIsVisible(0);
     }
 
     /**
-     * Creates and returns a JPanel representing a single dog's information.
+     * Creates a list that shows dogs as fixed-size cards with a wishlist button.
+     * Fixing the cell size lets the list lay out any number of dogs without measuring them.
      *
-     * @param dog The Dog object to be represented in the panel.
-     * @return A JPanel containing the dog's image and information.
-     */
-    private JPanel createDogPanel(Dog dog) {
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.setBorder(BorderFactory.createLineBorder(Color.BLACK));
-
-        // Load and display the image
-        ImageIcon imageIcon = new ImageIcon(dog.getImage());
-        Image image = imageIcon.getImage().getScaledInstance
-                (100, 100, Image.SCALE_SMOOTH);
-        JLabel imageLabel = new JLabel(new ImageIcon(image));
-        panel.add(imageLabel, BorderLayout.CENTER);
-
-        // Dog information
-        JLabel infoLabel = new JLabel("<html>" + dog.getName() + "<br>" +
-                (dog.getSex().equals("m") ? "Male" : "Female") + "<br>" +
-                dog.getBreed().name() + "<br>" + dog.getWeight() + " pounds<br>" +
-                dog.getAge() + " years<br>$" + dog.getPrice() + "</html>");
-        panel.add(infoLabel, BorderLayout.SOUTH);
-
-        // Add/Remove from wishlist button
-        JButton wishlistButton = new JButton(controller.getWishList().contains(dog)
-                ? "Remove from Wishlist" : "Add to Wishlist");
-        wishlistButton.addActionListener(e -> toggleWishlist(dog, wishlistButton));
-        panel.add(wishlistButton, BorderLayout.NORTH);
-
-        return panel;
+     * @param listModel The dogs to show.
+     * @param orientation The layout orientation of the list, such as JList.HORIZONTAL_WRAP.
+     * @return The list of dog cards.
+     */
+    private JList<Dog> createDogGrid(DogListModel listModel, int orientation) {
+        JList<Dog> list = new JList<>(listModel);
+        DogCellRenderer renderer = new DogCellRenderer(id -> controller.isInWishList(id), thumbnails);
+        list.setCellRenderer(renderer);
+        list.setLayoutOrientation(orientation);
+        list.setVisibleRowCount(-1);
+        list.setFixedCellWidth(DogCellRenderer.CELL_WIDTH);
+        list.setFixedCellHeight(DogCellRenderer.CELL_HEIGHT);
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int index = renderer.wishlistButtonIndexAt(list, e.getPoint());
+                if (index >= 0) {
+                    toggleWishlist(listModel.getElementAt(index));
+                    list.repaint(list.getCellBounds(index, index));
+                }
+            }
+        });
+        return list;
     }
 
     /**
-     * Toggles the wishlist status of a dog and updates the button text accordingly.
+     * Toggles the wishlist status of a dog. The card shows the new status when it is repainted.
      *
      * @param dog The Dog object to be added to or removed from the wishlist.
-     * @param button The JButton that triggered the action.
      */
-    private void toggleWishlist(Dog dog, JButton button) {
-        if (controller.getWishList().contains(dog)) {
+    private void toggleWishlist(Dog dog) {
+        if (controller.isInWishList(dog.getID())) {
             controller.removeFromWishList(dog.getID());
-            button.setText("Add to Wishlist");
         } else {
             controller.addToWishList(dog);
-            button.setText("Remove from Wishlist");
         }
     }
 
@@ -309,12 +492,9 @@ public class DogAdoptionGUI extends JFrame {
         JDialog wishlistDialog = new JDialog(this, "Wishlist", true);
         wishlistDialog.setSize(400, 300);
         JPanel wishlistPanel = new JPanel(new BorderLayout());
-        JPanel dogsPanel = new JPanel(new GridLayout(0, 1));
-        for (Dog dog : wishlist) {
-            JPanel dogPanel = createDogPanel(dog); // Create a panel for each dog in the wishlist
-            dogsPanel.add(dogPanel);
-        }
-        JScrollPane scrollPane = new JScrollPane(dogsPanel);
+        DogListModel wishlistModel = new DogListModel();
+        wishlistModel.setDogs(wishlist);
+        JScrollPane scrollPane = new JScrollPane(createDogGrid(wishlistModel, JList.VERTICAL));
         wishlistPanel.add(scrollPane, BorderLayout.CENTER);
 
         JButton saveButton = new JButton("Save Wishlist");
@@ -347,138 +527,11 @@ public class DogAdoptionGUI extends JFrame {
 
     /**
      * The main method to start the Dog Adoption Program.
-     * Initializes the model, controller, and GUI.
+     * Shows the GUI at once and loads the model and controller in the background.
      *
      * @param args Command line arguments (not used).
      */
     public static void main(String[] args) {
-        AdoptionCenterModel model = new AdoptionCenterModel();
-        ACController controller = new ACController(model);
-        ApiUtil util = new ApiUtil();
-        Map<String, Breed> breeds;
-        try {
-            breeds = util.parseBreeds(util.getBreeds());
-            Dog dog1 = new Dog("1", "Alexander", "M",
-                    breeds.get("Caucasian Shepherd Dog"), 24, 12.0, "1.png");
-            Dog dog2 = new Dog("2", "Bella", "F",
-                    breeds.get("Bouvier des Flandres"), 3, 65.0, "2.png",
-                    1200.00, true);
-            Dog dog3 = new Dog("3", "Charlie",
-                    "M", breeds.get("Hanoverian Scenthound"), 5,
-                    70.0, "3.png", 1500.00, true);
-            Dog dog4 = new Dog("4", "Daisy", "F",
-                    breeds.get("Tibetan Spaniel"), 4, 60.0,
-                    "4.png", 1300.00, true);
-            Dog dog5 = new Dog("5", "Ella", "F",
-                    breeds.get("Border Collie"), 2, 25.0,
-                    "5.png", 800.00, true);
-            Dog dog6 = new Dog("6", "Finn", "M",
-                    breeds.get("Curly-Coated Retriever"), 6, 50.0,
-                    "6.png", 900.00, true);
-            Dog dog7 = new Dog("7", "Ginger", "F",
-                    breeds.get("Skye Terrier"), 7, 55.0,
-                    "7.png", 1100.00, true);
-            Dog dog8 = new Dog("8", "Hunter", "M",
-                    breeds.get("Hokkaido"), 3, 85.0,
-                    "8.png", 1700.00, true);
-            Dog dog9 = new Dog("9", "Ivy", "F",
-                    breeds.get("Hokkaido"), 4, 45.0,
-                    "9.png", 1400.00, true);
-            Dog dog10 = new Dog("10", "Jack", "M",
-                    breeds.get("Japanese Terrier"), 5, 75.0,
-                    "10.png", 1600.00, true);
-            Dog dog11 = new Dog("11", "Kira", "F",
-                    breeds.get("Caucasian Shepherd Dog"), 6, 65.0,
-                    "11.png", 1200.00, true);
-            Dog dog12 = new Dog("12", "Leo", "M",
-                    breeds.get("Bouvier des Flandres"), 2, 20.0,
-                    "12.png", 700.00, true);
-            Dog dog13 = new Dog("13", "Molly", "F",
-                    breeds.get("Hanoverian Scenthound"), 7, 15.0,
-                    "13.png", 900.00, true);
-            Dog dog14 = new Dog("14", "Nala", "F",
-                    breeds.get("Tibetan Spaniel"), 5, 140.0,
-                    "14.png", 0, false);
-            Dog dog15 = new Dog("15", "Oscar", "M",
-                    breeds.get("Border Collie"), 3, 8.0,
-                    "15.png", 600.00, true);
-            Dog dog16 = new Dog("16", "Penny", "F",
-                    breeds.get("Curly-Coated Retriever"), 4, 5.0,
-                    "16.png", 800.00, true);
-            Dog dog17 = new Dog("17", "Quinn", "F",
-                    breeds.get("Skye Terrier"), 6, 12.0,
-                    "17.png", 1000.00, true);
-            Dog dog18 = new Dog("18", "Rocky", "M",
-                    breeds.get("Tibetan Spaniel"), 5, 60.0,
-                    "18.png", 1300.00, true);
-            Dog dog19 = new Dog("19", "Sophie", "F",
-                    breeds.get("Hokkaido"), 7, 7.0,
-                    "19.png", 850.00, true);
-            Dog dog20 = new Dog("20", "Toby", "M",
-                    breeds.get("Japanese Terrier"), 2, 30.0,
-                    "20.png", 1100.00, true);
-            Dog dog21 = new Dog("21", "Ursula", "F",
-                    breeds.get("Caucasian Shepherd Dog"), 3, 70.0,
-                    "21.png", 1500.00, true);
-            Dog dog22 = new Dog("22", "Victor", "M",
-                    breeds.get("Bouvier des Flandres"), 6, 80.0,
-                    "22.png", 1700.00, true);
-            Dog dog23 = new Dog("23", "Wendy", "F",
-                    breeds.get("Hanoverian Scenthound"), 4, 65.0, "23.png");
-            Dog dog24 = new Dog("24", "Xander", "M",
-                    breeds.get("Tibetan Spaniel"), 5, 50.0,
-                    "24.png", 1600.00, true);
-            Dog dog25 = new Dog("25", "Yara", "F",
-                    breeds.get("Border Collie"), 6, 20.0,
-                    "25.png", 1000.00, true);
-            Dog dog26 = new Dog("26", "Zane", "M",
-                    breeds.get("Curly-Coated Retriever"), 3, 55.0,
-                    "26.png", 1300.00, true);
-            Dog dog27 = new Dog("27", "Amber", "F",
-                    breeds.get("Skye Terrier"), 4, 60.0,
-                    "27.png", 1500.00, true);
-            Dog dog28 = new Dog("28", "Ben", "M",
-                    breeds.get("Caucasian Shepherd Dog"), 2, 90.0,
-                    "28.png", 1800.00, true);
-            Dog dog29 = new Dog("29", "Cleo", "F",
-                    breeds.get("Hokkaido"), 5, 50.0,
-                    "29.png", 1200.00, true);
-            Dog dog30 = new Dog("30", "Duke", "M",
-                    breeds.get("Japanese Terrier"), 6, 40.0,
-                    "30.png", 1300.00, true);
-            model.addDog(dog1);
-            model.addDog(dog2);
-            model.addDog(dog3);
-            model.addDog(dog4);
-            model.addDog(dog5);
-            model.addDog(dog6);
-            model.addDog(dog7);
-            model.addDog(dog8);
-            model.addDog(dog9);
-            model.addDog(dog10);
-            model.addDog(dog11);
-            model.addDog(dog12);
-            model.addDog(dog13);
-            model.addDog(dog14);
-            model.addDog(dog15);
-            model.addDog(dog16);
-            model.addDog(dog17);
-            model.addDog(dog18);
-            model.addDog(dog19);
-            model.addDog(dog20);
-            model.addDog(dog21);
-            model.addDog(dog22);
-            model.addDog(dog23);
-            model.addDog(dog24);
-            model.addDog(dog25);
-            model.addDog(dog26);
-            model.addDog(dog27);
-            model.addDog(dog28);
-            model.addDog(dog29);
-            model.addDog(dog30);
-        } catch (IOException | InterruptedException e) {
-            e.printStackTrace();
-        }
-        SwingUtilities.invokeLater(() -> new DogAdoptionGUI(controller));
+        new StartupOrchestrator(new StartupMetrics()).start();
     }
 }
@@ -0,0 +1,103 @@
+package view;
+import model.Dog;
+
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.function.Predicate;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JPanel;
+import javax.swing.ListCellRenderer;
+
+/**
+ * Renders a dog as a card with its wishlist button, thumbnail and details.
+ *
+ * One set of components is reused to paint every visible cell, and thumbnails are requested
+ * only for the cells being painted. The wishlist button is only drawn; clicks on it are
+ * detected with {@link #wishlistButtonIndexAt}.
+ */
+public class DogCellRenderer extends JPanel implements ListCellRenderer<Dog> {
+    /** The serialization version of the renderer. */
+    private static final long serialVersionUID = 1L;
+    /** The width of a card in pixels. */
+    public static final int CELL_WIDTH = 220;
+    /** The height of a card in pixels. */
+    public static final int CELL_HEIGHT = 250;
+
+    /** Tells whether the dog with a given id is in the wishlist. */
+    private final Predicate<String> inWishList;
+    /** The cache providing thumbnails. */
+    private final ThumbnailCache thumbnails;
+    /** The wishlist button drawn at the top of the card. */
+    private final JButton wishlistButton = new JButton("Add to Wishlist");
+    /** The label showing the thumbnail. */
+    private final JLabel imageLabel = new JLabel();
+    /** The label showing the dog's details. */
+    private final JLabel infoLabel = new JLabel();
+
+    /**
+     * Constructs a new DogCellRenderer.
+     *
+     * @param inWishList tells whether the dog with a given id is in the wishlist
+     * @param thumbnails the cache providing thumbnails
+     */
+    public DogCellRenderer(Predicate<String> inWishList, ThumbnailCache thumbnails) {
+        super(new BorderLayout());
+        this.inWishList = inWishList;
+        this.thumbnails = thumbnails;
+        setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        add(wishlistButton, BorderLayout.NORTH);
+        add(imageLabel, BorderLayout.CENTER);
+        add(infoLabel, BorderLayout.SOUTH);
+    }
+
+    /**
+     * Configures the card for the given dog.
+     *
+     * @param list the list being painted
+     * @param dog the dog to render
+     * @param index the row of the dog
+     * @param isSelected whether the row is selected
+     * @param cellHasFocus whether the row has focus
+     * @return this renderer, configured for the dog
+     */
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Dog> list, Dog dog, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        wishlistButton.setText(inWishList.test(dog.getID())
+                ? "Remove from Wishlist" : "Add to Wishlist");
+        // repaint the list once the thumbnail has loaded; the next paint finds it cached
+        imageLabel.setIcon(thumbnails.getIcon(dog.getImage(), icon -> list.repaint()));
+        infoLabel.setText("<html>" + dog.getName() + "<br>" +
+                (dog.getSex().equals("m") ? "Male" : "Female") + "<br>" +
+                dog.getBreed().name() + "<br>" + dog.getWeight() + " pounds<br>" +
+                dog.getAge() + " years<br>$" + dog.getPrice() + "</html>");
+        setBackground(isSelected ? list.getSelectionBackground() : list.getBackground());
+        return this;
+    }
+
+    /**
+     * Returns the row of the card whose wishlist button is at a point in the list.
+     *
+     * @param list the list
+     * @param point the point, in list coordinates
+     * @return the row of the card whose button was hit, or -1 if the point is not on a button
+     */
+    public int wishlistButtonIndexAt(JList<Dog> list, Point point) {
+        int index = list.locationToIndex(point);
+        if (index < 0) {
+            return -1;
+        }
+        Rectangle bounds = list.getCellBounds(index, index);
+        if (bounds == null || !bounds.contains(point)) {
+            return -1;
+        }
+        int buttonHeight = wishlistButton.getPreferredSize().height + getInsets().top;
+        return point.y - bounds.y <= buttonHeight ? index : -1;
+    }
+}
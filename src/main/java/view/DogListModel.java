@@ -0,0 +1,88 @@
+package view;
+import model.Dog;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.AbstractListModel;
+
+/**
+ * A list model over a list of dogs, used by the results grid.
+ *
+ * The model only wraps the list it is given, so showing a result of any size creates no
+ * per-dog objects; the list only asks for the rows it actually paints. The given list is never
+ * modified: the first append copies it into a list of the model's own.
+ */
+public class DogListModel extends AbstractListModel<Dog> {
+    /** The serialization version of the model. */
+    private static final long serialVersionUID = 1L;
+    /** The dogs shown by the list. */
+    private List<Dog> dogs = List.of();
+    /** Whether dogs is the model's own copy, which appends may modify. */
+    private boolean owned;
+
+    /**
+     * Replaces the dogs shown by the list.
+     *
+     * @param dogs the dogs to show
+     */
+    public void setDogs(List<Dog> dogs) {
+        int oldSize = this.dogs.size();
+        this.owned = false;
+        if (oldSize > 0) {
+            this.dogs = List.of(); // listeners see the list empty after the removal
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        this.dogs = dogs;
+        if (!dogs.isEmpty()) {
+            fireIntervalAdded(this, 0, dogs.size() - 1);
+        }
+    }
+
+    /**
+     * Appends dogs to the end of the list.
+     *
+     * @param more the dogs to append
+     */
+    public void addDogs(List<Dog> more) {
+        if (more.isEmpty()) {
+            return;
+        }
+        if (!owned) {
+            this.dogs = new ArrayList<>(this.dogs); // never append to the caller's list
+            owned = true;
+        }
+        int start = this.dogs.size();
+        this.dogs.addAll(more);
+        fireIntervalAdded(this, start, this.dogs.size() - 1);
+    }
+
+    /**
+     * Returns the dogs shown by the list.
+     *
+     * @return the dogs
+     */
+    public List<Dog> getDogs() {
+        return this.dogs;
+    }
+
+    /**
+     * Returns the number of dogs in the list.
+     *
+     * @return the number of dogs
+     */
+    @Override
+    public int getSize() {
+        return this.dogs.size();
+    }
+
+    /**
+     * Returns the dog at the given row.
+     *
+     * @param index the row
+     * @return the dog
+     */
+    @Override
+    public Dog getElementAt(int index) {
+        return this.dogs.get(index);
+    }
+}
@@ -0,0 +1,119 @@
+package view;
+import controller.SearchQuery;
+import model.ACFilterPlanner;
+import model.Dog;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+
+/**
+ * Runs a {@link SearchQuery} off the event dispatch thread and hands the matching dogs
+ * back in chunks, so the first results show before the whole result has been collected.
+ *
+ * Chunks are queued on the event dispatch thread directly rather than through
+ * {@link #publish}, whose coalescing timer can deliver the last chunk after {@link #done()};
+ * this way every chunk arrives before the final count. A worker stops at the next dog once it
+ * is cancelled, and a cancelled worker never delivers chunks or its final count.
+ */
+public class SearchWorker extends SwingWorker<Integer, Void> {
+    /** The number of dogs collected before a chunk is published. */
+    public static final int CHUNK_SIZE = 500;
+
+    /** Supplies the dogs to search, on the worker thread. */
+    private final Supplier<List<Dog>> source;
+    /** The query to run. */
+    private final SearchQuery query;
+    /** Receives each published chunk on the event dispatch thread. */
+    private final Consumer<List<Dog>> onChunk;
+    /** Receives the number of matching dogs on the event dispatch thread. */
+    private final Consumer<Integer> onDone;
+    /** Receives the error message of an invalid query on the event dispatch thread. */
+    private final Consumer<String> onError;
+
+    /**
+     * Constructs a new SearchWorker.
+     *
+     * @param source supplies the dogs to search; it is called on the worker thread
+     * @param query the query to run
+     * @param onChunk receives each chunk of matching dogs, in order
+     * @param onDone receives the number of matching dogs once the search completes
+     * @param onError receives the message of an invalid query
+     */
+    public SearchWorker(Supplier<List<Dog>> source, SearchQuery query, Consumer<List<Dog>> onChunk,
+                        Consumer<Integer> onDone, Consumer<String> onError) {
+        this.source = source;
+        this.query = query;
+        this.onChunk = onChunk;
+        this.onDone = onDone;
+        this.onError = onError;
+    }
+
+    /**
+     * Runs the query and delivers the matching dogs in chunks of {@value #CHUNK_SIZE}.
+     *
+     * @return the number of matching dogs, or -1 if the search was cancelled
+     */
+    @Override
+    protected Integer doInBackground() {
+        Iterator<Dog> matches = query.run(new ACFilterPlanner(source.get())).iterator();
+        List<Dog> chunk = new ArrayList<>(CHUNK_SIZE);
+        int count = 0;
+        while (matches.hasNext()) {
+            if (isCancelled()) {
+                return -1;
+            }
+            chunk.add(matches.next());
+            count++;
+            if (chunk.size() == CHUNK_SIZE) {
+                deliver(chunk);
+                chunk = new ArrayList<>(CHUNK_SIZE);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            deliver(chunk);
+        }
+        return count;
+    }
+
+    /**
+     * Queues a chunk for delivery on the event dispatch thread, where it is dropped if the
+     * search has been cancelled by then.
+     *
+     * @param chunk the next matching dogs
+     */
+    private void deliver(List<Dog> chunk) {
+        SwingUtilities.invokeLater(() -> {
+            if (!isCancelled()) {
+                onChunk.accept(chunk);
+            }
+        });
+    }
+
+    /**
+     * Delivers the result count, or the error of an invalid query, unless the search was cancelled.
+     */
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+        try {
+            onDone.accept(get());
+        } catch (CancellationException | InterruptedException e) {
+            // superseded by a newer search
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                onError.accept(e.getCause().getMessage());
+            } else {
+                onError.accept("Search failed: " + e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package view;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Records how long the GUI takes to show its first frame and to become usable, measured from
+ * the start of {@code main}.
+ *
+ * The GUI is interactive once its controls are enabled and the frame has been painted, in
+ * whichever order those happen, so it never becomes interactive before its first paint. Both
+ * times are logged once, as soon as they are known, and can be read through the getters,
+ * which answer -1 until the event happened.
+ */
+public class StartupMetrics {
+    /** Reports the startup times. */
+    private static final System.Logger LOG = System.getLogger(StartupMetrics.class.getName());
+
+    /** When startup began, from {@link System#nanoTime()}. */
+    private final long startNanos;
+    /** When the frame was first painted, or 0 if it was not painted yet. */
+    private volatile long firstPaintNanos;
+    /** When the controls were enabled, or 0 if they are not enabled yet. */
+    private volatile long readyNanos;
+    /** Whether the startup times were logged. */
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    /**
+     * Constructs a new StartupMetrics, starting the clock now.
+     */
+    public StartupMetrics() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Constructs a new StartupMetrics with a given start time.
+     *
+     * @param startNanos when startup began, from {@link System#nanoTime()}
+     */
+    public StartupMetrics(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Records the first paint of the frame. Later calls are ignored.
+     */
+    public void markFirstPaint() {
+        if (firstPaintNanos == 0) {
+            firstPaintNanos = System.nanoTime();
+            reportOnce();
+        }
+    }
+
+    /**
+     * Records that the controls of the GUI were enabled. Later calls are ignored.
+     */
+    public void markInteractive() {
+        if (readyNanos == 0) {
+            readyNanos = System.nanoTime();
+            reportOnce();
+        }
+    }
+
+    /**
+     * Returns the time from startup to the first paint of the frame.
+     *
+     * @return the time in milliseconds, or -1 if the frame was not painted yet
+     */
+    public long getTimeToFirstPaintMillis() {
+        return elapsedMillis(firstPaintNanos);
+    }
+
+    /**
+     * Returns the time from startup until the GUI became interactive.
+     *
+     * @return the time in milliseconds, or -1 if the GUI is not interactive yet
+     */
+    public long getTimeToInteractiveMillis() {
+        long painted = firstPaintNanos;
+        long ready = readyNanos;
+        return painted == 0 || ready == 0 ? -1 : elapsedMillis(Math.max(painted, ready));
+    }
+
+    /**
+     * Logs both startup times once the GUI is interactive. Only the first call that finds
+     * both times known logs them.
+     */
+    private void reportOnce() {
+        if (getTimeToInteractiveMillis() >= 0 && reported.compareAndSet(false, true)) {
+            LOG.log(System.Logger.Level.INFO, "Startup: first paint after {0} ms, interactive after {1} ms",
+                    getTimeToFirstPaintMillis(), getTimeToInteractiveMillis());
+        }
+    }
+
+    /**
+     * Returns the time from startup to an event.
+     *
+     * @param eventNanos when the event happened, or 0 if it did not happen yet
+     * @return the elapsed time in milliseconds, or -1 if the event did not happen yet
+     */
+    private long elapsedMillis(long eventNanos) {
+        return eventNanos == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(eventNanos - startNanos);
+    }
+}
@@ -0,0 +1,148 @@
+package view;
+import controller.ACController;
+import model.AdoptionCenterModel;
+import model.Breed;
+import model.BreedLoader;
+import model.Dog;
+import model.ImageCatalog;
+import model.SampleInventory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import javax.swing.SwingUtilities;
+
+/**
+ * Starts the GUI without making the window wait for its data.
+ *
+ * The frame is shown right away in a loading state. Meanwhile the breeds are loaded and the
+ * image directory is scanned in parallel, then the inventory is built; adding each dog queues
+ * the generation of its thumbnail. The controller is created only once the model holds all
+ * dogs, and is then attached to the frame, which makes it interactive. If the dogs cannot be
+ * loaded, the frame is attached to an empty model and shows what went wrong.
+ */
+public class StartupOrchestrator {
+    /** Records the startup times. */
+    private final StartupMetrics metrics;
+    /** Loads the breed catalogue. */
+    private final BreedLoader breedLoader;
+    /** The catalog of dog images. */
+    private final ImageCatalog images;
+    /** Creates the window shown while loading, on the event dispatch thread. */
+    private final Function<StartupMetrics, ? extends StartupView> views;
+
+    /**
+     * Constructs a new StartupOrchestrator using the default breed sources and image catalog.
+     *
+     * @param metrics records the startup times
+     */
+    public StartupOrchestrator(StartupMetrics metrics) {
+        this(metrics, new BreedLoader(), ImageCatalog.global());
+    }
+
+    /**
+     * Constructs a new StartupOrchestrator.
+     *
+     * @param metrics records the startup times
+     * @param breedLoader loads the breed catalogue
+     * @param images the catalog of dog images
+     */
+    public StartupOrchestrator(StartupMetrics metrics, BreedLoader breedLoader, ImageCatalog images) {
+        this(metrics, breedLoader, images, DogAdoptionGUI::new);
+    }
+
+    /**
+     * Constructs a new StartupOrchestrator that shows a window of its own kind.
+     *
+     * @param metrics records the startup times
+     * @param breedLoader loads the breed catalogue
+     * @param images the catalog of dog images
+     * @param views creates the window shown while loading, on the event dispatch thread
+     */
+    public StartupOrchestrator(StartupMetrics metrics, BreedLoader breedLoader, ImageCatalog images,
+                               Function<StartupMetrics, ? extends StartupView> views) {
+        this.metrics = metrics;
+        this.breedLoader = breedLoader;
+        this.images = images;
+        this.views = views;
+    }
+
+    /**
+     * Shows the frame and loads the model in the background.
+     *
+     * @return a future completing with the frame once it is interactive
+     */
+    public CompletableFuture<StartupView> start() {
+        CompletableFuture<StartupView> frame = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> frame.complete(views.apply(metrics)));
+
+        CompletableFuture<Map<String, Breed>> breeds = CompletableFuture.supplyAsync(this::loadBreeds);
+        // keeps image checks in memory
+        CompletableFuture<Void> imageScan = CompletableFuture.runAsync(images::startWatching);
+        CompletableFuture<ACController> controller = breeds
+                .thenCombine(imageScan, (loaded, scanned) -> loadInventory(loaded));
+
+        CompletableFuture<StartupView> interactive = new CompletableFuture<>();
+        controller.whenComplete((ready, error) -> frame.thenAccept(view -> SwingUtilities.invokeLater(() -> {
+            if (error == null) {
+                view.attach(ready);
+            } else {
+                error.printStackTrace();
+                view.attach(new ACController(new AdoptionCenterModel())); // start with no dogs
+                view.showLoadFailure(describe(error));
+            }
+            interactive.complete(view);
+        })));
+        return interactive;
+    }
+
+    /**
+     * Describes why loading failed, looking past the wrappers added on the way.
+     *
+     * @param error the error that ended loading
+     * @return the message of the underlying error, or its class name if it has none
+     */
+    private static String describe(Throwable error) {
+        Throwable cause = error;
+        while ((cause instanceof CompletionException || cause instanceof UncheckedIOException)
+                && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Loads the cached or bundled breeds and revalidates them in the background if needed.
+     *
+     * @return a Map with breed names as keys and Breed objects as values
+     * @throws UncheckedIOException if no breed catalogue can be read
+     */
+    private Map<String, Breed> loadBreeds() {
+        try {
+            Map<String, Breed> breeds = breedLoader.load(); // cached or bundled breeds, no network wait
+            if (breedLoader.needsRefresh()) {
+                breedLoader.refreshInBackground(); // revalidates the cache for the next start
+            }
+            return breeds;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds the model from the sample inventory and wires a controller to it.
+     *
+     * @param breeds the known breeds by name
+     * @return a controller over the loaded model
+     */
+    private ACController loadInventory(Map<String, Breed> breeds) {
+        AdoptionCenterModel model = new AdoptionCenterModel();
+        for (Dog dog : SampleInventory.create(breeds)) {
+            model.addDog(dog);
+        }
+        return new ACController(model); // built after the dogs are added, so its planner sees them
+    }
+}
@@ -0,0 +1,24 @@
+package view;
+import controller.ACController;
+
+/**
+ * The window a {@link StartupOrchestrator} shows while the model loads.
+ *
+ * The view is created on the event dispatch thread as soon as startup begins, and both
+ * methods are called on that thread once loading has finished.
+ */
+public interface StartupView {
+    /**
+     * Connects the view to a controller over the loaded model and makes it usable.
+     *
+     * @param controller the controller over the loaded model
+     */
+    void attach(ACController controller);
+
+    /**
+     * Tells the user that the dogs could not be loaded, so the view starts empty.
+     *
+     * @param message what went wrong
+     */
+    void showLoadFailure(String message);
+}
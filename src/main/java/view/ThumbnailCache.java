@@ -0,0 +1,205 @@
+package view;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import model.ThumbnailStore;
+import model.WorkerThreads;
+
+/**
+ * Loads scaled dog thumbnails off the event dispatch thread and keeps them in a memory-bounded
+ * LRU cache keyed by image path.
+ *
+ * A cache hit returns the thumbnail right away. A miss returns a placeholder and reads the
+ * pre-generated thumbnail from the {@link ThumbnailStore} on a worker pool; the callback then
+ * receives the real icon on the event dispatch thread. Concurrent requests for the same image
+ * share one load.
+ */
+public class ThumbnailCache {
+    /** The default memory budget for cached thumbnails, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+    /** The width and height of a thumbnail in pixels. */
+    private final int size;
+    /** The memory budget for cached thumbnails, in bytes. */
+    private final long maxBytes;
+    /** The cached thumbnails by image path, least recently used first. */
+    private final LinkedHashMap<String, BufferedImage> cache = new LinkedHashMap<>(64, 0.75f, true);
+    /** The memory currently used by cached thumbnails, in bytes. */
+    private long usedBytes;
+    /** The loads in progress by image path. */
+    private final Map<String, CompletableFuture<BufferedImage>> loading = new ConcurrentHashMap<>();
+    /** The worker pool that decodes and scales images. */
+    private final ExecutorService workers;
+    /** The icon shown while a thumbnail loads or when it cannot be loaded. */
+    private final Icon placeholder;
+
+    /**
+     * Constructs a new ThumbnailCache for 100x100 thumbnails with the default memory budget.
+     */
+    public ThumbnailCache() {
+        this(100, DEFAULT_MAX_BYTES, Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Constructs a new ThumbnailCache.
+     *
+     * @param size the width and height of a thumbnail in pixels
+     * @param maxBytes the memory budget for cached thumbnails, in bytes
+     * @param threads the number of worker threads, unless virtual threads are enabled
+     */
+    public ThumbnailCache(int size, long maxBytes, int threads) {
+        this.size = size;
+        this.maxBytes = maxBytes;
+        this.workers = WorkerThreads.newExecutor("thumbnail-loader", threads);
+        BufferedImage blank = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = blank.createGraphics();
+        g.setColor(Color.LIGHT_GRAY);
+        g.fillRect(0, 0, size, size);
+        g.dispose();
+        this.placeholder = new ImageIcon(blank);
+    }
+
+    /**
+     * Returns the thumbnail of an image if it is cached, or a placeholder otherwise.
+     *
+     * On a miss the thumbnail is loaded in the background and passed to onReady on the event
+     * dispatch thread. onReady is not called on a hit or if the image cannot be read.
+     *
+     * @param path the path of the image file
+     * @param onReady receives the thumbnail once it is loaded
+     * @return the cached thumbnail, or the placeholder
+     */
+    public Icon getIcon(String path, Consumer<Icon> onReady) {
+        BufferedImage cached = getCached(path);
+        if (cached != null) {
+            return new ImageIcon(cached);
+        }
+        load(path).thenAccept(image -> {
+            if (image != null) {
+                SwingUtilities.invokeLater(() -> onReady.accept(new ImageIcon(image)));
+            }
+        });
+        return placeholder;
+    }
+
+    /**
+     * Returns the thumbnail of an image, loading it in the background on a miss.
+     *
+     * @param path the path of the image file
+     * @return a future completing with the thumbnail, or with null if the image cannot be read
+     */
+    public CompletableFuture<BufferedImage> load(String path) {
+        BufferedImage cached = getCached(path);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<BufferedImage> future = loading.computeIfAbsent(path,
+                key -> CompletableFuture.supplyAsync(() -> {
+                    BufferedImage thumbnail = readThumbnail(key);
+                    if (thumbnail != null) {
+                        put(key, thumbnail);
+                    }
+                    return thumbnail;
+                }, workers));
+        future.whenComplete((image, error) -> loading.remove(path, future));
+        return future;
+    }
+
+    /**
+     * Returns the number of cached thumbnails.
+     *
+     * @return the number of thumbnails
+     */
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the memory used by cached thumbnails.
+     *
+     * @return the used memory in bytes
+     */
+    public synchronized long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Reads the pre-generated thumbnail of an image from the {@link ThumbnailStore}, scaling it
+     * only if the store's size differs. Falls back to decoding the original if no thumbnail can
+     * be generated.
+     *
+     * @param path the path of the image file
+     * @return the thumbnail, or null if the image cannot be read
+     */
+    protected BufferedImage readThumbnail(String path) {
+        try {
+            Path stored = ThumbnailStore.global().getThumbnail(path);
+            BufferedImage image = ImageIO.read(stored != null ? stored.toFile() : new File(path));
+            if (image == null) {
+                return null;
+            }
+            return image.getWidth() == size && image.getHeight() == size
+                    ? image : ThumbnailStore.scale(image, size, true);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a cached thumbnail and marks it as recently used.
+     *
+     * @param path the path of the image file
+     * @return the thumbnail, or null if it is not cached
+     */
+    private synchronized BufferedImage getCached(String path) {
+        return cache.get(path);
+    }
+
+    /**
+     * Caches a thumbnail and evicts the least recently used ones until the cache fits its budget.
+     *
+     * @param path the path of the image file
+     * @param thumbnail the thumbnail
+     */
+    private synchronized void put(String path, BufferedImage thumbnail) {
+        BufferedImage previous = cache.put(path, thumbnail);
+        if (previous != null) {
+            usedBytes -= bytes(previous);
+        }
+        usedBytes += bytes(thumbnail);
+        Iterator<Map.Entry<String, BufferedImage>> eldest = cache.entrySet().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, BufferedImage> entry = eldest.next();
+            if (entry.getValue() == thumbnail) {
+                continue; // always keep the thumbnail just loaded
+            }
+            usedBytes -= bytes(entry.getValue());
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Estimates the memory used by an image.
+     *
+     * @param image the image
+     * @return the size of its pixel data in bytes
+     */
+    private static long bytes(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
@@ -0,0 +1,264 @@
+package web;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many searches run at once, queueing a bounded number of others and shedding the rest.
+ *
+ * Searches come in two classes. Name scans compare the name of every dog and are expensive;
+ * all other searches are cheap. When a search finishes, its slot goes to the oldest waiting
+ * cheap search before any scan, and a cheap search arriving at a full queue takes the place of
+ * the newest waiting scan. A search that finds the queue full, or waits longer than the
+ * maximum wait, is shed with a 503 so the client can retry later instead of piling up.
+ */
+public class AdmissionControl {
+    /**
+     * A search waiting for a slot.
+     */
+    private static final class Waiter {
+        /** Signalled when the waiter is granted a slot or shed. */
+        private final Condition ready;
+        /** Whether a finished search handed its slot to this waiter. */
+        private boolean granted;
+        /** Whether a cheap search took this waiter's place in the queue. */
+        private boolean shed;
+
+        /**
+         * Constructs a new Waiter.
+         *
+         * @param ready the condition to wait on
+         */
+        private Waiter(Condition ready) {
+            this.ready = ready;
+        }
+    }
+
+    /** The number of searches that may run at once. */
+    private final int maxConcurrent;
+    /** The number of searches that may wait for a slot. */
+    private final int maxQueued;
+    /** The longest a search waits for a slot, in nanoseconds. */
+    private final long maxWaitNanos;
+    /** The Retry-After of shed searches, in seconds. */
+    private final long retryAfterSeconds;
+    /** Guards all state below. */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** The cheap searches waiting, oldest first. */
+    private final ArrayDeque<Waiter> cheap = new ArrayDeque<>();
+    /** The name scans waiting, oldest first. */
+    private final ArrayDeque<Waiter> scans = new ArrayDeque<>();
+    /** The number of searches running. */
+    private int active;
+    /** The number of searches admitted, directly or after waiting. */
+    private long admitted;
+    /** The number of searches that had to wait. */
+    private long queued;
+    /** The number of searches shed. */
+    private long shed;
+
+    /**
+     * Constructs a new AdmissionControl.
+     *
+     * @param maxConcurrent the number of searches that may run at once
+     * @param maxQueued the number of searches that may wait for a slot
+     * @param maxWait the longest a search waits for a slot
+     * @param retryAfterSeconds the Retry-After of shed searches, in seconds
+     * @throws IllegalArgumentException if the concurrency is not positive or the queue size is negative
+     */
+    public AdmissionControl(int maxConcurrent, int maxQueued, Duration maxWait, long retryAfterSeconds) {
+        if (maxConcurrent < 1 || maxQueued < 0) {
+            throw new IllegalArgumentException("Concurrency must be positive and queue size not negative.");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Waits for a slot to run a search. The returned permit must be closed when the search is done.
+     *
+     * @param scan whether the search is an expensive name scan
+     * @return the permit holding the slot
+     * @throws ThrottledException with status 503 if the search is shed
+     */
+    public Permit acquire(boolean scan) {
+        lock.lock();
+        try {
+            if (active < maxConcurrent && cheap.isEmpty() && scans.isEmpty()) {
+                active++;
+                admitted++;
+                return new Permit();
+            }
+            if (cheap.size() + scans.size() >= maxQueued) {
+                if (scan || scans.isEmpty()) {
+                    throw shed();
+                }
+                Waiter displaced = scans.pollLast(); // a cheap search goes ahead of the newest scan
+                displaced.shed = true;
+                displaced.ready.signal();
+            }
+            Waiter waiter = new Waiter(lock.newCondition());
+            ArrayDeque<Waiter> queue = scan ? scans : cheap;
+            queue.addLast(waiter);
+            queued++;
+            long nanos = maxWaitNanos;
+            boolean interrupted = false;
+            while (!waiter.granted && !waiter.shed && nanos > 0) {
+                try {
+                    nanos = waiter.ready.awaitNanos(nanos);
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    break;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (waiter.granted) {
+                admitted++;
+                return new Permit();
+            }
+            if (!waiter.shed) {
+                queue.remove(waiter); // timed out or interrupted
+            }
+            throw shed();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches running.
+     *
+     * @return the number of active searches
+     */
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches waiting for a slot.
+     *
+     * @return the current queue length
+     */
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return cheap.size() + scans.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches admitted, directly or after waiting.
+     *
+     * @return the number of admitted searches
+     */
+    public long getAdmittedCount() {
+        lock.lock();
+        try {
+            return admitted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches that had to wait for a slot.
+     *
+     * @return the number of queued searches
+     */
+    public long getQueuedCount() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of searches shed.
+     *
+     * @return the number of shed searches
+     */
+    public long getShedCount() {
+        lock.lock();
+        try {
+            return shed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a shed search and returns the exception telling its client to retry later.
+     * Called with the lock held.
+     *
+     * @return the exception to throw
+     */
+    private ThrottledException shed() {
+        shed++;
+        return new ThrottledException(503, "Server busy, try again later", retryAfterSeconds);
+    }
+
+    /**
+     * Gives a finished search's slot to the next waiting search, cheap ones first.
+     */
+    private void release() {
+        lock.lock();
+        try {
+            Waiter next = cheap.pollFirst();
+            if (next == null) {
+                next = scans.pollFirst();
+            }
+            if (next != null) {
+                next.granted = true; // the slot passes on, active stays the same
+                next.ready.signal();
+            } else {
+                active--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A slot held by a running search.
+     */
+    public final class Permit implements AutoCloseable {
+        /** Whether the slot was given back. */
+        private boolean released;
+
+        /**
+         * Constructs a new Permit.
+         */
+        private Permit() {
+        }
+
+        /**
+         * Gives the slot back. Does nothing if it was already given back.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release();
+        }
+    }
+}
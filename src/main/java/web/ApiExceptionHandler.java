@@ -0,0 +1,39 @@
+package web;
+
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Turns invalid input reported by the model and controllers into 400 responses, and throttled
+ * requests into 429 or 503 responses with a Retry-After header.
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    /**
+     * Answers an invalid parameter with 400 Bad Request and the reason.
+     *
+     * @param e the exception describing the invalid input
+     * @return a response with an "error" field
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+
+    /**
+     * Answers a throttled request with its status, the reason and when to retry.
+     *
+     * @param e the exception describing the throttling
+     * @return a response with an "error" field
+     */
+    @ExceptionHandler(ThrottledException.class)
+    public ResponseEntity<Map<String, String>> throttled(ThrottledException e) {
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                .body(Map.of("error", String.valueOf(e.getMessage())));
+    }
+}
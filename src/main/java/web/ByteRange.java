@@ -0,0 +1,71 @@
+package web;
+
+/**
+ * A single range of bytes of a file, as asked for by an HTTP Range header.
+ *
+ * Only single ranges are supported. A header asking for several ranges, or one that cannot be
+ * parsed, is ignored and the whole file is sent, as the HTTP specification allows.
+ *
+ * @param start the first byte of the range
+ * @param end the last byte of the range, inclusive
+ */
+public record ByteRange(long start, long end) {
+    /** The range of a header that no byte of the file satisfies. */
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    /**
+     * Parses a Range header against the length of a file.
+     *
+     * @param header the Range header, or null
+     * @param length the length of the file in bytes
+     * @return the range, {@link #UNSATISFIABLE}, or null to send the whole file
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) { // bytes=-n, the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, length - suffix), length - 1);
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start < 0 || (!last.isEmpty() && Long.parseLong(last) < start)) {
+                return null; // syntactically invalid, ignored
+            }
+            return start >= length ? UNSATISFIABLE : new ByteRange(start, end);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the number of bytes in the range.
+     *
+     * @return the length of the range
+     */
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Returns the value of the Content-Range header for this range.
+     *
+     * @param total the length of the file in bytes
+     * @return the header value
+     */
+    public String contentRange(long total) {
+        return start < 0 ? "bytes */" + total : "bytes " + start + "-" + end + "/" + total;
+    }
+}
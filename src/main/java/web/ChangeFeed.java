@@ -0,0 +1,424 @@
+package web;
+import model.DogChange;
+import model.IACModel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Fans changes to the adoption status of dogs out to any number of subscribers, such as
+ * server-sent event streams.
+ *
+ * The feed listens to the model and publishes dogs being added or removed, becoming ready or
+ * not ready for adoption, and changing price. Each change is serialized once and offered to a
+ * bounded buffer per subscriber. A small shared pool drains the buffers, with at most one task
+ * per subscriber that has pending events, so idle subscribers cost no thread at all. A
+ * subscriber whose buffer overflows is dropped after a final {@value #RESYNC} event, telling
+ * it to reload the dogs before subscribing again.
+ *
+ * Sends block while a subscriber is not reading, and each one holds a fan-out thread. A send
+ * still blocked after the write timeout is aborted: the subscriber is dropped and the sending
+ * thread interrupted, so a few stalled clients cannot hold every fan-out thread.
+ *
+ * Event ids are model versions. The most recent events are kept, so a subscriber reconnecting
+ * with the id of the last event it saw receives what it missed, or a resync event if that is
+ * no longer known.
+ */
+public class ChangeFeed implements AutoCloseable {
+    /** The kinds of change published to subscribers. */
+    public static final Set<DogChange.Kind> PUBLISHED = EnumSet.of(DogChange.Kind.ADDED,
+            DogChange.Kind.REMOVED, DogChange.Kind.PRICE, DogChange.Kind.READY);
+
+    /** The name of the event telling a subscriber that it missed events. */
+    public static final String RESYNC = "resync";
+
+    /** The longest a single send may block before the subscriber is dropped. */
+    public static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * An event sent to subscribers.
+     *
+     * @param id the model version of the change, or for a resync the current model version
+     * @param name the kind of change in lower case, or {@value #RESYNC}
+     * @param data the change as JSON
+     */
+    public record Event(long id, String name, String data) {
+    }
+
+    /**
+     * Receives the events of one subscriber. Events are sent one at a time, in order.
+     */
+    public interface Sink {
+        /**
+         * Sends an event to the subscriber, blocking while the subscriber is not reading.
+         *
+         * @param event the event to send
+         * @throws IOException if the subscriber is gone
+         */
+        void send(Event event) throws IOException;
+
+        /**
+         * Ends the subscriber's stream.
+         */
+        void close();
+
+        /**
+         * Ends the stream of a subscriber that stopped reading. It is called from another
+         * thread while a send to this sink is still blocked, so it must not wait for that send.
+         */
+        default void abort() {
+            close();
+        }
+    }
+
+    /** The model whose changes are published. */
+    private final IACModel model;
+    /** Serializes changes once for all subscribers. */
+    private final ObjectMapper mapper;
+    /** The shared threads sending events to subscribers. */
+    private final ExecutorService fanout;
+    /** The number of events a subscriber may fall behind before it is dropped. */
+    private final int bufferSize;
+    /** The number of recent events kept for reconnecting subscribers. */
+    private final int historySize;
+    /** The listener registered on the model. */
+    private final Consumer<DogChange> listener = this::publish;
+    /** The current subscribers. */
+    private final Set<Subscription> subscribers = ConcurrentHashMap.newKeySet();
+    /** The most recent events, oldest first. Guarded by this feed. */
+    private final ArrayDeque<Event> history = new ArrayDeque<>();
+    /** The version after which all published events are in the history. Guarded by this feed. */
+    private long historyFloor;
+    /** The number of subscribers dropped for falling behind. */
+    private final AtomicLong dropped = new AtomicLong();
+    /** The longest a single send may block, in nanoseconds. */
+    private final long writeTimeoutNanos;
+    /** The subscriptions being sent to, with the {@link System#nanoTime()} their send began. */
+    private final ConcurrentHashMap<Subscription, Long> sending = new ConcurrentHashMap<>();
+    /** Aborts sends that passed the write timeout. */
+    private final ScheduledExecutorService watchdog;
+
+    /**
+     * Constructs a new ChangeFeed with the {@linkplain #DEFAULT_WRITE_TIMEOUT default write
+     * timeout} and starts listening to the model.
+     *
+     * @param model the model whose changes are published
+     * @param mapper the mapper used to serialize changes
+     * @param fanout the threads sending events to subscribers, shut down when the feed closes
+     * @param bufferSize the number of events a subscriber may fall behind before it is dropped
+     * @param historySize the number of recent events kept for reconnecting subscribers
+     * @throws IllegalArgumentException if the buffer size is not positive or the history size is negative
+     */
+    public ChangeFeed(IACModel model, ObjectMapper mapper, ExecutorService fanout, int bufferSize, int historySize) {
+        this(model, mapper, fanout, bufferSize, historySize, DEFAULT_WRITE_TIMEOUT);
+    }
+
+    /**
+     * Constructs a new ChangeFeed and starts listening to the model.
+     *
+     * @param model the model whose changes are published
+     * @param mapper the mapper used to serialize changes
+     * @param fanout the threads sending events to subscribers, shut down when the feed closes
+     * @param bufferSize the number of events a subscriber may fall behind before it is dropped
+     * @param historySize the number of recent events kept for reconnecting subscribers
+     * @param writeTimeout the longest a single send may block before the subscriber is dropped
+     * @throws IllegalArgumentException if the buffer size or write timeout is not positive or the
+     *         history size is negative
+     */
+    public ChangeFeed(IACModel model, ObjectMapper mapper, ExecutorService fanout, int bufferSize, int historySize,
+                      Duration writeTimeout) {
+        if (bufferSize < 1 || historySize < 0) {
+            throw new IllegalArgumentException("Buffer size must be positive and history size not negative.");
+        }
+        if (writeTimeout.isNegative() || writeTimeout.isZero()) {
+            throw new IllegalArgumentException("Write timeout must be positive.");
+        }
+        this.model = model;
+        this.mapper = mapper;
+        this.fanout = fanout;
+        this.bufferSize = bufferSize;
+        this.historySize = historySize;
+        this.historyFloor = model.getVersion();
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "change-feed-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, writeTimeout.toMillis() / 4);
+        watchdog.scheduleAtFixedRate(this::abortStalled, period, period, TimeUnit.MILLISECONDS);
+        model.addChangeListener(listener);
+    }
+
+    /**
+     * Adds a subscriber. If it reconnects after the event with the given id, the events it
+     * missed are sent first; if they are no longer known, it only receives a resync event.
+     *
+     * @param sink receives the subscriber's events
+     * @param lastEventId the id of the last event the subscriber saw, or null for a new subscriber
+     * @return the subscription, to be cancelled when the subscriber goes away
+     */
+    public Subscription subscribe(Sink sink, Long lastEventId) {
+        Subscription subscription = new Subscription(sink);
+        synchronized (this) {
+            if (lastEventId != null) {
+                if (lastEventId < historyFloor || lastEventId > model.getVersion()) {
+                    subscription.resync = true;
+                } else {
+                    for (Event event : history) {
+                        if (event.id() > lastEventId && !subscription.buffer.offer(event)) {
+                            subscription.resync = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (!subscription.resync) {
+                subscribers.add(subscription);
+            }
+        }
+        subscription.schedule();
+        return subscription;
+    }
+
+    /**
+     * Returns the number of current subscribers.
+     *
+     * @return the number of subscribers
+     */
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Returns the number of subscribers dropped for falling behind or for a send passing the
+     * write timeout.
+     *
+     * @return the number of dropped subscribers
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops listening to the model, ends all subscriber streams and shuts down the fan-out threads.
+     */
+    @Override
+    public void close() {
+        model.removeChangeListener(listener);
+        for (Subscription subscription : subscribers) {
+            subscription.cancel();
+        }
+        watchdog.shutdownNow();
+        fanout.shutdown();
+    }
+
+    /**
+     * Aborts every send that has been blocked for longer than the write timeout.
+     */
+    private void abortStalled() {
+        long now = System.nanoTime();
+        sending.forEach((subscription, started) -> {
+            if (now - started > writeTimeoutNanos) {
+                subscription.abort();
+            }
+        });
+    }
+
+    /**
+     * Publishes a change to the history and to every subscriber's buffer. Called on the thread
+     * changing the model, so it never blocks on a subscriber.
+     *
+     * @param change the change
+     */
+    private void publish(DogChange change) {
+        if (!PUBLISHED.contains(change.kind())) {
+            return;
+        }
+        Event event = new Event(change.version(), change.kind().name().toLowerCase(Locale.ROOT), toJson(change));
+        synchronized (this) {
+            history.addLast(event);
+            if (history.size() > historySize) {
+                historyFloor = history.removeFirst().id();
+            }
+            for (Subscription subscription : subscribers) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Serializes a change.
+     *
+     * @param change the change
+     * @return the change as JSON
+     */
+    private String toJson(Object change) {
+        try {
+            return mapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * A subscriber's place in the feed: its buffer of pending events and its delivery state.
+     */
+    public final class Subscription implements Runnable {
+        /** Receives the subscriber's events. */
+        private final Sink sink;
+        /** The events not yet sent. */
+        private final ArrayBlockingQueue<Event> buffer = new ArrayBlockingQueue<>(bufferSize);
+        /** Whether a fan-out task is sending or about to send this subscriber's events. */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /** Whether the subscription has ended. */
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** Whether the subscriber missed events and gets a resync event instead. */
+        private volatile boolean resync;
+        /** The thread blocked in a send to this subscriber, or null. Guarded by this subscription. */
+        private Thread sender;
+
+        /**
+         * Constructs a new Subscription.
+         *
+         * @param sink receives the subscriber's events
+         */
+        private Subscription(Sink sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Ends the subscription and the subscriber's stream. Does nothing if it already ended.
+         */
+        public void cancel() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+                sink.close();
+            }
+        }
+
+        /**
+         * Drops a subscriber whose send passed the write timeout and interrupts the thread
+         * blocked in that send. Does nothing if the subscription already ended.
+         */
+        private void abort() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                buffer.clear();
+                dropped.incrementAndGet();
+                synchronized (this) {
+                    if (sender != null) {
+                        sender.interrupt();
+                    }
+                }
+                sink.abort();
+            }
+        }
+
+        /**
+         * Sends one event, recording the send so the watchdog can abort it if it blocks too long.
+         *
+         * @param event the event to send
+         * @throws IOException if the subscriber is gone or the send was aborted
+         */
+        private void send(Event event) throws IOException {
+            synchronized (this) {
+                if (closed.get()) {
+                    throw new IOException("Subscription ended");
+                }
+                sender = Thread.currentThread(); // from now on an abort interrupts this send
+            }
+            sending.put(this, System.nanoTime());
+            try {
+                sink.send(event);
+            } finally {
+                sending.remove(this);
+                synchronized (this) {
+                    sender = null;
+                    if (closed.get()) {
+                        Thread.interrupted(); // an abort must not interrupt the thread's next task
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks whether the subscription has ended.
+         *
+         * @return true if it was cancelled, dropped or the subscriber went away
+         */
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        /**
+         * Sends the pending events, then a resync event if the subscriber fell behind, until
+         * nothing is left to send.
+         */
+        @Override
+        public void run() {
+            do {
+                try {
+                    Event event;
+                    while (!resync && !closed.get() && (event = buffer.poll()) != null) {
+                        send(event);
+                    }
+                    if (resync && !closed.get()) {
+                        long version = model.getVersion();
+                        send(new Event(version, RESYNC, "{\"version\":" + version + "}"));
+                        cancel();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    cancel(); // the subscriber went away
+                }
+                scheduled.set(false);
+            } while ((resync || !buffer.isEmpty()) && !closed.get() && scheduled.compareAndSet(false, true));
+        }
+
+        /**
+         * Adds an event to the buffer, dropping the subscriber if the buffer is full.
+         *
+         * @param event the event
+         */
+        private void offer(Event event) {
+            if (!buffer.offer(event)) {
+                resync = true;
+                subscribers.remove(this);
+                dropped.incrementAndGet();
+            }
+            schedule();
+        }
+
+        /**
+         * Starts a fan-out task for this subscriber unless one is already running.
+         */
+        private void schedule() {
+            if ((resync || !buffer.isEmpty()) && scheduled.compareAndSet(false, true)) {
+                try {
+                    fanout.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    cancel(); // the feed is closing
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package web;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the request rate of each client with a token bucket.
+ *
+ * A client may send a burst of up to the bucket capacity at once; after that its requests are
+ * admitted at the refill rate. Buckets of clients that have been quiet long enough to refill
+ * completely are dropped now and then, so the map stays as small as the set of active clients.
+ */
+public class ClientRateLimiter {
+    /** The number of requests between sweeps for idle buckets. */
+    private static final int SWEEP_INTERVAL = 1024;
+
+    /**
+     * The tokens of one client.
+     */
+    private static final class Bucket {
+        /** The tokens left. */
+        private double tokens;
+        /** The time of the last refill, in nanoseconds. */
+        private long refilled;
+
+        /**
+         * Constructs a new, full Bucket.
+         *
+         * @param tokens the capacity
+         * @param now the current time in nanoseconds
+         */
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilled = now;
+        }
+    }
+
+    /** The largest burst a client may send. */
+    private final double capacity;
+    /** The tokens added per nanosecond. */
+    private final double tokensPerNano;
+    /** The clock returning the current time in nanoseconds. */
+    private final LongSupplier clock;
+    /** The buckets by client. */
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    /** The requests since the last sweep. */
+    private final AtomicInteger sinceSweep = new AtomicInteger();
+    /** The number of requests turned away. */
+    private final AtomicLong limited = new AtomicLong();
+
+    /**
+     * Constructs a new ClientRateLimiter using the system clock.
+     *
+     * @param capacity the largest burst a client may send
+     * @param perSecond the sustained number of requests per second a client may send
+     */
+    public ClientRateLimiter(int capacity, double perSecond) {
+        this(capacity, perSecond, System::nanoTime);
+    }
+
+    /**
+     * Constructs a new ClientRateLimiter.
+     *
+     * @param capacity the largest burst a client may send
+     * @param perSecond the sustained number of requests per second a client may send
+     * @param clock the clock returning the current time in nanoseconds
+     * @throws IllegalArgumentException if the capacity or rate is not positive
+     */
+    public ClientRateLimiter(int capacity, double perSecond, LongSupplier clock) {
+        if (capacity < 1 || perSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity and rate must be positive.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = perSecond / 1e9;
+        this.clock = clock;
+    }
+
+    /**
+     * Takes a token from a client's bucket.
+     *
+     * @param client the client, such as its address
+     * @throws ThrottledException with status 429 if the bucket is empty
+     */
+    public void acquire(String client) {
+        long now = clock.getAsLong();
+        if (sinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+            sinceSweep.set(0);
+            sweep(now);
+        }
+        Bucket bucket = buckets.computeIfAbsent(client, key -> new Bucket(capacity, now));
+        long waitNanos;
+        synchronized (bucket) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + (now - bucket.refilled) * tokensPerNano);
+            bucket.refilled = now;
+            if (bucket.tokens >= 1) {
+                bucket.tokens--;
+                return;
+            }
+            waitNanos = (long) ((1 - bucket.tokens) / tokensPerNano);
+        }
+        limited.incrementAndGet();
+        throw new ThrottledException(429, "Too many requests", Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+    }
+
+    /**
+     * Returns the number of requests turned away.
+     *
+     * @return the number of limited requests
+     */
+    public long getLimitedCount() {
+        return limited.get();
+    }
+
+    /**
+     * Returns the number of clients with a bucket.
+     *
+     * @return the number of tracked clients
+     */
+    public int getClientCount() {
+        return buckets.size();
+    }
+
+    /**
+     * Drops the buckets that would be full by now; recreating them full changes nothing.
+     *
+     * @param now the current time in nanoseconds
+     */
+    private void sweep(long now) {
+        buckets.entrySet().removeIf(entry -> {
+            Bucket bucket = entry.getValue();
+            synchronized (bucket) {
+                return bucket.tokens + (now - bucket.refilled) * tokensPerNano >= capacity;
+            }
+        });
+    }
+}
@@ -0,0 +1,328 @@
+package web;
+import controller.ACController;
+import controller.SearchQuery;
+import model.Dog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.Locale;
+import java.util.Set;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Searches the adoptable dogs and looks them up by id.
+ *
+ * {@code GET /dogs} takes one optional query parameter per {@link model.ACFilterPlanner}
+ * filter (name, sex, breed, age, weight, price), a sort field and order, and the page to return.
+ *
+ * Responses carry an ETag and a Last-Modified time derived from the model version, and must
+ * be revalidated before reuse. A conditional request for an unchanged model is answered with
+ * 304 Not Modified before any search runs.
+ *
+ * Bodies are assembled from the cached JSON of each dog. Pages sent gzip-compressed are kept
+ * compressed per model version, so a hot page is neither searched nor compressed again until
+ * the model changes. Pages are the only responses compressed here, so their ETags are strong
+ * and differ between the gzip and identity bodies. Single dogs and streams get weak ETags,
+ * which leaves them to the container's response compression.
+ *
+ * Searches that have to run take a slot from the {@link AdmissionControl}, with name scans
+ * behind cheaper searches; 304s and cached pages are answered without one.
+ *
+ * {@code GET /dogs/stream} takes the same filters and writes every match as newline-delimited
+ * JSON while the search runs, for exports and admin listings of any size. Streams are limited
+ * by their own {@link StreamLimiter}, so long exports never hold search slots.
+ */
+@RestController
+@RequestMapping("/dogs")
+public class DogApiController {
+    /** The number of dogs per page when no size is given. */
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    /** The largest page size a client may ask for. */
+    public static final int MAX_PAGE_SIZE = 100;
+    /** The fields results can be sorted on. */
+    public static final Set<String> SORT_FIELDS = Set.of("name", "sex", "breed", "age", "weight", "price");
+    /** The number of compressed pages kept. */
+    public static final int HOT_PAGES = 128;
+
+    /** The controller shared by all requests. */
+    private final ACController controller;
+    /** Writes streamed search results. */
+    private final NdjsonWriter ndjson;
+    /** The serialized JSON of each dog. */
+    private final DogJsonCache json;
+    /** Limits how many searches run at once. */
+    private final AdmissionControl admission;
+    /** Limits how many streams run at once. */
+    private final StreamLimiter streams;
+    /** The compressed bodies of recently requested pages. */
+    private final GzipPageCache gzipPages = new GzipPageCache(HOT_PAGES);
+
+    /**
+     * Constructs a new DogApiController.
+     *
+     * @param controller the controller shared by all requests
+     * @param mapper the mapper used for JSON responses
+     * @param json the serialized JSON of each dog
+     * @param admission limits how many searches run at once
+     * @param streams limits how many streams run at once
+     */
+    public DogApiController(ACController controller, ObjectMapper mapper, DogJsonCache json,
+                            AdmissionControl admission, StreamLimiter streams) {
+        this.controller = controller;
+        this.ndjson = new NdjsonWriter(mapper);
+        this.json = json;
+        this.admission = admission;
+        this.streams = streams;
+    }
+
+    /**
+     * Returns one page of the adoptable dogs matching the given filters.
+     *
+     * @param name text the name must contain
+     * @param sex the sex, "m" or "f"
+     * @param breed text the breed name must contain
+     * @param age the exact age
+     * @param weight the exact weight
+     * @param price the exact price
+     * @param sort the field to sort on
+     * @param order "asc" or "desc"
+     * @param page the index of the page, starting at 0
+     * @param size the number of dogs per page, at most {@value #MAX_PAGE_SIZE}
+     * @param request the request, for its conditional and Accept-Encoding headers
+     * @param response the response, which varies by Accept-Encoding even when it is a 304
+     * @return the requested page as JSON, or null if the client's copy is current
+     * @throws IllegalArgumentException if a parameter is invalid
+     * @throws ThrottledException with status 503 if the server is too busy to run the search
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> search(@RequestParam(required = false) String name,
+                          @RequestParam(required = false) String sex,
+                          @RequestParam(required = false) String breed,
+                          @RequestParam(required = false) String age,
+                          @RequestParam(required = false) String weight,
+                          @RequestParam(required = false) String price,
+                          @RequestParam(defaultValue = "price") String sort,
+                          @RequestParam(defaultValue = "asc") String order,
+                          @RequestParam(defaultValue = "0") int page,
+                          @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+                          WebRequest request,
+                          HttpServletResponse response) {
+        SearchQuery query = toQuery(name, sex, breed, age, weight, price, sort, order);
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long version = controller.getVersion(); // read before searching, so a concurrent change is not hidden
+        boolean gzip = GzipPageCache.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (request.checkNotModified(revalidatedETag(request, version, gzip), controller.getLastModified())) {
+            return null; // 304 Not Modified, without running the planner
+        }
+        String key = version + " " + query + " " + page + " " + size;
+        byte[] compressed = gzip ? gzipPages.get(key) : null;
+        if (compressed != null) {
+            return gzipped(compressed);
+        }
+        byte[] body;
+        try (AdmissionControl.Permit permit = admission.acquire(query.isNameScan())) {
+            List<Dog> matches = controller.search(query).toList();
+            long from = Math.min((long) page * size, matches.size());
+            int to = (int) Math.min(from + size, matches.size());
+            body = json.toJson(new DogPage(matches.subList((int) from, to), page, size, matches.size()));
+            if (gzip && body.length >= GzipPageCache.MIN_BYTES) {
+                return gzipped(gzipPages.put(key, body));
+            }
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    /**
+     * Streams all adoptable dogs matching the given filters as newline-delimited JSON.
+     *
+     * The response has no length, so it is sent with chunked transfer encoding, and it is
+     * written from the lazy search stream on an async request thread. Without a sort field no
+     * dog is held in memory beyond the one being written; sorting first has to collect the
+     * matching dogs, though not their JSON. A stream holds its stream slot until the async
+     * request completes, whether the body finished, failed, timed out or never ran because the
+     * client went away.
+     *
+     * @param sort the field to sort on, or none to stream in inventory order
+     * @param request the request, for its conditional headers
+     * @param servletRequest the request, for the client's address
+     * @return the streaming response, or null if the client's copy is current
+     * @throws IllegalArgumentException if a parameter is invalid
+     * @throws ThrottledException with status 429 if the client runs too many streams, or 503 if
+     *         the server does
+     * @see #search for the other parameters
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(required = false) String name,
+                                                        @RequestParam(required = false) String sex,
+                                                        @RequestParam(required = false) String breed,
+                                                        @RequestParam(required = false) String age,
+                                                        @RequestParam(required = false) String weight,
+                                                        @RequestParam(required = false) String price,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(defaultValue = "asc") String order,
+                                                        WebRequest request,
+                                                        HttpServletRequest servletRequest) {
+        SearchQuery query = toQuery(name, sex, breed, age, weight, price,
+                sort == null ? "none" : sort, order);
+        long version = controller.getVersion();
+        if (request.checkNotModified(streamETag(version), controller.getLastModified())) {
+            return null; // 304 Not Modified
+        }
+        StreamLimiter.Permit permit = streams.acquire(servletRequest.getRemoteAddr());
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(permit, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest completed, Callable<T> task) {
+                permit.close(); // runs on completion, error, timeout and disconnect alike
+            }
+        });
+        StreamingResponseBody body = out -> {
+            try (permit) { // frees the slot as soon as the last line is written
+                ndjson.write(controller.search(query), out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .cacheControl(CacheControl.noCache())
+                .body(body);
+    }
+
+    /**
+     * Returns an adoptable dog by id.
+     *
+     * @param id the id of the dog
+     * @param request the request, for its conditional headers
+     * @return the dog as JSON, or null if the client's copy is current
+     * @throws ResponseStatusException with status 404 if no adoptable dog has that id
+     */
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getDog(@PathVariable String id, WebRequest request) {
+        Dog dog = controller.getDog(id);
+        if (dog == null || !dog.getIsReady()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No adoptable dog with id " + id);
+        }
+        if (request.checkNotModified(dogETag(dog), controller.getLastModified())) {
+            return null; // 304 Not Modified
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(json.toJson(dog));
+    }
+
+    /**
+     * Wraps a compressed page in a response.
+     *
+     * @param compressed the gzip-compressed JSON
+     * @return the response
+     */
+    private static ResponseEntity<byte[]> gzipped(byte[] compressed) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(compressed);
+    }
+
+    /**
+     * Returns the ETag a page request is revalidated against: the tag of the encoding the
+     * client accepts, or the tag of the other encoding if that is the one the client holds,
+     * since both are current until the model changes.
+     *
+     * @param request the request, for its If-None-Match header
+     * @param version the model version
+     * @param gzip whether the client accepts gzip
+     * @return the quoted, strong ETag
+     */
+    private static String revalidatedETag(WebRequest request, long version, boolean gzip) {
+        String etag = listETag(version, gzip);
+        String other = listETag(version, !gzip);
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && !ifNoneMatch.contains(etag) && ifNoneMatch.contains(other)) {
+            return other;
+        }
+        return etag;
+    }
+
+    /**
+     * Returns the ETag of search results at a model version. Each search URL is its own
+     * resource, so the version alone tells whether its results may have changed. Clients
+     * accepting gzip get their own tag, whether or not a page is large enough to compress.
+     *
+     * @param version the model version
+     * @param gzip whether the tag is for a client accepting gzip
+     * @return the quoted, strong ETag
+     */
+    static String listETag(long version, boolean gzip) {
+        return "\"v" + version + (gzip ? "-gz\"" : "\"");
+    }
+
+    /**
+     * Returns the ETag of streamed search results at a model version, distinct from
+     * {@link #listETag} because the representation differs. It is weak, so the container may
+     * compress the stream.
+     *
+     * @param version the model version
+     * @return the quoted, weak ETag
+     */
+    static String streamETag(long version) {
+        return "W/\"n" + version + "\"";
+    }
+
+    /**
+     * Returns the ETag of a dog, derived from the dog's own version. It is weak, so the
+     * container may compress the response.
+     *
+     * @param dog the dog
+     * @return the quoted, weak ETag
+     */
+    static String dogETag(Dog dog) {
+        return "W/\"d" + dog.getVersion() + "\"";
+    }
+
+    /**
+     * Builds and validates a search from query parameters. See {@link #search} for the parameters;
+     * a sort field of "none" leaves the results unsorted.
+     *
+     * @return the search
+     * @throws IllegalArgumentException if the sex, sort field or order is not recognized
+     */
+    static SearchQuery toQuery(String name, String sex, String breed, String age, String weight,
+                               String price, String sort, String order) {
+        String sortOn = sort.toLowerCase(Locale.ROOT);
+        if (sortOn.equals("none")) {
+            sortOn = null;
+        } else if (!SORT_FIELDS.contains(sortOn)) {
+            throw new IllegalArgumentException("sort must be one of " + SORT_FIELDS);
+        }
+        if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("order must be asc or desc");
+        }
+        if (sex != null && !sex.isEmpty() && !sex.equalsIgnoreCase("m") && !sex.equalsIgnoreCase("f")) {
+            throw new IllegalArgumentException("sex must be m or f");
+        }
+        return new SearchQuery(name, sex, breed, age, weight, price, sortOn, order.equalsIgnoreCase("asc"));
+    }
+}
@@ -0,0 +1,25 @@
+package web;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+
+/**
+ * The HTTP front end of the adoption center, serving the same model and controller as the GUI.
+ *
+ * The data-jpa starter is on the classpath but the model is kept in memory, so the datasource
+ * and JPA auto-configuration are turned off.
+ */
+@SpringBootApplication(exclude = {DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class})
+public class DogCenterApplication {
+
+    /**
+     * Starts the HTTP server.
+     *
+     * @param args command line arguments, passed on to Spring
+     */
+    public static void main(String[] args) {
+        SpringApplication.run(DogCenterApplication.class, args);
+    }
+}
@@ -0,0 +1,173 @@
+package web;
+import controller.ACController;
+import controller.SessionRegistry;
+import model.AdoptionCenterModel;
+import model.Breed;
+import model.BreedLoader;
+import model.Dog;
+import model.ImageCatalog;
+import model.SampleInventory;
+import model.WorkerThreads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Creates the model, session registry, controller, change feed and JSON cache served over
+ * HTTP, and the limits protecting them from too much traffic.
+ *
+ * The limits are read from properties: {@code dogcenter.rateLimit.burst} and
+ * {@code dogcenter.rateLimit.perSecond} per client, and {@code dogcenter.admission.concurrency},
+ * {@code dogcenter.admission.queue} and {@code dogcenter.admission.maxWaitMillis} for searches,
+ * and {@code dogcenter.streams.concurrency} and {@code dogcenter.streams.perClient} for streams.
+ */
+@Configuration
+public class DogCenterConfig implements WebMvcConfigurer {
+    /** The per-client rate limit, set up in {@link #addInterceptors}. */
+    private final ClientRateLimiter rateLimiter;
+
+    /**
+     * Constructs a new DogCenterConfig.
+     *
+     * @param burst the largest burst of requests a client may send
+     * @param perSecond the sustained number of requests per second a client may send
+     */
+    public DogCenterConfig(@Value("${dogcenter.rateLimit.burst:40}") int burst,
+                           @Value("${dogcenter.rateLimit.perSecond:20}") double perSecond) {
+        this.rateLimiter = new ClientRateLimiter(burst, perSecond);
+    }
+
+    /**
+     * Loads the adoption center model with the sample inventory.
+     *
+     * @return the model
+     * @throws IOException if no breed catalogue can be read
+     */
+    @Bean
+    public AdoptionCenterModel adoptionCenterModel() throws IOException {
+        ImageCatalog.global().startWatching(); // keeps image checks in memory
+        BreedLoader breedLoader = new BreedLoader();
+        Map<String, Breed> breeds = breedLoader.load(); // cached or bundled breeds, no network wait
+        if (breedLoader.needsRefresh()) {
+            breedLoader.refreshInBackground();
+        }
+        AdoptionCenterModel model = new AdoptionCenterModel();
+        for (Dog dog : SampleInventory.create(breeds)) {
+            model.addDog(dog);
+        }
+        return model;
+    }
+
+    /**
+     * Creates the registry of visitor sessions, evicting idle ones every minute.
+     *
+     * @return the session registry
+     */
+    @Bean(destroyMethod = "close")
+    public SessionRegistry sessionRegistry() {
+        SessionRegistry sessions = new SessionRegistry();
+        sessions.startEvictor(Duration.ofMinutes(1));
+        return sessions;
+    }
+
+    /**
+     * Creates the controller shared by all requests; per-visitor state is reached through
+     * {@link ACController#forSession}.
+     *
+     * @param model the loaded model
+     * @param sessions the session registry
+     * @return the controller
+     */
+    @Bean
+    public ACController acController(AdoptionCenterModel model, SessionRegistry sessions) {
+        return new ACController(model, sessions);
+    }
+
+    /**
+     * Creates the feed of adoption status changes. Four fan-out threads serve all event
+     * streams; a stream more than 256 events behind or not read for the default write timeout
+     * is dropped, and the last 1024 events are kept for clients that reconnect. The fan-out
+     * threads are platform threads even when virtual threads are on, so blocked sends stay
+     * within that budget.
+     *
+     * @param model the loaded model
+     * @param mapper the mapper used for JSON responses
+     * @return the change feed
+     */
+    @Bean(destroyMethod = "close")
+    public ChangeFeed changeFeed(AdoptionCenterModel model, ObjectMapper mapper) {
+        return new ChangeFeed(model, mapper, WorkerThreads.newPlatformExecutor("change-feed", 4), 256, 1024);
+    }
+
+    /**
+     * Creates the cache of serialized dogs shared by the JSON endpoints.
+     *
+     * @param model the loaded model
+     * @param mapper the mapper used for JSON responses
+     * @return the cache
+     */
+    @Bean
+    public DogJsonCache dogJsonCache(AdoptionCenterModel model, ObjectMapper mapper) {
+        return new DogJsonCache(model, mapper, DogJsonCache.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Returns the per-client rate limit.
+     *
+     * @return the rate limiter
+     */
+    @Bean
+    public ClientRateLimiter clientRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Creates the admission control of searches. By default twice as many searches as there
+     * are processors run at once, 64 wait, and none waits longer than two seconds.
+     *
+     * @param concurrency the number of searches that may run at once, or 0 for the default
+     * @param queue the number of searches that may wait for a slot
+     * @param maxWaitMillis the longest a search waits for a slot, in milliseconds
+     * @return the admission control
+     */
+    @Bean
+    public AdmissionControl admissionControl(@Value("${dogcenter.admission.concurrency:0}") int concurrency,
+                                             @Value("${dogcenter.admission.queue:64}") int queue,
+                                             @Value("${dogcenter.admission.maxWaitMillis:2000}") long maxWaitMillis) {
+        int slots = concurrency > 0 ? concurrency : 2 * Runtime.getRuntime().availableProcessors();
+        return new AdmissionControl(slots, queue, Duration.ofMillis(maxWaitMillis), 1);
+    }
+
+    /**
+     * Creates the limit of streamed exports. By default as many streams as there are processors
+     * run at once, at least two, and each client runs at most two.
+     *
+     * @param concurrency the number of streams that may run at once, or 0 for the default
+     * @param perClient the number of streams one client may run at once
+     * @return the stream limiter
+     */
+    @Bean
+    public StreamLimiter streamLimiter(@Value("${dogcenter.streams.concurrency:0}") int concurrency,
+                                       @Value("${dogcenter.streams.perClient:2}") int perClient) {
+        int slots = concurrency > 0 ? concurrency : Math.max(2, Runtime.getRuntime().availableProcessors());
+        return new StreamLimiter(slots, perClient, 1);
+    }
+
+    /**
+     * Applies the per-client rate limit to the dog and wishlist endpoints.
+     *
+     * @param registry the registry of interceptors
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter))
+                .addPathPatterns("/dogs", "/dogs/**", "/wishlist", "/wishlist/**");
+    }
+}
@@ -0,0 +1,69 @@
+package web;
+
+import java.io.IOException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams changes to the adoption status of dogs as server-sent events.
+ *
+ * {@code GET /dogs/events} sends an event named added, removed, price or ready for every such
+ * change, with the change as JSON and the model version as its id. Browsers reconnect on their
+ * own and send the last id they saw, so missed events are replayed. A "resync" event means
+ * events were lost: the client should reload {@code /dogs} and reconnect.
+ */
+@RestController
+@RequestMapping("/dogs")
+public class DogEventController {
+    /** The feed the streams subscribe to. */
+    private final ChangeFeed feed;
+
+    /**
+     * Constructs a new DogEventController.
+     *
+     * @param feed the feed the streams subscribe to
+     */
+    public DogEventController(ChangeFeed feed) {
+        this.feed = feed;
+    }
+
+    /**
+     * Subscribes the client to the change feed. The stream ends after the async request
+     * timeout, when the client disconnects, when it falls too far behind, or when it stops
+     * reading for longer than the feed's write timeout.
+     *
+     * @param lastEventId the id of the last event the client saw when reconnecting, or null
+     * @return the event stream
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter();
+        ChangeFeed.Subscription subscription = feed.subscribe(new ChangeFeed.Sink() {
+            @Override
+            public void send(ChangeFeed.Event event) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.id()))
+                        .name(event.name())
+                        .data(event.data(), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+
+            @Override
+            public void abort() {
+                emitter.completeWithError(new IOException("Client stopped reading events"));
+            }
+        }, lastEventId);
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+}
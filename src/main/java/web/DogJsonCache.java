@@ -0,0 +1,217 @@
+package web;
+import model.Dog;
+import model.IACModel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the serialized JSON of each dog, so responses are assembled by concatenating bytes
+ * instead of serializing every dog again.
+ *
+ * An entry is only used while the dog's version is the one it was serialized at, and entries
+ * are evicted when the model reports a change to their dog, so a changed dog is never served
+ * stale.
+ *
+ * The cache is fill-once: entries are not added once it holds its memory budget, and dogs
+ * beyond it are serialized for each response as before. Room is only freed when cached dogs
+ * change or are removed. This keeps a hit free of any lock or bookkeeping, at the cost of
+ * serving whichever dogs were requested first rather than the most recent ones; the budget
+ * should cover the whole inventory.
+ */
+public class DogJsonCache {
+    /** The default memory budget for cached JSON, in bytes. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /** The start of a page, up to its dogs. */
+    private static final byte[] PAGE_START = "{\"dogs\":".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * The JSON of a dog at one version.
+     *
+     * @param dog the dog
+     * @param version the version of the dog when it was serialized
+     * @param json the serialized dog
+     */
+    private record Entry(Dog dog, long version, byte[] json) {
+    }
+
+    /** Serializes dogs. */
+    private final ObjectWriter writer;
+    /** The memory budget for cached JSON, in bytes. */
+    private final long maxBytes;
+    /** The cached JSON by dog id. */
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    /** The memory used by cached JSON, in bytes. */
+    private final AtomicLong usedBytes = new AtomicLong();
+    /** The number of dogs served from the cache. */
+    private final AtomicLong hits = new AtomicLong();
+    /** The number of dogs that had to be serialized. */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Constructs a new DogJsonCache that evicts dogs as the model reports changes to them.
+     *
+     * @param model the model holding the dogs
+     * @param mapper the mapper whose configuration is used to serialize dogs
+     * @param maxBytes the memory budget for cached JSON, in bytes
+     */
+    public DogJsonCache(IACModel model, ObjectMapper mapper, long maxBytes) {
+        this.writer = mapper.writerFor(Dog.class);
+        this.maxBytes = maxBytes;
+        model.addChangeListener(change -> evict(change.dogId()));
+    }
+
+    /**
+     * Returns the JSON of a dog, serializing it only if it changed since it was cached.
+     *
+     * @param dog the dog
+     * @return the dog as JSON; must not be modified
+     */
+    public byte[] toJson(Dog dog) {
+        Entry entry = entries.get(dog.getID());
+        long version = dog.getVersion(); // read before serializing, so a concurrent change is caught next time
+        if (entry != null && entry.dog() == dog && entry.version() == version) {
+            hits.incrementAndGet();
+            return entry.json();
+        }
+        misses.incrementAndGet();
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(dog);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (reserve(json.length)) {
+            Entry previous = entries.put(dog.getID(), new Entry(dog, version, json));
+            if (previous != null) {
+                usedBytes.addAndGet(-previous.json().length);
+            }
+        }
+        return json;
+    }
+
+    /**
+     * Returns the JSON array of some dogs.
+     *
+     * @param dogs the dogs
+     * @return the dogs as a JSON array
+     */
+    public byte[] toJson(List<Dog> dogs) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + dogs.size() * 384);
+        writeArray(dogs, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Returns the JSON of a page of search results, with the same properties Jackson would write.
+     * The cached JSON of each dog is copied into the output as is; the envelope around it only
+     * holds fixed names and numbers, so it is written by hand.
+     *
+     * @param page the page
+     * @return the page as JSON
+     */
+    public byte[] toJson(DogPage page) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128 + page.dogs().size() * 384);
+        out.writeBytes(PAGE_START);
+        writeArray(page.dogs(), out);
+        writeField(out, ",\"page\":", page.page());
+        writeField(out, ",\"size\":", page.size());
+        writeField(out, ",\"total\":", page.total());
+        writeField(out, ",\"totalPages\":", page.getTotalPages());
+        out.write('}');
+        return out.toByteArray();
+    }
+
+    /**
+     * Removes the cached JSON of a dog.
+     *
+     * @param dogId the id of the dog
+     */
+    public void evict(String dogId) {
+        Entry removed = entries.remove(dogId);
+        if (removed != null) {
+            usedBytes.addAndGet(-removed.json().length);
+        }
+    }
+
+    /**
+     * Returns the memory used by cached JSON.
+     *
+     * @return the used memory in bytes
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * Returns the number of dogs served from the cache.
+     *
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of dogs that had to be serialized.
+     *
+     * @return the number of misses
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Takes room for a new entry from the memory budget, so concurrent misses cannot overrun it.
+     *
+     * @param bytes the size of the entry
+     * @return true if the room was taken, false if the budget is used up
+     */
+    private boolean reserve(long bytes) {
+        long used;
+        do {
+            used = usedBytes.get();
+            if (used + bytes > maxBytes) {
+                return false;
+            }
+        } while (!usedBytes.compareAndSet(used, used + bytes));
+        return true;
+    }
+
+    /**
+     * Writes a number property of a page.
+     *
+     * @param out the output to write to
+     * @param prefix the separator and name of the property
+     * @param value the value of the property
+     */
+    private static void writeField(ByteArrayOutputStream out, String prefix, int value) {
+        out.writeBytes((prefix + value).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Writes the JSON array of some dogs.
+     *
+     * @param dogs the dogs
+     * @param out the output to write to
+     */
+    private void writeArray(List<Dog> dogs, ByteArrayOutputStream out) {
+        out.write('[');
+        for (int i = 0; i < dogs.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(toJson(dogs.get(i)));
+        }
+        out.write(']');
+    }
+}
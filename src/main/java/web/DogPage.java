@@ -0,0 +1,24 @@
+package web;
+import model.Dog;
+
+import java.util.List;
+
+/**
+ * One page of dog search results.
+ *
+ * @param dogs the dogs on this page
+ * @param page the index of this page, starting at 0
+ * @param size the maximum number of dogs per page
+ * @param total the number of dogs matching the search
+ */
+public record DogPage(List<Dog> dogs, int page, int size, int total) {
+
+    /**
+     * Returns the number of pages needed for all matching dogs.
+     *
+     * @return the number of pages
+     */
+    public int getTotalPages() {
+        return (total + size - 1) / size;
+    }
+}
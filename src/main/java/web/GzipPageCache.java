@@ -0,0 +1,130 @@
+package web;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps gzip-compressed response bodies of the most recently requested pages, so a hot page
+ * is compressed once per model version rather than once per response.
+ *
+ * Keys include the model version, so bodies of an older version are never served again and
+ * simply age out.
+ */
+public class GzipPageCache {
+    /** Bodies smaller than this are not worth compressing, in bytes. */
+    public static final int MIN_BYTES = 1024;
+
+    /** The compressed bodies by key, least recently used first. */
+    private final LinkedHashMap<String, byte[]> pages;
+    /** The number of bodies served from the cache. */
+    private long hits;
+    /** The number of bodies that had to be compressed. */
+    private long misses;
+
+    /**
+     * Constructs a new GzipPageCache.
+     *
+     * @param maxPages the number of compressed bodies to keep
+     */
+    public GzipPageCache(int maxPages) {
+        this.pages = new LinkedHashMap<>(maxPages * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached compressed body.
+     *
+     * @param key the key of the page, including the model version
+     * @return the compressed body, or null if it is not cached
+     */
+    public synchronized byte[] get(String key) {
+        byte[] page = pages.get(key);
+        if (page != null) {
+            hits++;
+        }
+        return page;
+    }
+
+    /**
+     * Compresses a body and caches it.
+     *
+     * @param key the key of the page, including the model version
+     * @param body the uncompressed body
+     * @return the compressed body
+     */
+    public byte[] put(String key, byte[] body) {
+        byte[] compressed = gzip(body); // outside the lock, other pages stay available
+        synchronized (this) {
+            misses++;
+            pages.put(key, compressed);
+        }
+        return compressed;
+    }
+
+    /**
+     * Returns the number of bodies served from the cache.
+     *
+     * @return the number of hits
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of bodies that had to be compressed.
+     *
+     * @return the number of misses
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Checks whether a client accepts gzip-encoded responses.
+     *
+     * @param acceptEncoding the Accept-Encoding header, or null
+     * @return true if gzip is listed, or covered by *, without a zero quality
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            boolean refused = parts.length > 1 && parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            if (name.equalsIgnoreCase("gzip")) {
+                return !refused; // an explicit gzip entry overrides *
+            }
+            if (name.equals("*")) {
+                any = !refused;
+            }
+        }
+        return any;
+    }
+
+    /**
+     * Compresses a body with gzip.
+     *
+     * @param body the uncompressed body
+     * @return the compressed body
+     */
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by in-memory streams
+        }
+        return out.toByteArray();
+    }
+}
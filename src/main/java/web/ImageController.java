@@ -0,0 +1,212 @@
+package web;
+import model.ImageCatalog;
+import model.ThumbnailStore;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves dog images from the image directory, as originals or as thumbnails.
+ *
+ * {@code GET /images/{name}} sends the original file and {@code GET /images/{name}?size=thumbnail}
+ * its {@value ThumbnailStore#SIZE}-pixel thumbnail from the {@link ThumbnailStore}. Files are
+ * never read into the heap: when the container supports sendfile (Tomcat's NIO connector does)
+ * the file is handed to it, which transfers it to the socket with {@link FileChannel#transferTo};
+ * otherwise {@link FileChannel#transferTo} copies it into the response stream.
+ *
+ * Single byte ranges are answered with 206 Partial Content. Responses may be cached by clients
+ * and proxies for a week, and carry an ETag and Last-Modified time for cheap revalidation.
+ */
+@RestController
+@RequestMapping("/images")
+public class ImageController {
+    /** The size parameter of an original image. */
+    public static final String ORIGINAL = "original";
+    /** The size parameter of a thumbnail. */
+    public static final String THUMBNAIL = "thumbnail";
+    /** The Cache-Control header of every image. */
+    public static final String CACHE_CONTROL = "public, max-age=604800";
+
+    /** The request attribute Tomcat sets when it can send files itself. */
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    /** The request attribute naming the file for Tomcat to send. */
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    /** The request attribute with the first byte for Tomcat to send. */
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    /** The request attribute with the end of the bytes for Tomcat to send, exclusive. */
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    /** Below this many bytes a plain copy is cheaper than handing the file to the container. */
+    static final long SENDFILE_MIN_BYTES = 48 * 1024;
+
+    /** The catalog of known image files. */
+    private final ImageCatalog catalog;
+    /** The store of generated thumbnails. */
+    private final ThumbnailStore thumbnails;
+
+    /**
+     * Constructs a new ImageController serving the global image catalog and thumbnail store.
+     */
+    public ImageController() {
+        this(ImageCatalog.global(), ThumbnailStore.global());
+    }
+
+    /**
+     * Constructs a new ImageController.
+     *
+     * @param catalog the catalog of known image files
+     * @param thumbnails the store of generated thumbnails
+     */
+    public ImageController(ImageCatalog catalog, ThumbnailStore thumbnails) {
+        this.catalog = catalog;
+        this.thumbnails = thumbnails;
+    }
+
+    /**
+     * Sends an image, the requested range of it, or 304 Not Modified.
+     *
+     * @param name the file name of the image in the image directory
+     * @param size {@value #ORIGINAL} or {@value #THUMBNAIL}
+     * @param request the request, for its conditional and Range headers
+     * @param response the response the file is written to
+     * @throws ResponseStatusException with status 404 if there is no such image
+     * @throws IllegalArgumentException if the size is not recognized
+     * @throws IOException if the file cannot be read or the client went away
+     */
+    @GetMapping("/{name}")
+    public void image(@PathVariable String name, @RequestParam(defaultValue = ORIGINAL) String size,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!size.equals(ORIGINAL) && !size.equals(THUMBNAIL)) {
+            throw new IllegalArgumentException("size must be " + ORIGINAL + " or " + THUMBNAIL);
+        }
+        Path file = resolve(name, size.equals(THUMBNAIL));
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String etag = "\"" + size.charAt(0) + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        String ifRange = request.getHeader("If-Range");
+        ByteRange range = ifRange == null || ifRange.equals(etag)
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), length) : null;
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range == null) {
+            range = new ByteRange(0, length - 1);
+            response.setStatus(HttpServletResponse.SC_OK);
+        } else {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(length));
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        }
+        String type = URLConnection.guessContentTypeFromName(file.getFileName().toString());
+        response.setContentType(type != null ? type : "application/octet-stream");
+        response.setContentLengthLong(range.length());
+        if (!request.getMethod().equals("HEAD") && range.length() > 0) {
+            send(file, range, request, response);
+        }
+    }
+
+    /**
+     * Returns the file of an image, making sure it is in the image directory.
+     *
+     * @param name the file name of the image
+     * @param thumbnail whether to return its thumbnail instead of the original
+     * @return the file to send
+     * @throws ResponseStatusException with status 404 if there is no such image
+     */
+    private Path resolve(String name, boolean thumbnail) {
+        Path directory = Paths.get(catalog.getDirectory()).toAbsolutePath().normalize();
+        Path original = directory.resolve(name).normalize();
+        if (!original.getParent().equals(directory) || name.startsWith(".") || !catalog.exists(name)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No image " + name);
+        }
+        Path file = thumbnail ? thumbnails.getThumbnail(original.toString()) : original;
+        if (file == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No thumbnail for image " + name);
+        }
+        return file;
+    }
+
+    /**
+     * Checks whether the client's copy of a file is current.
+     *
+     * @param request the request
+     * @param etag the ETag of the file
+     * @param lastModified the modification time of the file in milliseconds
+     * @return true if the file has not changed
+     */
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false; // If-Modified-Since is ignored when If-None-Match is present
+        }
+        long since = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        return since >= 0 && lastModified / 1000 <= since / 1000;
+    }
+
+    /**
+     * Writes a range of a file to the response without reading it into the heap.
+     *
+     * @param file the file
+     * @param range the bytes to send
+     * @param request the request, for the container's sendfile support
+     * @param response the response
+     * @throws IOException if the file cannot be read or the client went away
+     */
+    private static void send(Path file, ByteRange range, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && range.length() >= SENDFILE_MIN_BYTES) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, range.start());
+            request.setAttribute(SENDFILE_END, range.end() + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = range.start();
+            long remaining = range.length();
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break; // the file was truncated while sending
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package web;
+import model.Dog;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes dogs as newline-delimited JSON, one object per line, straight from a lazy stream.
+ *
+ * Each dog is serialized into the generator's fixed-size buffer, which is written out as it
+ * fills, so memory use does not depend on the number of dogs. The next dog is only pulled from
+ * the stream once the previous one has been handed to the output, so a slow reader blocking
+ * the output also stops the stream. The first line is flushed right away so the reader sees it
+ * without waiting for a full buffer.
+ */
+public class NdjsonWriter {
+    /** Serializes single dogs without flushing after each one. */
+    private final ObjectWriter writer;
+    /** Creates the generator writing to the output. */
+    private final ObjectMapper mapper;
+
+    /**
+     * Constructs a new NdjsonWriter.
+     *
+     * @param mapper the mapper whose configuration is used to serialize dogs
+     */
+    public NdjsonWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = mapper.writerFor(Dog.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes every dog of a stream, each on its own line. The output is flushed but not closed.
+     *
+     * @param dogs the dogs to write
+     * @param out the output to write to
+     * @return the number of dogs written
+     * @throws IOException if the output fails, for example because the reader disconnected
+     */
+    public long write(Stream<Dog> dogs, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null); // lines are separated by the newline alone
+            Iterator<Dog> iterator = dogs.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count == 1) {
+                    generator.flush(); // first byte out without waiting for a full buffer
+                }
+            }
+            generator.flush();
+        } finally {
+            dogs.close();
+        }
+        return count;
+    }
+}
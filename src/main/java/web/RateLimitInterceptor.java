@@ -0,0 +1,42 @@
+package web;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Applies the per-client rate limit before a request reaches its controller. Clients are told
+ * apart by their address, which they cannot change as easily as a header. The second dispatch
+ * of an async request, such as a finished stream, is not counted again.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+    /** The rate limit applied to every client. */
+    private final ClientRateLimiter limiter;
+
+    /**
+     * Constructs a new RateLimitInterceptor.
+     *
+     * @param limiter the rate limit applied to every client
+     */
+    public RateLimitInterceptor(ClientRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Takes a token for the client of a request.
+     *
+     * @param request the request
+     * @param response the response
+     * @param handler the handler the request is going to
+     * @return true, as limited requests are turned away by an exception
+     * @throws ThrottledException with status 429 if the client exceeded its rate limit
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            limiter.acquire(request.getRemoteAddr());
+        }
+        return true;
+    }
+}
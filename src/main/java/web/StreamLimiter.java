@@ -0,0 +1,150 @@
+package web;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits how many streamed exports run at once, in total and per client.
+ *
+ * Streams may run for minutes, so they do not take slots from the {@link AdmissionControl} of
+ * searches, where a few slow exports would shed every cheap search. They have their own small
+ * limit instead, and no queue: a stream over the limit is turned away at once.
+ */
+public class StreamLimiter {
+    /** The number of streams that may run at once. */
+    private final int maxStreams;
+    /** The number of streams one client may run at once. */
+    private final int maxPerClient;
+    /** The Retry-After of rejected streams, in seconds. */
+    private final long retryAfterSeconds;
+    /** Guards all state below. */
+    private final ReentrantLock lock = new ReentrantLock();
+    /** The number of streams running for each client that has any. */
+    private final Map<String, Integer> perClient = new HashMap<>();
+    /** The number of streams running. */
+    private int active;
+    /** The number of streams turned away. */
+    private long rejected;
+
+    /**
+     * Constructs a new StreamLimiter.
+     *
+     * @param maxStreams the number of streams that may run at once
+     * @param maxPerClient the number of streams one client may run at once
+     * @param retryAfterSeconds the Retry-After of rejected streams, in seconds
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public StreamLimiter(int maxStreams, int maxPerClient, long retryAfterSeconds) {
+        if (maxStreams < 1 || maxPerClient < 1) {
+            throw new IllegalArgumentException("Stream limits must be positive.");
+        }
+        this.maxStreams = maxStreams;
+        this.maxPerClient = maxPerClient;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Takes a stream slot for a client. The returned permit must be closed when the stream ends.
+     *
+     * @param client the client's key, such as its address
+     * @return the permit holding the slot
+     * @throws ThrottledException with status 429 if the client runs too many streams, or 503
+     *         if the server does
+     */
+    public Permit acquire(String client) {
+        lock.lock();
+        try {
+            int running = perClient.getOrDefault(client, 0);
+            if (running >= maxPerClient) {
+                rejected++;
+                throw new ThrottledException(429, "Too many streams, try again later", retryAfterSeconds);
+            }
+            if (active >= maxStreams) {
+                rejected++;
+                throw new ThrottledException(503, "Server busy, try again later", retryAfterSeconds);
+            }
+            perClient.put(client, running + 1);
+            active++;
+            return new Permit(client);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of streams running.
+     *
+     * @return the number of active streams
+     */
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of streams turned away.
+     *
+     * @return the number of rejected streams
+     */
+    public long getRejectedCount() {
+        lock.lock();
+        try {
+            return rejected;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a finished stream's slot.
+     *
+     * @param client the client's key
+     */
+    private void release(String client) {
+        lock.lock();
+        try {
+            perClient.computeIfPresent(client, (key, running) -> running > 1 ? running - 1 : null);
+            active--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A slot held by a running stream.
+     */
+    public final class Permit implements AutoCloseable {
+        /** The client's key. */
+        private final String client;
+        /** Whether the slot was given back. */
+        private boolean released;
+
+        /**
+         * Constructs a new Permit.
+         *
+         * @param client the client's key
+         */
+        private Permit(String client) {
+            this.client = client;
+        }
+
+        /**
+         * Gives the slot back. Does nothing if it was already given back.
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (released) {
+                    return;
+                }
+                released = true;
+            }
+            release(client);
+        }
+    }
+}
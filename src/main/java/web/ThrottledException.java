@@ -0,0 +1,46 @@
+package web;
+
+/**
+ * Thrown when a request is turned away to protect the server: 429 when a client exceeds its
+ * rate limit, 503 when the server is overloaded. Answered with a Retry-After header.
+ */
+public class ThrottledException extends RuntimeException {
+    /** The serialization version of the exception. */
+    private static final long serialVersionUID = 1L;
+
+    /** The HTTP status of the response. */
+    private final int status;
+    /** The number of seconds after which the client may try again. */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ThrottledException.
+     *
+     * @param status the HTTP status of the response, 429 or 503
+     * @param message the reason
+     * @param retryAfterSeconds the number of seconds after which the client may try again
+     */
+    public ThrottledException(int status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Returns the HTTP status of the response.
+     *
+     * @return 429 or 503
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the number of seconds after which the client may try again.
+     *
+     * @return the value of the Retry-After header
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,53 @@
+package web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Reports how search traffic is being limited, for dashboards and alerts.
+ */
+@RestController
+public class TrafficController {
+    /** Limits how many searches run at once. */
+    private final AdmissionControl admission;
+    /** Limits the request rate of each client. */
+    private final ClientRateLimiter limiter;
+    /** Limits how many streams run at once. */
+    private final StreamLimiter streams;
+
+    /**
+     * Constructs a new TrafficController.
+     *
+     * @param admission limits how many searches run at once
+     * @param limiter limits the request rate of each client
+     * @param streams limits how many streams run at once
+     */
+    public TrafficController(AdmissionControl admission, ClientRateLimiter limiter, StreamLimiter streams) {
+        this.admission = admission;
+        this.limiter = limiter;
+        this.streams = streams;
+    }
+
+    /**
+     * Returns the current admission state and the counts since startup.
+     *
+     * @return the running and waiting searches, the admitted, queued, shed and rate-limited
+     *         counts, and the running and rejected streams
+     */
+    @GetMapping("/metrics/traffic")
+    public Map<String, Number> traffic() {
+        Map<String, Number> metrics = new LinkedHashMap<>();
+        metrics.put("active", admission.getActive());
+        metrics.put("waiting", admission.getWaiting());
+        metrics.put("admitted", admission.getAdmittedCount());
+        metrics.put("queued", admission.getQueuedCount());
+        metrics.put("shed", admission.getShedCount());
+        metrics.put("rateLimited", limiter.getLimitedCount());
+        metrics.put("clients", limiter.getClientCount());
+        metrics.put("streams", streams.getActive());
+        metrics.put("streamsRejected", streams.getRejectedCount());
+        return metrics;
+    }
+}
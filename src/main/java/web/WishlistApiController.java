@@ -0,0 +1,137 @@
+package web;
+import controller.ACController;
+import controller.SearchSession;
+import model.Dog;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Reads and edits the wishlist of a visitor.
+ *
+ * Visitors are told apart by the {@value #SESSION_HEADER} header. A request without it starts
+ * a new session, whose id is returned in the same header of the response. Only ids handed out
+ * this way are accepted; an unknown or evicted id is answered with 404, and the client starts
+ * over without the header.
+ */
+@RestController
+@RequestMapping(value = "/wishlist", produces = MediaType.APPLICATION_JSON_VALUE)
+public class WishlistApiController {
+    /** The header carrying the session id. */
+    public static final String SESSION_HEADER = "X-Session-Id";
+
+    /** The controller shared by all requests. */
+    private final ACController controller;
+    /** The serialized JSON of each dog. */
+    private final DogJsonCache json;
+
+    /**
+     * Constructs a new WishlistApiController.
+     *
+     * @param controller the controller shared by all requests
+     * @param json the serialized JSON of each dog
+     */
+    public WishlistApiController(ACController controller, DogJsonCache json) {
+        this.controller = controller;
+        this.json = json;
+    }
+
+    /**
+     * Returns the wishlist of a session.
+     *
+     * @param sessionId the session id, or null to start a new session
+     * @return the dogs in the wishlist as JSON, in the order they were added
+     * @throws ResponseStatusException with status 404 if the session is unknown
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getWishList(
+            @RequestHeader(name = SESSION_HEADER, required = false) String sessionId) {
+        ACController session = session(sessionId);
+        return withSession(session, session.getWishList());
+    }
+
+    /**
+     * Adds an adoptable dog to the wishlist of a session. Adding a dog twice has no effect.
+     *
+     * @param sessionId the session id, or null to start a new session
+     * @param id the id of the dog
+     * @return the updated wishlist
+     * @throws ResponseStatusException with status 404 if no adoptable dog has that id or the
+     *         session is unknown
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<byte[]> addToWishList(
+            @RequestHeader(name = SESSION_HEADER, required = false) String sessionId,
+            @PathVariable String id) {
+        Dog dog = controller.getDog(id);
+        if (dog == null || !dog.getIsReady()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No adoptable dog with id " + id);
+        }
+        ACController session = session(sessionId);
+        session.addToWishList(dog);
+        return withSession(session, session.getWishList());
+    }
+
+    /**
+     * Removes a dog from the wishlist of a session.
+     *
+     * @param sessionId the session id, or null to start a new session
+     * @param id the id of the dog
+     * @return the updated wishlist
+     * @throws ResponseStatusException with status 404 if the dog is not in the wishlist or the
+     *         session is unknown
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<byte[]> removeFromWishList(
+            @RequestHeader(name = SESSION_HEADER, required = false) String sessionId,
+            @PathVariable String id) {
+        ACController session = session(sessionId);
+        if (!session.isInWishList(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dog " + id + " is not in the wishlist");
+        }
+        session.removeFromWishList(id);
+        return withSession(session, session.getWishList());
+    }
+
+    /**
+     * Returns a controller bound to the given session, or to a new session if none is given.
+     * Clients cannot choose their own ids, so they cannot fill the registry with sessions.
+     *
+     * @param sessionId the session id, or null
+     * @return the controller for the session
+     * @throws ResponseStatusException with status 404 if no session has that id
+     */
+    private ACController session(String sessionId) {
+        if (sessionId == null || sessionId.isBlank()) {
+            return controller.forSession(controller.getSessions().create());
+        }
+        SearchSession session = controller.getSessions().get(sessionId);
+        if (session == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown session " + sessionId);
+        }
+        return controller.forSession(session);
+    }
+
+    /**
+     * Wraps a wishlist in a response carrying the session id.
+     *
+     * @param session the controller bound to the session
+     * @param wishList the wishlist
+     * @return the response, with the wishlist as JSON
+     */
+    private ResponseEntity<byte[]> withSession(ACController session, List<Dog> wishList) {
+        return ResponseEntity.ok()
+                .header(SESSION_HEADER, session.getSession().getId())
+                .body(json.toJson(wishList));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import controller.ACController;
+import controller.SearchQuery;
 import model.Dog;
 import model.AdoptionCenterModel;
 import model.Breed;
@@ -150,6 +151,36 @@ public class ACControllerTest {
         assertEquals("999 could not be found in the wish list.", result);
     }
 
+    /**
+     * Tests the isInWishList method before and after adding and removing a dog.
+     * Verifies that membership is tracked by dog ID.
+     */
+    @Test
+    public void testIsInWishList() {
+        assertFalse(controller.isInWishList(dog1.getID()));
+        controller.addToWishList(dog1);
+        assertTrue(controller.isInWishList(dog1.getID()));
+        assertFalse(controller.isInWishList(dog2.getID()));
+        controller.removeFromWishList(dog1.getID());
+        assertFalse(controller.isInWishList(dog1.getID()));
+    }
+
+    /**
+     * Tests that the wish list keeps insertion order and cannot be modified directly.
+     * Verifies that removing a dog keeps the order of the remaining dogs.
+     */
+    @Test
+    public void testWishListOrderAndUnmodifiable() {
+        controller.addToWishList(dog2);
+        controller.addToWishList(dog1);
+        controller.addToWishList(dog3);
+        controller.removeFromWishList(dog1.getID());
+        List<Dog> wishList = controller.getWishList();
+
+        assertEquals(List.of(dog2, dog3), wishList);
+        assertThrows(UnsupportedOperationException.class, () -> wishList.add(dog1));
+    }
+
     /**
      * Tests the setHomeList method to ensure dogs are sorted by age in ascending order.
      * Verifies the order of dogs in the home list.
@@ -215,4 +246,21 @@ public class ACControllerTest {
         assertTrue(file.exists());
         file.delete(); // Cleanup the file after test
     }
+
+    /**
+     * Tests that searches see dogs that became adoptable after the controller was created.
+     */
+    @Test
+    public void testSearchSeesModelChanges() {
+        AdoptionCenterModel model = new AdoptionCenterModel();
+        Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+        ACController empty = new ACController(model);
+        SearchQuery all = new SearchQuery(null, null, null, null, null, null, "name", true);
+        assertEquals(0, empty.search(all).count());
+
+        model.addDog(new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, false));
+        model.markDogReadyForAdoption("1", true);
+
+        assertEquals(1, empty.search(all).count());
+    }
 }
@@ -0,0 +1,135 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import web.AdmissionControl;
+import web.ThrottledException;
+
+public class AdmissionControlTest {
+
+    /**
+     * Starts a search in the background that records its name once admitted and holds its slot
+     * only briefly.
+     *
+     * @param admission the admission control
+     * @param scan whether the search is a name scan
+     * @param name the name to record
+     * @param order the names of admitted searches, in order
+     * @return the future of the search
+     */
+    private static CompletableFuture<Void> search(AdmissionControl admission, boolean scan, String name,
+                                                  List<String> order) {
+        return CompletableFuture.runAsync(() -> {
+            try (AdmissionControl.Permit permit = admission.acquire(scan)) {
+                order.add(name);
+            }
+        });
+    }
+
+    /**
+     * Waits until a number of searches are waiting for a slot.
+     *
+     * @param admission the admission control
+     * @param waiting the number of waiting searches
+     */
+    private static void awaitWaiting(AdmissionControl admission, int waiting) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (admission.getWaiting() < waiting && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(waiting, admission.getWaiting());
+    }
+
+    /**
+     * Tests that searches are admitted directly while slots are free.
+     */
+    @Test
+    public void testAdmitsDirectly() {
+        AdmissionControl admission = new AdmissionControl(2, 0, Duration.ofMillis(10), 1);
+        AdmissionControl.Permit first = admission.acquire(false);
+        AdmissionControl.Permit second = admission.acquire(true);
+        assertEquals(2, admission.getActive());
+
+        ThrottledException e = assertThrows(ThrottledException.class, () -> admission.acquire(false));
+        assertEquals(503, e.getStatus());
+        assertEquals(1, e.getRetryAfterSeconds());
+        first.close();
+        first.close(); // closing twice gives back one slot
+        second.close();
+        assertEquals(0, admission.getActive());
+        assertEquals(2, admission.getAdmittedCount());
+        assertEquals(1, admission.getShedCount());
+    }
+
+    /**
+     * Tests that a freed slot goes to waiting cheap searches before waiting scans.
+     */
+    @Test
+    public void testCheapSearchesGoFirst() throws Exception {
+        AdmissionControl admission = new AdmissionControl(1, 4, Duration.ofSeconds(10), 1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        AdmissionControl.Permit running = admission.acquire(false);
+        CompletableFuture<Void> scan = search(admission, true, "scan", order);
+        awaitWaiting(admission, 1);
+        CompletableFuture<Void> cheap = search(admission, false, "cheap", order);
+        awaitWaiting(admission, 2);
+
+        running.close();
+        CompletableFuture.allOf(scan, cheap).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("cheap", "scan"), order);
+        assertEquals(3, admission.getAdmittedCount());
+        assertEquals(2, admission.getQueuedCount());
+        assertEquals(0, admission.getActive());
+    }
+
+    /**
+     * Tests that a full queue sheds scans, and that a cheap search takes the place of the newest scan.
+     */
+    @Test
+    public void testFullQueueShedsScans() throws Exception {
+        AdmissionControl admission = new AdmissionControl(1, 2, Duration.ofSeconds(10), 1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        AdmissionControl.Permit running = admission.acquire(true);
+        CompletableFuture<Void> oldScan = search(admission, true, "old", order);
+        awaitWaiting(admission, 1);
+        CompletableFuture<Void> newScan = search(admission, true, "new", order);
+        awaitWaiting(admission, 2);
+
+        assertThrows(ThrottledException.class, () -> admission.acquire(true));
+        CompletableFuture<Void> cheap = search(admission, false, "cheap", order);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> newScan.get(10, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof ThrottledException);
+        awaitWaiting(admission, 2);
+
+        running.close();
+        CompletableFuture.allOf(oldScan, cheap).get(10, TimeUnit.SECONDS);
+        assertEquals(List.of("cheap", "old"), order);
+        assertEquals(2, admission.getShedCount());
+    }
+
+    /**
+     * Tests that a search waiting longer than the maximum wait is shed and leaves the queue.
+     */
+    @Test
+    public void testShedsAfterMaxWait() {
+        AdmissionControl admission = new AdmissionControl(1, 4, Duration.ofMillis(20), 1);
+        AdmissionControl.Permit running = admission.acquire(false);
+
+        assertThrows(ThrottledException.class, () -> admission.acquire(false));
+        assertEquals(0, admission.getWaiting());
+        assertEquals(1, admission.getQueuedCount());
+        assertEquals(1, admission.getShedCount());
+        running.close();
+        admission.acquire(false).close();
+        assertEquals(0, admission.getActive());
+    }
+}
@@ -5,8 +5,13 @@ import org.junit.jupiter.api.Test;
 import model.AdoptionCenterModel;
 import model.Breed;
 import model.Dog;
+import model.DogChange;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public class AdoptionCenterModelTest {
 
@@ -250,4 +255,112 @@ public class AdoptionCenterModelTest {
         assertEquals(dog2, adoptableDogs.get(1));
     }
 
+    /**
+     * Tests that every change to the model or to one of its dogs increases the model version,
+     * and that a changed dog takes the new model version.
+     */
+    @Test
+    public void testVersionIncreasesOnChange() {
+        long initial = model.getVersion();
+        model.addDog(dog1);
+        model.addDog(dog2);
+        long afterAdd = model.getVersion();
+        assertEquals(initial + 2, afterAdd);
+        assertEquals(afterAdd, dog2.getVersion());
+
+        model.changeDogPrice("1", 100.0);
+        assertEquals(afterAdd + 1, model.getVersion());
+        assertEquals(model.getVersion(), dog1.getVersion());
+
+        dog2.changeName("Renamed"); // direct changes are seen by the model too
+        assertEquals(afterAdd + 2, model.getVersion());
+        assertEquals(model.getVersion(), dog2.getVersion());
+
+        model.removeDog("2");
+        long afterRemove = model.getVersion();
+        assertEquals(afterAdd + 3, afterRemove);
+        dog2.changeName("Gone"); // a removed dog no longer changes the model
+        assertEquals(afterRemove, model.getVersion());
+        assertTrue(model.getLastModified() <= System.currentTimeMillis());
+    }
+
+    /**
+     * Tests that a changed dog already has its new version when the listeners are told.
+     */
+    @Test
+    public void testDogVersionSetBeforeListeners() {
+        model.addDog(dog1);
+        List<Long> seen = new ArrayList<>();
+        model.addChangeListener(change -> {
+            assertEquals(change.version(), dog1.getVersion());
+            seen.add(dog1.getVersion());
+        });
+
+        model.changeDogPrice("1", 300.0);
+        model.markDogReadyForAdoption("1", true);
+
+        assertEquals(List.of(model.getVersion() - 1, model.getVersion()), seen);
+    }
+
+    /**
+     * Tests that change listeners are told what changed, with the dog's state after the change,
+     * until they are removed.
+     */
+    @Test
+    public void testChangeListener() {
+        List<DogChange> changes = new ArrayList<>();
+        Consumer<DogChange> listener = changes::add;
+        model.addChangeListener(listener);
+
+        model.addDog(dog1);
+        model.changeDogPrice("1", 250.0);
+        model.markDogReadyForAdoption("1", true);
+        model.removeDog("1");
+        model.removeChangeListener(listener);
+        model.addDog(dog2);
+
+        assertEquals(4, changes.size());
+        assertEquals(DogChange.Kind.ADDED, changes.get(0).kind());
+        assertEquals(DogChange.Kind.PRICE, changes.get(1).kind());
+        assertEquals(250.0, changes.get(1).price());
+        assertEquals(DogChange.Kind.READY, changes.get(2).kind());
+        assertTrue(changes.get(2).ready());
+        assertEquals(DogChange.Kind.REMOVED, changes.get(3).kind());
+        assertEquals("1", changes.get(3).dogId());
+        assertEquals(model.getVersion() - 1, changes.get(3).version());
+    }
+
+    /**
+     * Tests that dogs can be read while another thread adds and removes them.
+     */
+    @Test
+    public void testConcurrentReadsAndWrites() throws Exception {
+        Breed breed = new Breed("1", "New Breed", "Description", 10, 12, 50, 70, 45, 60, false);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    model.getAllDogs();
+                    model.getAdoptableDogs();
+                    model.getDogById("500");
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+
+        for (int i = 0; i < 2000; i++) {
+            model.addDog(new Dog(String.valueOf(i), "Dog" + i, "f", breed, 2, 45, "1.png", 100.0, true));
+            if (i % 2 == 1) {
+                model.removeDog(String.valueOf(i - 1));
+            }
+        }
+        done.set(true);
+        reader.join();
+
+        assertNull(failure.get());
+        assertEquals(1000, model.getAllDogs().size());
+    }
 }
@@ -0,0 +1,143 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import model.ApiUtil;
+import model.Breed;
+
+public class ApiUtilPaginationTest {
+
+    private static final int PAGES = 6;
+
+    private HttpServer server;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+    private AtomicInteger requests;
+    private volatile int failingPage;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        inFlight = new AtomicInteger();
+        maxInFlight = new AtomicInteger();
+        requests = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/breeds", this::handlePage);
+        server.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Serves one page of two breeds, with v2-style pagination links and a short delay.
+     */
+    private void handlePage(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String query = exchange.getRequestURI().getRawQuery();
+        int page = query == null ? 1 : Integer.parseInt(query.replaceAll(".*=", ""));
+        if (page == failingPage) {
+            inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+        String base = "http://127.0.0.1:" + server.getAddress().getPort() + "/breeds";
+        String next = page < PAGES ? "\"" + base + "?page%5Bnumber%5D=" + (page + 1) + "\"" : "null";
+        String json = "{\"data\":[" + breed("Breed " + page + "a") + "," + breed("Breed " + page + "b") + "],"
+                + "\"meta\":{\"pagination\":{\"current\":" + page + ",\"last\":" + PAGES + "}},"
+                + "\"links\":{\"self\":\"" + base + "\",\"next\":" + next + "}}";
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        inFlight.decrementAndGet();
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String breed(String name) {
+        return "{\"id\":\"" + name + "\",\"attributes\":{\"name\":\"" + name + "\",\"description\":\"d\","
+                + "\"life\":{\"min\":10,\"max\":12},\"male_weight\":{\"min\":25,\"max\":32},"
+                + "\"female_weight\":{\"min\":23,\"max\":30},\"hypoallergenic\":false}}";
+    }
+
+    /**
+     * Tests that breeds from every page are merged into one catalogue.
+     */
+    @Test
+    public void testGetAllBreedsMergesAllPages() throws Exception {
+        ApiUtil api = new ApiUtil("http://127.0.0.1:" + server.getAddress().getPort(), 3);
+        Map<String, Breed> breeds = api.getAllBreeds();
+
+        assertEquals(PAGES * 2, breeds.size());
+        assertNotNull(breeds.get("Breed 1a"));
+        assertNotNull(breeds.get("Breed " + PAGES + "b"));
+        assertEquals(PAGES, requests.get());
+    }
+
+    /**
+     * Tests that a fresh cache entry holds the breeds of every page and parses back to them.
+     */
+    @Test
+    public void testGetBreedsIfChangedMergesAllPages() throws Exception {
+        ApiUtil api = new ApiUtil("http://127.0.0.1:" + server.getAddress().getPort(), 3);
+        Map<String, Breed> breeds = api.parseBreeds(api.getBreedsIfChanged(null).body());
+
+        assertEquals(PAGES * 2, breeds.size());
+        assertEquals("d", breeds.get("Breed 3b").description());
+        assertEquals(api.getAllBreeds(), breeds);
+    }
+
+    /**
+     * Tests that the remaining pages are fetched in parallel without exceeding the limit.
+     */
+    @Test
+    public void testPagesFetchedConcurrentlyWithinLimit() throws Exception {
+        ApiUtil api = new ApiUtil("http://127.0.0.1:" + server.getAddress().getPort(), 3);
+        api.getAllBreeds();
+
+        assertTrue(maxInFlight.get() > 1);
+        assertTrue(maxInFlight.get() <= 3);
+    }
+
+    /**
+     * Tests that a failed page stops the fetch without requesting the pages after it.
+     */
+    @Test
+    public void testFailedPageStopsFetch() {
+        failingPage = 2;
+        ApiUtil api = new ApiUtil("http://127.0.0.1:" + server.getAddress().getPort(), 1);
+
+        assertThrows(IOException.class, api::getAllBreeds);
+        assertEquals(2, requests.get());
+    }
+
+    /**
+     * Tests that a concurrency limit below one is rejected.
+     */
+    @Test
+    public void testInvalidConcurrencyLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new ApiUtil("http://127.0.0.1", 0));
+    }
+}
@@ -4,7 +4,9 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -75,6 +77,47 @@ public class ApiUtilTest {
         });
     }
 
+    /**
+     * Tests parsing from a stream against parsing from a String.
+     * Verifies that both produce the same breeds and that unknown fields are skipped.
+     * @throws IOException if there's an error parsing the JSON
+     */
+    @Test
+    public void testParseBreedsStreaming() throws IOException {
+        String json = "{\"data\":[{\"id\":\"1\",\"type\":\"breed\",\"attributes\":{\"name\":\"Beagle\",\"description\":\"Friendly\",\"life\":{\"min\":10,\"max\":12},\"male_weight\":{\"min\":25,\"max\":32},\"female_weight\":{\"min\":23,\"max\":30},\"hypoallergenic\":false},\"relationships\":{\"group\":{\"data\":{\"id\":\"g\"}}}}],\"links\":{\"next\":null}}";
+        Map<String, Breed> streamed = apiUtil.parseBreeds(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), true);
+
+        assertEquals(apiUtil.parseBreeds(json), streamed);
+    }
+
+    /**
+     * Tests the streaming parser with descriptions skipped.
+     * Verifies that all other fields are still read.
+     * @throws IOException if there's an error parsing the JSON
+     */
+    @Test
+    public void testParseBreedsStreamingWithoutDescription() throws IOException {
+        String json = "{\"data\":[{\"id\":\"1\",\"attributes\":{\"name\":\"Beagle\",\"description\":\"Friendly\",\"life\":{\"min\":10,\"max\":12},\"male_weight\":{\"min\":25,\"max\":32},\"female_weight\":{\"min\":23,\"max\":30},\"hypoallergenic\":true}}]}";
+        Breed breed = apiUtil.parseBreeds(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), false).get("Beagle");
+
+        assertEquals("", breed.description());
+        assertEquals(12, breed.lifeMax());
+        assertEquals(23, breed.femaleWeightMin());
+        assertEquals(true, breed.hypoallergenic());
+    }
+
+    /**
+     * Tests the streaming parser with invalid JSON data.
+     * Verifies that an IOException is thrown.
+     */
+    @Test
+    public void testParseBreedsStreamingInvalid() {
+        assertThrows(IOException.class, () -> apiUtil.parseBreeds(
+                new ByteArrayInputStream("test".getBytes(StandardCharsets.UTF_8)), true));
+    }
+
     /**
      * Tests the getBreeds method of ApiUtil.
      * Verifies that the method doesn't throw an exception and returns a non-empty string.
@@ -0,0 +1,109 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import model.ApiUtil;
+import model.Breed;
+import model.BreedCache;
+import model.BreedLoader;
+
+public class BreedLoaderTest {
+
+    private static final String JSON = "{\"data\":[{\"id\":\"1\",\"attributes\":{\"name\":\"Beagle\",\"description\":\"Friendly\",\"life\":{\"min\":10,\"max\":12},\"male_weight\":{\"min\":25,\"max\":32},\"female_weight\":{\"min\":23,\"max\":30},\"hypoallergenic\":false}}]}";
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private AtomicInteger notModified;
+    private BreedCache cache;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        notModified = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/breeds", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = JSON.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        cache = new BreedCache(tempDir.resolve("breeds.json"), Duration.ofHours(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Tests that without a cache the bundled catalogue is used and a refresh is needed.
+     */
+    @Test
+    public void testLoadWithoutCacheUsesBundledBreeds() throws IOException {
+        BreedLoader loader = new BreedLoader(new ApiUtil(baseUrl()), cache);
+        Map<String, Breed> breeds = loader.load();
+
+        assertNotNull(breeds.get("Hokkaido"));
+        assertTrue(loader.needsRefresh());
+    }
+
+    /**
+     * Tests that a refresh stores the response and that the next refresh is conditional.
+     */
+    @Test
+    public void testRefreshStoresAndRevalidates() throws Exception {
+        BreedLoader loader = new BreedLoader(new ApiUtil(baseUrl()), cache);
+        loader.load();
+        Map<String, Breed> refreshed = loader.refreshInBackground().get();
+        assertEquals(1, refreshed.size());
+        assertEquals("\"v1\"", cache.load().etag());
+
+        BreedLoader restarted = new BreedLoader(new ApiUtil(baseUrl()), cache);
+        assertNotNull(restarted.load().get("Beagle"));
+        assertFalse(restarted.needsRefresh());
+        assertNotNull(restarted.refreshInBackground().get().get("Beagle"));
+        assertEquals(1, notModified.get());
+    }
+
+    /**
+     * Tests that an unreachable API falls back to the locally available breeds.
+     */
+    @Test
+    public void testRefreshOffline() throws Exception {
+        cache.store(new BreedCache.Entry(JSON, "\"v1\"", null, 0));
+        server.stop(0);
+        BreedLoader loader = new BreedLoader(new ApiUtil(baseUrl()), cache);
+
+        assertTrue(loader.needsRefresh());
+        assertNotNull(loader.load().get("Beagle"));
+        assertNotNull(loader.refreshInBackground().get().get("Beagle"));
+    }
+}
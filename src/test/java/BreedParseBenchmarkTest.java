@@ -0,0 +1,104 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import model.ApiUtil;
+import model.Breed;
+
+/**
+ * Compares the tree-based and streaming breed parsers. Run with ./gradlew perfTest.
+ */
+@Tag("perf")
+public class BreedParseBenchmarkTest {
+
+    private static final int BREEDS = 5_000;
+    private static final int ROUNDS = 50;
+
+    /**
+     * Parses a large synthetic breed list with each parser and reports time and bytes allocated.
+     */
+    @Test
+    public void testCompareParsers() throws Exception {
+        byte[] json = syntheticBreeds().getBytes(StandardCharsets.UTF_8);
+        ApiUtil api = new ApiUtil();
+        ObjectMapper mapper = new ObjectMapper();
+
+        for (int i = 0; i < 10; i++) { // warm up
+            parseTree(mapper, new String(json, StandardCharsets.UTF_8));
+            api.parseBreeds(new ByteArrayInputStream(json), true);
+        }
+
+        report("tree (String + readTree)", () -> assertEquals(BREEDS,
+                parseTree(mapper, new String(json, StandardCharsets.UTF_8))));
+        report("streaming", () -> assertEquals(BREEDS,
+                api.parseBreeds(new ByteArrayInputStream(json), true).size()));
+        report("streaming, no description", () -> assertEquals(BREEDS,
+                api.parseBreeds(new ByteArrayInputStream(json), false).size()));
+    }
+
+    /**
+     * Parses a breed list the way ApiUtil did before the streaming parser, through a full JSON
+     * tree, as the baseline of the comparison.
+     *
+     * @return the number of breeds read
+     */
+    private static int parseTree(ObjectMapper mapper, String json) throws Exception {
+        Map<String, Breed> breeds = new HashMap<>();
+        for (JsonNode node : mapper.readTree(json).get("data")) {
+            JsonNode attributes = node.get("attributes");
+            breeds.put(attributes.get("name").asText(), new Breed(node.get("id").asText(),
+                    attributes.get("name").asText(), attributes.get("description").asText(),
+                    attributes.get("life").get("min").asInt(), attributes.get("life").get("max").asInt(),
+                    attributes.get("male_weight").get("min").asInt(), attributes.get("male_weight").get("max").asInt(),
+                    attributes.get("female_weight").get("min").asInt(),
+                    attributes.get("female_weight").get("max").asInt(),
+                    attributes.get("hypoallergenic").asBoolean()));
+        }
+        return breeds.size();
+    }
+
+    private interface Parse {
+        void run() throws Exception;
+    }
+
+    private static void report(String name, Parse parse) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            parse.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        System.out.printf("%-28s %8.2f ms/op %12d bytes/op%n", name,
+                elapsed / 1e6 / ROUNDS, allocated / ROUNDS);
+    }
+
+    private static String syntheticBreeds() {
+        String description = "A friendly and adaptable companion. ".repeat(20);
+        StringBuilder json = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < BREEDS; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(i).append("\",\"type\":\"breed\",\"attributes\":{\"name\":\"Breed ")
+                    .append(i).append("\",\"description\":\"").append(description)
+                    .append("\",\"life\":{\"min\":10,\"max\":12},\"male_weight\":{\"min\":25,\"max\":32},")
+                    .append("\"female_weight\":{\"min\":23,\"max\":30},\"hypoallergenic\":false},")
+                    .append("\"relationships\":{\"group\":{\"data\":{\"id\":\"g\",\"type\":\"group\"}}}}");
+        }
+        return json.append("],\"links\":{\"next\":null}}").toString();
+    }
+}
@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import model.Breed;
+import model.BreedRegistry;
+import model.Dog;
+
+public class BreedRegistryTest {
+
+    private BreedRegistry registry;
+    private Breed beagle;
+    private Breed akita;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new BreedRegistry();
+        beagle = new Breed("1", "Beagle", "Friendly", 10, 12, 25, 32, 23, 30, false);
+        akita = new Breed("2", "Akita", "Loyal", 10, 13, 100, 130, 70, 100, false);
+    }
+
+    /**
+     * Tests that equal breeds get the same ordinal and the same shared record.
+     */
+    @Test
+    public void testInternEqualBreeds() {
+        Breed copy = new Breed("1", "Beagle", "Friendly", 10, 12, 25, 32, 23, 30, false);
+        int ordinal = registry.intern(beagle);
+
+        assertEquals(ordinal, registry.intern(copy));
+        assertSame(beagle, registry.canonical(copy));
+        assertNotEquals(ordinal, registry.intern(akita));
+        assertEquals(2, registry.size());
+    }
+
+    /**
+     * Tests that name ranks follow alphabetical order, not registration order.
+     */
+    @Test
+    public void testNameRank() {
+        int beagleOrdinal = registry.intern(beagle);
+        int akitaOrdinal = registry.intern(akita);
+
+        assertTrue(registry.nameRank(akitaOrdinal) < registry.nameRank(beagleOrdinal));
+    }
+
+    /**
+     * Tests the lookup of breeds by name substring.
+     */
+    @Test
+    public void testOrdinalsWithNameContaining() {
+        int beagleOrdinal = registry.intern(beagle);
+        registry.intern(akita);
+        BitSet matches = registry.ordinalsWithNameContaining("eag");
+
+        assertEquals(1, matches.cardinality());
+        assertTrue(matches.get(beagleOrdinal));
+    }
+
+    /**
+     * Tests that dogs of equal breeds share an ordinal in the global registry.
+     */
+    @Test
+    public void testDogsShareBreedOrdinal() {
+        Breed copy = new Breed("1", "Beagle", "Friendly", 10, 12, 25, 32, 23, 30, false);
+        Dog dog1 = new Dog("1", "Max", "M", beagle, 2, 20.0, "1.png");
+        Dog dog2 = new Dog("2", "Bella", "F", copy, 4, 30.0, "2.png");
+
+        assertEquals(dog1.getBreedOrdinal(), dog2.getBreedOrdinal());
+        assertSame(dog1.getBreed(), dog2.getBreed());
+    }
+
+    /**
+     * Tests that an unknown ordinal is rejected.
+     */
+    @Test
+    public void testGetUnknownOrdinal() {
+        assertThrows(IndexOutOfBoundsException.class, () -> registry.get(0));
+    }
+}
@@ -0,0 +1,229 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import model.AdoptionCenterModel;
+import model.Breed;
+import model.Dog;
+
+import web.ChangeFeed;
+
+public class ChangeFeedTest {
+
+    private AdoptionCenterModel model;
+    private ExecutorService fanout;
+
+    /**
+     * Records the events sent to one subscriber and whether its stream was closed.
+     */
+    private static class RecordingSink implements ChangeFeed.Sink {
+        final BlockingQueue<ChangeFeed.Event> events = new LinkedBlockingQueue<>();
+        final CountDownLatch closed = new CountDownLatch(1);
+        volatile CountDownLatch gate;
+
+        @Override
+        public void send(ChangeFeed.Event event) throws IOException {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        ChangeFeed.Event next() throws InterruptedException {
+            ChangeFeed.Event event = events.poll(5, TimeUnit.SECONDS);
+            assertTrue(event != null, "no event received");
+            return event;
+        }
+    }
+
+    /**
+     * Sets up a model of ten dogs, all with a price, and a two-thread fan-out pool.
+     */
+    @BeforeEach
+    public void setUp() {
+        model = new AdoptionCenterModel();
+        Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+        for (int i = 1; i <= 10; i++) {
+            model.addDog(new Dog(String.valueOf(i), "Dog" + i, "M", breed, 2, 20.0, "1.png", 100.0 * i, false));
+        }
+        fanout = Executors.newFixedThreadPool(2);
+    }
+
+    /**
+     * Shuts down the fan-out pool.
+     */
+    @AfterEach
+    public void tearDown() {
+        fanout.shutdownNow();
+    }
+
+    /**
+     * Tests that price and adoption changes are published with the model version as id, and
+     * other changes are not.
+     */
+    @Test
+    public void testPublishesAdoptionChanges() throws Exception {
+        ChangeFeed feed = new ChangeFeed(model, new ObjectMapper(), fanout, 16, 16);
+        RecordingSink sink = new RecordingSink();
+        feed.subscribe(sink, null);
+
+        model.changeDogAge("1", 3);
+        model.changeDogPrice("1", 150.0);
+        model.markDogReadyForAdoption("2", true);
+
+        ChangeFeed.Event price = sink.next();
+        assertEquals("price", price.name());
+        assertEquals(model.getDogById("1").getVersion(), price.id());
+        assertTrue(price.data().contains("\"price\":150.0"));
+        ChangeFeed.Event ready = sink.next();
+        assertEquals("ready", ready.name());
+        assertTrue(ready.data().contains("\"dogId\":\"2\""));
+        assertTrue(sink.events.isEmpty());
+        feed.close();
+        assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a subscriber falling further behind than its buffer is dropped with a resync
+     * event, while other subscribers receive every event.
+     */
+    @Test
+    public void testDropsSlowSubscriber() throws Exception {
+        ChangeFeed feed = new ChangeFeed(model, new ObjectMapper(), fanout, 2, 16);
+        RecordingSink fast = new RecordingSink();
+        RecordingSink slow = new RecordingSink();
+        slow.gate = new CountDownLatch(1);
+        feed.subscribe(fast, null);
+        ChangeFeed.Subscription slowSubscription = feed.subscribe(slow, null);
+
+        for (int i = 1; i <= 6; i++) {
+            model.changeDogPrice(String.valueOf(i), 50.0);
+            assertEquals("price", fast.next().name()); // keeps up
+        }
+        assertEquals(1, feed.getDroppedCount());
+        assertEquals(1, feed.getSubscriberCount());
+
+        slow.gate.countDown();
+        assertTrue(slow.closed.await(5, TimeUnit.SECONDS));
+        List<String> names = new ArrayList<>();
+        slow.events.forEach(event -> names.add(event.name()));
+        assertEquals(ChangeFeed.RESYNC, names.get(names.size() - 1));
+        assertTrue(names.size() <= 2); // the event being sent when it fell behind, then resync
+        assertTrue(slowSubscription.isClosed());
+        feed.close();
+    }
+
+    /**
+     * Tests that subscribers that stop reading are dropped once a send passes the write timeout,
+     * even when there are more of them than fan-out threads, so the others still get events.
+     */
+    @Test
+    public void testDropsStalledSubscribers() throws Exception {
+        ChangeFeed feed = new ChangeFeed(model, new ObjectMapper(), fanout, 16, 16, Duration.ofMillis(200));
+        List<RecordingSink> stalled = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            RecordingSink sink = new RecordingSink();
+            sink.gate = new CountDownLatch(1); // never opened: the client stopped reading
+            stalled.add(sink);
+            feed.subscribe(sink, null);
+        }
+        RecordingSink reading = new RecordingSink();
+        feed.subscribe(reading, null);
+
+        for (int i = 1; i <= 3; i++) {
+            model.changeDogPrice(String.valueOf(i), 60.0);
+        }
+        for (int i = 1; i <= 3; i++) {
+            assertTrue(reading.next().data().contains("\"dogId\":\"" + i + "\""));
+        }
+        for (RecordingSink sink : stalled) {
+            assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+            assertTrue(sink.events.isEmpty());
+        }
+        assertEquals(5, feed.getDroppedCount());
+        assertEquals(1, feed.getSubscriberCount());
+        feed.close();
+    }
+
+    /**
+     * Tests that a reconnecting subscriber receives the events after its last seen id, or a
+     * resync event if they are no longer kept.
+     */
+    @Test
+    public void testReplaysMissedEvents() throws Exception {
+        ChangeFeed feed = new ChangeFeed(model, new ObjectMapper(), fanout, 16, 3);
+        RecordingSink first = new RecordingSink();
+        feed.subscribe(first, null);
+        for (int i = 1; i <= 5; i++) {
+            model.changeDogPrice(String.valueOf(i), 75.0);
+        }
+        List<ChangeFeed.Event> seen = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            seen.add(first.next());
+        }
+
+        RecordingSink resumed = new RecordingSink();
+        feed.subscribe(resumed, seen.get(2).id());
+        assertEquals(seen.get(3), resumed.next());
+        assertEquals(seen.get(4), resumed.next());
+        assertFalse(resumed.closed.await(100, TimeUnit.MILLISECONDS));
+
+        RecordingSink tooLate = new RecordingSink();
+        feed.subscribe(tooLate, seen.get(0).id());
+        assertEquals(ChangeFeed.RESYNC, tooLate.next().name());
+        assertTrue(tooLate.closed.await(5, TimeUnit.SECONDS));
+        feed.close();
+    }
+
+    /**
+     * Tests that thousands of subscribers are all served by the two fan-out threads.
+     */
+    @Test
+    public void testFansOutToManySubscribers() throws Exception {
+        ChangeFeed feed = new ChangeFeed(model, new ObjectMapper(), fanout, 16, 16);
+        List<RecordingSink> sinks = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            RecordingSink sink = new RecordingSink();
+            sinks.add(sink);
+            feed.subscribe(sink, null);
+        }
+        for (int i = 1; i <= 10; i++) {
+            model.markDogReadyForAdoption(String.valueOf(i), true);
+        }
+        for (RecordingSink sink : sinks) {
+            for (int i = 1; i <= 10; i++) {
+                assertTrue(sink.next().data().contains("\"dogId\":\"" + i + "\""));
+            }
+        }
+        assertEquals(5000, feed.getSubscriberCount());
+        assertEquals(0, feed.getDroppedCount());
+        feed.close();
+        assertEquals(0, feed.getSubscriberCount());
+    }
+}
@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import web.ClientRateLimiter;
+import web.ThrottledException;
+
+public class ClientRateLimiterTest {
+
+    /**
+     * Tests that a client may burst up to the capacity and is then told when to retry.
+     */
+    @Test
+    public void testLimitsBursts() {
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(3, 0.5, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("10.0.0.1");
+        }
+        ThrottledException e = assertThrows(ThrottledException.class, () -> limiter.acquire("10.0.0.1"));
+
+        assertEquals(429, e.getStatus());
+        assertEquals(2, e.getRetryAfterSeconds());
+        assertEquals(1, limiter.getLimitedCount());
+        limiter.acquire("10.0.0.2"); // other clients have their own bucket
+        assertEquals(2, limiter.getClientCount());
+    }
+
+    /**
+     * Tests that buckets refill at the configured rate without exceeding the capacity.
+     */
+    @Test
+    public void testRefills() {
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(2, 10, now::get);
+        limiter.acquire("a");
+        limiter.acquire("a");
+        assertThrows(ThrottledException.class, () -> limiter.acquire("a"));
+
+        now.addAndGet(100_000_000); // one token after 100ms
+        limiter.acquire("a");
+        assertThrows(ThrottledException.class, () -> limiter.acquire("a"));
+
+        now.addAndGet(60_000_000_000L);
+        limiter.acquire("a");
+        limiter.acquire("a");
+        assertThrows(ThrottledException.class, () -> limiter.acquire("a"));
+    }
+
+    /**
+     * Tests that the buckets of idle clients are dropped.
+     */
+    @Test
+    public void testForgetsIdleClients() {
+        AtomicLong now = new AtomicLong();
+        ClientRateLimiter limiter = new ClientRateLimiter(30, 1, now::get);
+        for (int i = 0; i < 1000; i++) {
+            limiter.acquire("client" + i);
+        }
+        assertEquals(1000, limiter.getClientCount());
+
+        now.addAndGet(10_000_000_000L);
+        for (int i = 0; i < 24; i++) {
+            limiter.acquire("busy");
+        }
+        assertEquals(1, limiter.getClientCount());
+    }
+}
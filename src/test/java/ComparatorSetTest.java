@@ -163,6 +163,17 @@ public class ComparatorSetTest {
         assertTrue(predicate.test(dog1));
     }
 
+    /**
+     * Tests that numeric predicates accept the text of a number, as entered in a form.
+     */
+    @Test
+    public void testGetPredicateNumericText() {
+        assertTrue(ComparatorSet.getPredicate("age", "2").test(dog1));
+        assertTrue(ComparatorSet.getPredicate("weight", " 45 ").test(dog1));
+        assertThrows(IllegalArgumentException.class, () -> ComparatorSet.getPredicate("age", "two"));
+        assertThrows(IllegalArgumentException.class, () -> ComparatorSet.getPredicate("price", "1.2.3"));
+    }
+
     /**
      * Tests the price predicate retrieval and functionality.
      * Verifies that the predicate correctly filters dogs by price.
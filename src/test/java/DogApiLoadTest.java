@@ -0,0 +1,71 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import model.AdoptionCenterModel;
+import model.SyntheticInventory;
+
+import web.DogCenterApplication;
+
+@Tag("perf")
+@SpringBootTest(classes = DogCenterApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"dogcenter.rateLimit.burst=1000000", "dogcenter.rateLimit.perSecond=1000000",
+                "dogcenter.admission.queue=100000", "dogcenter.admission.maxWaitMillis=60000"})
+public class DogApiLoadTest {
+
+    /** The number of generated dogs added to the sample dogs. */
+    private static final int SYNTHETIC_DOGS = 100_000;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AdoptionCenterModel model;
+
+    /**
+     * Adds generated dogs after the sample dogs, so searches run over a realistic inventory.
+     */
+    @BeforeEach
+    public void addSyntheticDogs() throws Exception {
+        if (model.getAllDogs().size() < SYNTHETIC_DOGS) {
+            SyntheticInventory.bundled(SyntheticInventory.DEFAULT_SEED)
+                    .stream(31, SYNTHETIC_DOGS)
+                    .forEach(model::addDog);
+        }
+    }
+
+    /**
+     * Drives a mix of searches and lookups at increasing concurrency and reports latency
+     * percentiles and throughput.
+     */
+    @Test
+    public void testSearchLoad() throws Exception {
+        String base = "http://127.0.0.1:" + port;
+        List<URI> uris = List.of(
+                URI.create(base + "/dogs"),
+                URI.create(base + "/dogs?breed=Terrier&sort=age"),
+                URI.create(base + "/dogs?sex=f&page=1&size=10"),
+                URI.create(base + "/dogs?name=a&sort=name"),
+                URI.create(base + "/dogs/2"),
+                URI.create(base + "/dogs/17"),
+                URI.create(base + "/dogs/50000"));
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        for (int clients : new int[]{8, 32, 128}) {
+            HttpLoad.Result result = HttpLoad.run(client, uris, clients, Duration.ofSeconds(3), Duration.ofSeconds(10));
+            System.out.println("REST API load, " + result);
+            assertEquals(0, result.errors());
+            assertTrue(result.requests() > 0);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import controller.SessionRegistry;
+import model.AdoptionCenterModel;
+
+import web.DogCenterApplication;
+import web.WishlistApiController;
+
+@SpringBootTest(classes = DogCenterApplication.class,
+        properties = {"dogcenter.rateLimit.burst=100000", "dogcenter.rateLimit.perSecond=100000"})
+@AutoConfigureMockMvc
+public class DogApiTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private AdoptionCenterModel model;
+
+    @Autowired
+    private SessionRegistry sessions;
+
+    /**
+     * Tests that search results are paginated over all adoptable sample dogs.
+     */
+    @Test
+    public void testSearchPaginates() throws Exception {
+        mvc.perform(get("/dogs").param("page", "2").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(27))
+                .andExpect(jsonPath("$.totalPages").value(3))
+                .andExpect(jsonPath("$.page").value(2))
+                .andExpect(jsonPath("$.dogs.length()").value(7));
+    }
+
+    /**
+     * Tests that filters and sorting are applied.
+     */
+    @Test
+    public void testSearchFiltersAndSorts() throws Exception {
+        mvc.perform(get("/dogs").param("breed", "Hokkaido").param("sex", "f").param("sort", "age"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.dogs[0].name").value("Ivy"))
+                .andExpect(jsonPath("$.dogs[2].name").value("Sophie"));
+        mvc.perform(get("/dogs").param("age", "7").param("sort", "name").param("order", "desc"))
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.dogs[0].name").value("Sophie"));
+    }
+
+    /**
+     * Tests that invalid parameters are answered with 400 and a reason.
+     */
+    @Test
+    public void testInvalidParameters() throws Exception {
+        mvc.perform(get("/dogs").param("sort", "color"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").exists());
+        mvc.perform(get("/dogs").param("age", "old")).andExpect(status().isBadRequest());
+        mvc.perform(get("/dogs").param("size", "0")).andExpect(status().isBadRequest());
+        mvc.perform(get("/dogs").param("sex", "x")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests looking up adoptable dogs by id.
+     */
+    @Test
+    public void testGetDog() throws Exception {
+        mvc.perform(get("/dogs/2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Bella"));
+        mvc.perform(get("/dogs/14")).andExpect(status().isNotFound()); // not ready for adoption
+        mvc.perform(get("/dogs/999")).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that a wishlist is kept per session.
+     */
+    @Test
+    public void testWishListPerSession() throws Exception {
+        String session = mvc.perform(put("/wishlist/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(WishlistApiController.SESSION_HEADER))
+                .andReturn().getResponse().getHeader(WishlistApiController.SESSION_HEADER);
+
+        mvc.perform(put("/wishlist/3").header(WishlistApiController.SESSION_HEADER, session))
+                .andExpect(jsonPath("$.length()").value(2));
+        mvc.perform(get("/wishlist").header(WishlistApiController.SESSION_HEADER, session))
+                .andExpect(jsonPath("$[0].name").value("Bella"))
+                .andExpect(jsonPath("$[1].name").value("Charlie"));
+        mvc.perform(get("/wishlist")).andExpect(jsonPath("$.length()").value(0));
+
+        mvc.perform(delete("/wishlist/2").header(WishlistApiController.SESSION_HEADER, session))
+                .andExpect(jsonPath("$.length()").value(1));
+        mvc.perform(delete("/wishlist/2").header(WishlistApiController.SESSION_HEADER, session))
+                .andExpect(status().isNotFound());
+        mvc.perform(put("/wishlist/14")).andExpect(status().isNotFound());
+    }
+
+    /**
+     * Tests that a session id the server did not hand out is rejected instead of creating a
+     * session.
+     */
+    @Test
+    public void testWishListRejectsUnknownSession() throws Exception {
+        int before = sessions.size();
+
+        mvc.perform(put("/wishlist/2").header(WishlistApiController.SESSION_HEADER, "made-up"))
+                .andExpect(status().isNotFound());
+        mvc.perform(get("/wishlist").header(WishlistApiController.SESSION_HEADER, "made-up"))
+                .andExpect(status().isNotFound());
+
+        assertEquals(before, sessions.size());
+    }
+
+    /**
+     * Tests that conditional requests are answered with 304 until the model changes.
+     */
+    @Test
+    public void testConditionalRequests() throws Exception {
+        String listTag = mvc.perform(get("/dogs").param("breed", "Terrier"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+        String dogTag = mvc.perform(get("/dogs/2")).andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/dogs").param("breed", "Terrier").header("If-None-Match", listTag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/dogs/2").header("If-None-Match", dogTag))
+                .andExpect(status().isNotModified());
+
+        model.changeDogPrice("3", model.getDogById("3").getPrice()); // same price, new version
+
+        mvc.perform(get("/dogs").param("breed", "Terrier").header("If-None-Match", listTag))
+                .andExpect(status().isOk());
+        mvc.perform(get("/dogs/2").header("If-None-Match", dogTag))
+                .andExpect(status().isNotModified()); // dog 2 did not change
+        mvc.perform(get("/dogs/3").header("If-None-Match", dogTag))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Tests that the stream endpoint writes every matching dog as one JSON line, in sort order
+     * when a sort field is given.
+     */
+    @Test
+    public void testStreamWritesNdjson() throws Exception {
+        MvcResult all = mvc.perform(get("/dogs/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(all))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(27, body.split("\n").length);
+        assertTrue(body.endsWith("\n"));
+        mvc.perform(get("/metrics/traffic"))
+                .andExpect(jsonPath("$.streams").value(0)) // the slot is given back
+                .andExpect(jsonPath("$.active").value(0)); // streams never take a search slot
+
+        MvcResult sorted = mvc.perform(get("/dogs/stream")
+                        .param("breed", "Hokkaido").param("sex", "f").param("sort", "age"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String[] lines = mvc.perform(asyncDispatch(sorted))
+                .andReturn().getResponse().getContentAsString().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"Ivy\""));
+        assertTrue(lines[2].contains("\"Sophie\""));
+
+        mvc.perform(get("/dogs/stream").param("sort", "color")).andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests that an event stream resumed from an unknown event id is told to resync and ended.
+     */
+    @Test
+    public void testEventsResyncUnknownId() throws Exception {
+        MvcResult events = mvc.perform(get("/dogs/events").header("Last-Event-ID", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(events))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertTrue(body.contains("event:resync"));
+    }
+
+    /**
+     * Tests that a page is sent gzip-compressed when the client accepts it, and that the
+     * compressed page is reused.
+     */
+    @Test
+    public void testSearchCompressesPages() throws Exception {
+        byte[] compressed = mvc.perform(get("/dogs").param("size", "25").header("Accept-Encoding", "gzip, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("Vary", "Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode page;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            page = new ObjectMapper().readTree(in);
+        }
+        assertEquals(27, page.get("total").asInt());
+        assertEquals(25, page.get("dogs").size());
+
+        byte[] again = mvc.perform(get("/dogs").param("size", "25").header("Accept-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertArrayEquals(compressed, again);
+
+        mvc.perform(get("/dogs").param("size", "25"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.total").value(27));
+    }
+
+    /**
+     * Tests that gzip and identity pages have different ETags, that either one revalidates
+     * while the model is unchanged, and that a 304 still varies by Accept-Encoding.
+     */
+    @Test
+    public void testCompressedPagesHaveOwnETag() throws Exception {
+        String plainTag = mvc.perform(get("/dogs").param("size", "25"))
+                .andReturn().getResponse().getHeader("ETag");
+        String gzipTag = mvc.perform(get("/dogs").param("size", "25").header("Accept-Encoding", "gzip"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(plainTag, gzipTag);
+        assertTrue(gzipTag.endsWith("-gz\""));
+
+        mvc.perform(get("/dogs").param("size", "25").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", gzipTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", gzipTag))
+                .andExpect(header().string("Vary", "Accept-Encoding"));
+        mvc.perform(get("/dogs").param("size", "25").header("Accept-Encoding", "gzip")
+                        .header("If-None-Match", plainTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", plainTag));
+        mvc.perform(get("/dogs").param("size", "25").header("If-None-Match", gzipTag))
+                .andExpect(status().isNotModified());
+    }
+
+    /**
+     * Tests that admitted searches show up in the traffic metrics.
+     */
+    @Test
+    public void testTrafficMetrics() throws Exception {
+        mvc.perform(get("/dogs").param("name", "a")).andExpect(status().isOk());
+        mvc.perform(get("/metrics/traffic"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.active").value(0))
+                .andExpect(jsonPath("$.waiting").value(0))
+                .andExpect(jsonPath("$.shed").value(0))
+                .andExpect(jsonPath("$.rateLimited").value(0));
+    }
+}
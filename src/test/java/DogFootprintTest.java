@@ -0,0 +1,56 @@
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import model.Breed;
+import model.Dog;
+
+/**
+ * Reports the memory footprint of Dog objects. Run with ./gradlew perfTest.
+ */
+@Tag("perf")
+public class DogFootprintTest {
+
+    private static final int DOGS = 1_000_000;
+
+    /**
+     * Prints the field layout of Dog and the retained size of a 1M-dog inventory, per dog.
+     *
+     * Ids and names are unique per dog, so the inventory total is split into the part owned by
+     * the Dog objects themselves and the part taken by their id and name strings.
+     */
+    @Test
+    public void testInventoryFootprint() {
+        System.out.println(ClassLayout.parseClass(Dog.class).toPrintable());
+
+        Breed[] breeds = new Breed[10];
+        for (int i = 0; i < breeds.length; i++) {
+            breeds[i] = new Breed(String.valueOf(i), "Breed " + i, "Description", 10, 12, 50, 70, 45, 60, false);
+        }
+        List<Dog> dogs = new ArrayList<>(DOGS);
+        for (int i = 0; i < DOGS; i++) {
+            dogs.add(new Dog(String.valueOf(i), "Dog" + i, i % 2 == 0 ? "M" : "F", breeds[i % breeds.length],
+                    1 + i % 15, 5.0 + i % 80, (1 + i % 30) + ".png", 100.0 + i % 2000, true));
+        }
+
+        GraphLayout inventory = GraphLayout.parseInstance(dogs);
+        long strings = 0;
+        for (Dog dog : dogs) {
+            strings += GraphLayout.parseInstance(dog.getID(), dog.getName()).totalSize();
+        }
+        long total = inventory.totalSize();
+        long shallow = ClassLayout.parseClass(Dog.class).instanceSize();
+        System.out.printf("Dog instance: %d bytes%n", shallow);
+        System.out.printf("Inventory of %,d dogs: %,d bytes (%d bytes/dog), of which id+name strings %d bytes/dog%n",
+                DOGS, total, total / DOGS, strings / DOGS);
+
+        // beyond the list slot and its own strings, a dog owns nothing but its instance
+        assertTrue((total - strings) / DOGS <= shallow + 8);
+    }
+}
@@ -0,0 +1,126 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import model.AdoptionCenterModel;
+import model.Breed;
+import model.Dog;
+
+import web.DogJsonCache;
+import web.DogPage;
+
+public class DogJsonCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private AdoptionCenterModel model;
+    private DogJsonCache cache;
+    private Dog dog1;
+    private Dog dog2;
+
+    /**
+     * Sets up a model with two dogs and a cache listening to it.
+     */
+    @BeforeEach
+    public void setUp() {
+        model = new AdoptionCenterModel();
+        Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+        dog1 = new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        dog2 = new Dog("2", "Bella", "F", breed, 4, 30.0, "2.png", 1500.00, true);
+        model.addDog(dog1);
+        model.addDog(dog2);
+        cache = new DogJsonCache(model, mapper, DogJsonCache.DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Tests that a dog is serialized once and then served from the cache.
+     */
+    @Test
+    public void testCachesSerializedDog() throws Exception {
+        byte[] first = cache.toJson(dog1);
+        assertArrayEquals(mapper.writeValueAsBytes(dog1), first);
+        assertSame(first, cache.toJson(dog1));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.length, cache.getUsedBytes());
+    }
+
+    /**
+     * Tests that a change to a dog, through the model or directly, is never served stale.
+     */
+    @Test
+    public void testChangeInvalidates() throws Exception {
+        byte[] before = cache.toJson(dog1);
+        model.changeDogPrice("1", 900.0);
+        byte[] after = cache.toJson(dog1);
+        assertNotSame(before, after);
+        assertArrayEquals(mapper.writeValueAsBytes(dog1), after);
+
+        dog1.changeAge(3);
+        assertArrayEquals(mapper.writeValueAsBytes(dog1), cache.toJson(dog1));
+
+        model.removeDog("1");
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    /**
+     * Tests that arrays and pages assembled from cached bytes read back like Jackson's output.
+     */
+    @Test
+    public void testAssemblesArraysAndPages() throws Exception {
+        List<Dog> dogs = List.of(dog1, dog2);
+        assertEquals(mapper.readTree(mapper.writeValueAsBytes(dogs)), mapper.readTree(cache.toJson(dogs)));
+        assertEquals("[]", new String(cache.toJson(List.<Dog>of())));
+
+        DogPage page = new DogPage(dogs, 1, 2, 5);
+        assertEquals(mapper.readTree(mapper.writeValueAsBytes(page)), mapper.readTree(cache.toJson(page)));
+    }
+
+    /**
+     * Tests that dogs beyond the memory budget are serialized without being cached.
+     */
+    @Test
+    public void testRespectsBudget() {
+        DogJsonCache small = new DogJsonCache(model, mapper, cache.toJson(dog1).length);
+        small.toJson(dog1);
+        small.toJson(dog2);
+        small.toJson(dog2);
+        small.toJson(dog1);
+        assertEquals(1, small.getHitCount());
+        assertEquals(3, small.getMissCount());
+    }
+
+    /**
+     * Tests that concurrent misses never take the cache past its memory budget.
+     */
+    @Test
+    public void testConcurrentMissesRespectBudget() throws Exception {
+        Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+        List<Dog> dogs = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            dogs.add(new Dog("d" + i, "Dog " + i, "M", breed, 2, 20.0, "1.png", 1000.00, true));
+        }
+        long budget = 10L * cache.toJson(dogs.get(0)).length;
+        DogJsonCache small = new DogJsonCache(model, mapper, budget);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> dogs.forEach(small::toJson));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        assertTrue(small.getUsedBytes() <= budget, small.getUsedBytes() + " > " + budget);
+    }
+}
@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+
+import org.junit.jupiter.api.Test;
+
+import model.Breed;
+import model.Dog;
+import view.DogListModel;
+
+public class DogListModelTest {
+
+    private final Breed breed = new Breed("1", "Labrador Retriever",
+            "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+
+    /**
+     * Tests that replacing and appending dogs fires the matching interval events.
+     */
+    @Test
+    public void testSetAndAddFireIntervals() {
+        Dog max = new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        Dog bella = new Dog("2", "Bella", "F", breed, 4, 30.0, "2.png", 1500.00, true);
+        DogListModel model = new DogListModel();
+        List<String> events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            public void intervalAdded(ListDataEvent e) {
+                events.add("+" + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("-" + e.getIndex0() + "-" + e.getIndex1());
+                assertEquals(0, model.getSize()); // the removed rows are gone when listeners run
+            }
+
+            public void contentsChanged(ListDataEvent e) {
+                events.add("~");
+            }
+        });
+
+        model.setDogs(List.of(max));
+        model.addDogs(List.of(bella));
+        model.setDogs(List.of());
+
+        assertEquals(List.of("+0-0", "+1-1", "-0-1"), events);
+        assertEquals(0, model.getSize());
+    }
+
+    /**
+     * Tests that the model reads through to the list it was given without copying it.
+     */
+    @Test
+    public void testElementsReadThrough() {
+        Dog max = new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        List<Dog> dogs = List.of(max);
+        DogListModel model = new DogListModel();
+        model.setDogs(dogs);
+
+        assertSame(dogs, model.getDogs());
+        assertSame(max, model.getElementAt(0));
+    }
+
+    /**
+     * Tests that appending dogs leaves the list given to setDogs unchanged.
+     */
+    @Test
+    public void testAddDoesNotModifyGivenList() {
+        Dog max = new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        Dog bella = new Dog("2", "Bella", "F", breed, 4, 30.0, "2.png", 1500.00, true);
+        List<Dog> results = new ArrayList<>(List.of(max));
+        DogListModel model = new DogListModel();
+        model.setDogs(results);
+
+        model.addDogs(List.of(bella));
+        model.addDogs(List.of(bella));
+
+        assertEquals(List.of(max), results);
+        assertEquals(List.of(max, bella, bella), model.getDogs());
+    }
+}
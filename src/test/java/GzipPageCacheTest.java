@@ -0,0 +1,52 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import web.GzipPageCache;
+
+public class GzipPageCacheTest {
+
+    /**
+     * Tests that compressed pages are cached by key and the least recently used is evicted.
+     */
+    @Test
+    public void testCachesCompressedPages() throws IOException {
+        GzipPageCache cache = new GzipPageCache(2);
+        byte[] body = "{\"dogs\":[]}".repeat(200).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = cache.put("v1 a", body);
+        cache.put("v1 b", body);
+        assertSame(compressed, cache.get("v1 a"));
+        cache.put("v1 c", body); // evicts b, used least recently
+
+        assertNull(cache.get("v1 b"));
+        assertSame(compressed, cache.get("v1 a"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(body, in.readAllBytes());
+        }
+        assertTrue(compressed.length < body.length / 10);
+    }
+
+    /**
+     * Tests reading the Accept-Encoding header.
+     */
+    @Test
+    public void testAcceptsGzip() {
+        assertTrue(GzipPageCache.acceptsGzip("gzip, deflate, br"));
+        assertTrue(GzipPageCache.acceptsGzip("br;q=1.0, GZIP;q=0.5"));
+        assertTrue(GzipPageCache.acceptsGzip("*"));
+        assertTrue(GzipPageCache.acceptsGzip("*;q=0, gzip"));
+        assertFalse(GzipPageCache.acceptsGzip(null));
+        assertFalse(GzipPageCache.acceptsGzip("identity"));
+        assertFalse(GzipPageCache.acceptsGzip("gzip;q=0, *"));
+        assertFalse(GzipPageCache.acceptsGzip("gzip; q=0.0"));
+    }
+}
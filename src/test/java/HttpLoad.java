@@ -0,0 +1,199 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A closed-loop HTTP load generator for the perf tests: each client sends its next request as
+ * soon as the previous response has been read.
+ */
+public class HttpLoad {
+
+    /**
+     * The outcome of a load run.
+     *
+     * @param clients the number of concurrent clients
+     * @param requests the number of completed requests
+     * @param errors the number of failed requests or non-2xx responses
+     * @param seconds the length of the measured run
+     * @param p50Millis the median latency
+     * @param p99Millis the 99th percentile latency
+     */
+    public record Result(int clients, long requests, long errors, double seconds,
+                         double p50Millis, double p99Millis) {
+
+        /**
+         * Returns the throughput of the run.
+         *
+         * @return the completed requests per second
+         */
+        public double requestsPerSecond() {
+            return requests / seconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d clients: %d requests in %.1f s, %.0f req/s, p50 %.2f ms, p99 %.2f ms, %d errors",
+                    clients, requests, seconds, requestsPerSecond(), p50Millis, p99Millis, errors);
+        }
+    }
+
+    /**
+     * Runs a warmup and then a measured run, each client cycling through the given URIs.
+     *
+     * @param client the client sending the requests
+     * @param uris the URIs to request
+     * @param clients the number of concurrent clients
+     * @param warmup the length of the unmeasured warmup
+     * @param duration the length of the measured run
+     * @return the outcome of the measured run
+     */
+    public static Result run(HttpClient client, List<URI> uris, int clients,
+                             Duration warmup, Duration duration) throws Exception {
+        measure(client, uris, clients, warmup);
+        return measure(client, uris, clients, duration);
+    }
+
+    /**
+     * Like {@link #run}, but keeps the given number of requests in flight with asynchronous
+     * sends instead of one thread per client, so thousands of concurrent connections can be
+     * opened without thousands of client threads.
+     *
+     * @param client the client sending the requests
+     * @param uris the URIs to request
+     * @param connections the number of requests kept in flight
+     * @param warmup the length of the unmeasured warmup
+     * @param duration the length of the measured run
+     * @return the outcome of the measured run
+     */
+    public static Result runAsync(HttpClient client, List<URI> uris, int connections,
+                                  Duration warmup, Duration duration) throws Exception {
+        measureAsync(client, uris, connections, warmup);
+        return measureAsync(client, uris, connections, duration);
+    }
+
+    /**
+     * Keeps requests in flight for a given time and collects their latencies.
+     */
+    private static Result measureAsync(HttpClient client, List<URI> uris, int connections,
+                                       Duration duration) throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch stopped = new CountDownLatch(connections);
+        long[][] latencies = new long[connections][256];
+        int[] counts = new int[connections];
+        long[] errors = new long[connections];
+        long start = System.nanoTime();
+        for (int c = 0; c < connections; c++) {
+            sendNext(client, uris, c, running, stopped, latencies, counts, errors);
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        stopped.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long[] all = new long[0];
+        for (int c = 0; c < connections; c++) {
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + counts[c]);
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+        }
+        Arrays.sort(all);
+        return new Result(connections, all.length, Arrays.stream(errors).sum(), seconds,
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    /**
+     * Sends the next request of a connection slot and chains the one after it on completion.
+     * Each slot has at most one request in flight, so its counters are never updated concurrently.
+     */
+    private static void sendNext(HttpClient client, List<URI> uris, int slot, AtomicBoolean running,
+                                 CountDownLatch stopped, long[][] latencies, int[] counts, long[] errors) {
+        if (!running.get()) {
+            stopped.countDown();
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(uris.get((slot + counts[slot]) % uris.size())).GET().build();
+        long sent = System.nanoTime();
+        CompletableFuture<HttpResponse<Void>> response =
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+        response.whenComplete((r, e) -> {
+            if (e != null || r.statusCode() >= 300) {
+                errors[slot]++;
+            }
+            if (counts[slot] == latencies[slot].length) {
+                latencies[slot] = Arrays.copyOf(latencies[slot], counts[slot] * 2);
+            }
+            latencies[slot][counts[slot]++] = System.nanoTime() - sent;
+            sendNext(client, uris, slot, running, stopped, latencies, counts, errors);
+        });
+    }
+
+    /**
+     * Runs the clients for a given time and collects their latencies.
+     */
+    private static Result measure(HttpClient client, List<URI> uris, int clients,
+                                  Duration duration) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<long[]>> results = new ArrayList<>();
+        long[] errors = new long[clients];
+        long start = System.nanoTime();
+        for (int c = 0; c < clients; c++) {
+            int id = c;
+            results.add(pool.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = id; running.get(); i++) {
+                    HttpRequest request = HttpRequest.newBuilder(uris.get(i % uris.size())).GET().build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                        if (response.statusCode() >= 300) {
+                            errors[id]++;
+                        }
+                    } catch (Exception e) {
+                        errors[id]++;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        Thread.sleep(duration.toMillis());
+        running.set(false);
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] latencies = result.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        Arrays.sort(all);
+        return new Result(clients, all.length, Arrays.stream(errors).sum(), seconds,
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    /**
+     * Returns a percentile of sorted latencies in milliseconds.
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(fraction * (sorted.length - 1)))] / 1e6;
+    }
+}
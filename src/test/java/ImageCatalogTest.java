@@ -0,0 +1,137 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ImageCatalog;
+
+public class ImageCatalogTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ImageCatalog catalog;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.createFile(tempDir.resolve("1.png"));
+        Files.createDirectory(tempDir.resolve("folder"));
+        catalog = new ImageCatalog(tempDir.toString() + "/");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        catalog.close();
+    }
+
+    /**
+     * Tests existence checks for files, directories and missing names.
+     */
+    @Test
+    public void testExists() {
+        assertTrue(catalog.exists("1.png"));
+        assertFalse(catalog.exists("2.png"));
+        assertFalse(catalog.exists("folder"));
+    }
+
+    /**
+     * Tests that a file added after the first scan is still found.
+     */
+    @Test
+    public void testExistsAfterFileAdded() throws IOException {
+        assertFalse(catalog.exists("2.png"));
+        Files.createFile(tempDir.resolve("2.png"));
+        assertTrue(catalog.exists("2.png"));
+    }
+
+    /**
+     * Tests that checks of scanned names do not go to disk without an explicit startWatching().
+     */
+    @Test
+    public void testExistsAnswersScannedNamesFromMemory() {
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(catalog.exists("1.png"));
+        }
+        assertEquals(0, catalog.getDiskCheckCount());
+    }
+
+    /**
+     * Tests that a deleted file is not reported from the first scan once the catalog is closed.
+     */
+    @Test
+    public void testExistsAfterFileDeletedWhenClosed() throws IOException {
+        catalog.close();
+        assertTrue(catalog.exists("1.png"));
+        Files.delete(tempDir.resolve("1.png"));
+        assertFalse(catalog.exists("1.png"));
+    }
+
+    /**
+     * Tests that closing the catalog stops the watcher and checks go to disk again.
+     */
+    @Test
+    public void testCloseStopsWatcher() throws Exception {
+        catalog.startWatching();
+        catalog.close();
+        assertTrue(waitForWatcherToStop(5_000));
+
+        Files.delete(tempDir.resolve("1.png"));
+        assertFalse(catalog.exists("1.png"));
+    }
+
+    /**
+     * Tests that the watcher forgets files deleted from the directory. Tagged perf because it
+     * waits on the platform's watch service, which polls every few seconds on some systems.
+     */
+    @Test
+    @Tag("perf")
+    public void testWatcherPicksUpDeletes() throws Exception {
+        catalog.startWatching();
+        assertTrue(catalog.exists("1.png"));
+        Files.delete(tempDir.resolve("1.png"));
+
+        long deadline = System.currentTimeMillis() + 15_000;
+        while (catalog.exists("1.png") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertFalse(catalog.exists("1.png"));
+    }
+
+    /**
+     * Tests that image names are interned to shared paths.
+     */
+    @Test
+    public void testInternSharesPath() {
+        short id = catalog.intern("1.png");
+
+        assertEquals(id, catalog.intern("1.png"));
+        assertSame(catalog.path(id), catalog.path(catalog.intern("1.png")));
+        assertEquals(tempDir.toString() + "/1.png", catalog.path(id));
+    }
+
+    /**
+     * Waits for the watcher thread to end.
+     *
+     * @param millis how long to wait
+     * @return true if no watcher thread is left
+     */
+    private static boolean waitForWatcherToStop(long millis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + millis;
+        while (System.currentTimeMillis() < deadline) {
+            boolean running = Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("image-catalog-watcher"));
+            if (!running) {
+                return true;
+            }
+            Thread.sleep(20);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.server.ResponseStatusException;
+
+import model.ImageCatalog;
+import model.ThumbnailStore;
+
+import web.ImageController;
+
+public class ImageControllerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path images;
+    private ImageController controller;
+    private byte[] photo;
+
+    /**
+     * Writes a noisy 300x300 PNG into an image directory inside the temporary directory.
+     */
+    @BeforeEach
+    public void setUp() throws IOException {
+        images = Files.createDirectory(tempDir.resolve("images"));
+        BufferedImage image = new BufferedImage(300, 300, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(7);
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 300; x++) {
+                image.setRGB(x, y, random.nextInt());
+            }
+        }
+        ImageIO.write(image, "png", images.resolve("dog.png").toFile());
+        photo = Files.readAllBytes(images.resolve("dog.png"));
+        controller = new ImageController(new ImageCatalog(images + "/"), new ThumbnailStore());
+    }
+
+    /**
+     * Sends a GET request for an image.
+     */
+    private MockHttpServletResponse get(String name, String size, String... headers) throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/images/" + name);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.addHeader(headers[i], headers[i + 1]);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.image(name, size, request, response);
+        return response;
+    }
+
+    /**
+     * Tests that the original is sent whole with cache headers.
+     */
+    @Test
+    public void testSendsOriginal() throws IOException {
+        MockHttpServletResponse response = get("dog.png", ImageController.ORIGINAL);
+        assertEquals(200, response.getStatus());
+        assertEquals("image/png", response.getContentType());
+        assertEquals(ImageController.CACHE_CONTROL, response.getHeader("Cache-Control"));
+        assertEquals("bytes", response.getHeader("Accept-Ranges"));
+        assertArrayEquals(photo, response.getContentAsByteArray());
+    }
+
+    /**
+     * Tests that a range is answered with 206 and only its bytes, and a range past the end with 416.
+     */
+    @Test
+    public void testSendsRange() throws IOException {
+        MockHttpServletResponse response = get("dog.png", ImageController.ORIGINAL, "Range", "bytes=100-199");
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 100-199/" + photo.length, response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(photo, 100, 200), response.getContentAsByteArray());
+
+        String etag = response.getHeader("ETag");
+        assertEquals(200,
+                get("dog.png", ImageController.ORIGINAL, "Range", "bytes=0-9", "If-Range", "\"other\"").getStatus());
+        assertEquals(206, get("dog.png", ImageController.ORIGINAL, "Range", "bytes=0-9", "If-Range", etag).getStatus());
+        assertEquals(416, get("dog.png", ImageController.ORIGINAL, "Range", "bytes=" + photo.length + "-").getStatus());
+    }
+
+    /**
+     * Tests that a current copy is answered with 304 and no body.
+     */
+    @Test
+    public void testNotModified() throws IOException {
+        String etag = get("dog.png", ImageController.ORIGINAL).getHeader("ETag");
+        MockHttpServletResponse response = get("dog.png", ImageController.ORIGINAL, "If-None-Match", etag);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    /**
+     * Tests that the thumbnail is a JPEG of the thumbnail size.
+     */
+    @Test
+    public void testSendsThumbnail() throws IOException {
+        MockHttpServletResponse response = get("dog.png", ImageController.THUMBNAIL);
+        assertEquals(200, response.getStatus());
+        assertEquals("image/jpeg", response.getContentType());
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(response.getContentAsByteArray()));
+        assertEquals(ThumbnailStore.SIZE, thumbnail.getWidth());
+    }
+
+    /**
+     * Tests that unknown images and paths leaving the image directory are not found.
+     */
+    @Test
+    public void testRejectsUnknownAndOutsidePaths() throws IOException {
+        Files.writeString(tempDir.resolve("secret.txt"), "secret"); // next to the image directory
+        assertThrows(ResponseStatusException.class, () -> get("missing.png", ImageController.ORIGINAL));
+        assertThrows(ResponseStatusException.class, () -> get("../secret.txt", ImageController.ORIGINAL));
+        assertThrows(IllegalArgumentException.class, () -> get("dog.png", "huge"));
+    }
+}
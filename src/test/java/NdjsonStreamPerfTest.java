@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import model.Dog;
+import model.SyntheticInventory;
+
+import web.NdjsonWriter;
+
+/**
+ * Measures time to first byte and heap use of NDJSON streaming as the result grows. Run with
+ * ./gradlew perfTest.
+ */
+@Tag("perf")
+public class NdjsonStreamPerfTest {
+
+    private final SyntheticInventory inventory;
+
+    /**
+     * Constructs a new NdjsonStreamPerfTest generating dogs of the bundled breeds.
+     */
+    public NdjsonStreamPerfTest() throws IOException {
+        inventory = SyntheticInventory.bundled(SyntheticInventory.DEFAULT_SEED);
+    }
+
+    /**
+     * Discards its output, recording when the first byte arrived and the largest heap seen.
+     */
+    private static class Probe extends OutputStream {
+        private final long start = System.nanoTime();
+        private long firstByteNanos = -1;
+        private long bytes;
+        private long maxUsedHeap;
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            if (firstByteNanos < 0) {
+                firstByteNanos = System.nanoTime() - start;
+            }
+            bytes += len;
+            Runtime runtime = Runtime.getRuntime();
+            maxUsedHeap = Math.max(maxUsedHeap, runtime.totalMemory() - runtime.freeMemory());
+        }
+    }
+
+    /**
+     * Returns a lazy stream of dogs, built as they are pulled like results of a search.
+     */
+    private Stream<Dog> dogs(int count) {
+        return inventory.stream(1, count);
+    }
+
+    /**
+     * Streams 1k to 1M dogs and checks that the first byte comes as fast for a large result as
+     * for a small one, and that the heap does not grow with the number of dogs.
+     */
+    @Test
+    public void testStreamingScales() throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(new ObjectMapper());
+        writer.write(dogs(10_000), OutputStream.nullOutputStream()); // warm up
+
+        long smallFirstByte = 0;
+        for (int count : new int[] {1_000, 10_000, 100_000, 1_000_000}) {
+            System.gc();
+            Probe probe = new Probe();
+            long start = System.nanoTime();
+            assertEquals(count, writer.write(dogs(count), probe));
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%,9d dogs: first byte after %.2f ms, %,d bytes in %.2f s, max heap %,d KB%n",
+                    count, probe.firstByteNanos / 1e6, probe.bytes, seconds, probe.maxUsedHeap / 1024);
+            if (count == 1_000) {
+                smallFirstByte = probe.firstByteNanos;
+            } else {
+                assertTrue(probe.firstByteNanos < Math.max(10 * smallFirstByte, 50_000_000L));
+            }
+            if (count == 1_000_000) {
+                // the heap, garbage included, never came close to holding the whole output
+                assertTrue(probe.maxUsedHeap < probe.bytes / 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import model.Breed;
+import model.Dog;
+
+import web.NdjsonWriter;
+
+public class NdjsonWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing",
+            10, 12, 65, 80, 55, 70, false);
+
+    /**
+     * Returns a lazy stream of dogs that counts how many were pulled from it.
+     */
+    private Stream<Dog> dogs(int count, AtomicInteger pulled) {
+        return IntStream.range(0, count).mapToObj(i -> {
+            pulled.incrementAndGet();
+            return new Dog(String.valueOf(i), "Dog" + i, "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        });
+    }
+
+    /**
+     * Tests that each dog is written as one JSON object on its own line.
+     */
+    @Test
+    public void testWritesOneLinePerDog() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = new NdjsonWriter(mapper).write(dogs(30, new AtomicInteger()), out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(30, written);
+        assertEquals(30, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode dog = mapper.readTree(lines[i]);
+            assertEquals(String.valueOf(i), dog.get("id").asText());
+            assertEquals("Dog" + i, dog.get("name").asText());
+        }
+    }
+
+    /**
+     * Tests that the output is exactly each dog's JSON followed by a newline, with nothing
+     * between the lines.
+     */
+    @Test
+    public void testWritesExactBytes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new NdjsonWriter(mapper).write(dogs(3, new AtomicInteger()), out);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        dogs(3, new AtomicInteger()).forEach(dog -> {
+            try {
+                expected.write(mapper.writeValueAsBytes(dog));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            expected.write('\n');
+        });
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    /**
+     * Tests that the first line is flushed on its own, before the rest of the output is buffered.
+     */
+    @Test
+    public void testFlushesFirstLine() throws IOException {
+        ByteArrayOutputStream firstFlush = new ByteArrayOutputStream();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                if (firstFlush.size() == 0) {
+                    firstFlush.writeBytes(toByteArray());
+                }
+            }
+        };
+        new NdjsonWriter(mapper).write(dogs(1000, new AtomicInteger()), out);
+
+        String first = firstFlush.toString(StandardCharsets.UTF_8);
+        assertTrue(first.endsWith("\n"));
+        assertEquals(1, first.split("\n").length);
+    }
+
+    /**
+     * Tests that no more dogs are pulled from the search once the output fails, as when the
+     * client disconnects.
+     */
+    @Test
+    public void testStopsWhenOutputFails() {
+        AtomicInteger pulled = new AtomicInteger();
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        assertThrows(IOException.class, () -> new NdjsonWriter(mapper).write(dogs(1_000_000, pulled), broken));
+        assertEquals(1, pulled.get());
+    }
+}
@@ -0,0 +1,198 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import model.ResilientHttpClient;
+
+public class ResilientHttpClientTest {
+
+    private HttpServer server;
+    /** The number of requests the stub fails before answering normally. */
+    private AtomicInteger failuresLeft;
+    /** The delay the stub adds to each response, in milliseconds. */
+    private volatile long delayMillis;
+    private AtomicInteger hits;
+    private ResilientHttpClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        failuresLeft = new AtomicInteger();
+        hits = new AtomicInteger();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", this::handle);
+        server.start();
+        client = new ResilientHttpClient(Duration.ofSeconds(1), Duration.ofMillis(200), 3,
+                Duration.ofMillis(5), Duration.ofMillis(20), 4, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Answers 503 while failures are left, 404 for /missing, and "ok" otherwise, after the
+     * configured delay.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int status = exchange.getRequestURI().getPath().equals("/missing") ? 404
+                : failuresLeft.getAndDecrement() > 0 ? 503 : 200;
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private HttpRequest request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path))
+                .GET().build();
+    }
+
+    /**
+     * Tests that server errors are retried until the request succeeds.
+     */
+    @Test
+    public void testRetriesServerErrors() throws Exception {
+        failuresLeft.set(2);
+        HttpResponse<String> response = client.send(request("/"), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(3, hits.get());
+        assertEquals(2, client.getMetrics().retries());
+    }
+
+    /**
+     * Tests that asynchronous requests are retried too.
+     */
+    @Test
+    public void testRetriesAsync() throws Exception {
+        failuresLeft.set(1);
+        HttpResponse<String> response = client.sendAsync(request("/"), HttpResponse.BodyHandlers.ofString()).get();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(2, hits.get());
+    }
+
+    /**
+     * Tests that client errors are returned without retrying.
+     */
+    @Test
+    public void testDoesNotRetryClientErrors() throws Exception {
+        HttpResponse<String> response = client.send(request("/missing"), HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(404, response.statusCode());
+        assertEquals(1, hits.get());
+    }
+
+    /**
+     * Tests that a slow server fails with a timeout instead of hanging.
+     */
+    @Test
+    public void testRequestTimeout() {
+        delayMillis = 1_000;
+        assertThrows(HttpTimeoutException.class,
+                () -> client.send(request("/"), HttpResponse.BodyHandlers.ofString()));
+    }
+
+    /**
+     * Tests that the circuit opens after consecutive failures and then rejects requests
+     * without contacting the server.
+     */
+    @Test
+    public void testCircuitOpensAfterFailures() throws Exception {
+        failuresLeft.set(100);
+        assertEquals(503, client.send(request("/"), HttpResponse.BodyHandlers.ofString()).statusCode());
+        assertThrows(ResilientHttpClient.CircuitOpenException.class,
+                () -> client.send(request("/"), HttpResponse.BodyHandlers.ofString()));
+
+        assertTrue(client.isOpen());
+        assertEquals(4, hits.get());
+        assertEquals(1, client.getMetrics().rejected());
+    }
+
+    /**
+     * Tests that once the open period is over, a single trial request reaches the server while
+     * concurrent requests are still rejected, and that its success closes the circuit.
+     */
+    @Test
+    public void testHalfOpenLetsOneTrialThrough() throws Exception {
+        ResilientHttpClient breaker = new ResilientHttpClient(Duration.ofSeconds(1), Duration.ofSeconds(2), 1,
+                Duration.ofMillis(5), Duration.ofMillis(20), 1, Duration.ofMillis(50));
+        failuresLeft.set(1);
+        breaker.send(request("/"), HttpResponse.BodyHandlers.ofString());
+        assertTrue(breaker.isOpen());
+        Thread.sleep(100);
+        hits.set(0);
+        delayMillis = 300;
+
+        List<Future<Integer>> results = new ArrayList<>();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            results.add(callers.submit(() -> breaker.send(request("/"), HttpResponse.BodyHandlers.ofString())
+                    .statusCode()));
+        }
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<Integer> result : results) {
+            try {
+                assertEquals(200, (int) result.get());
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof ResilientHttpClient.CircuitOpenException);
+                rejected++;
+            }
+        }
+        callers.shutdown();
+
+        assertEquals(1, succeeded);
+        assertEquals(7, rejected);
+        assertEquals(1, hits.get());
+        delayMillis = 0;
+        assertEquals(200, breaker.send(request("/"), HttpResponse.BodyHandlers.ofString()).statusCode());
+    }
+
+    /**
+     * Tests that latency metrics are recorded for each attempt.
+     */
+    @Test
+    public void testMetrics() throws Exception {
+        client.send(request("/"), HttpResponse.BodyHandlers.ofString());
+        client.send(request("/"), HttpResponse.BodyHandlers.ofString());
+        ResilientHttpClient.Metrics metrics = client.getMetrics();
+
+        assertEquals(2, metrics.requests());
+        assertEquals(0, metrics.failures());
+        assertTrue(metrics.p99Millis() >= metrics.p50Millis());
+        assertTrue(metrics.maxMillis() > 0);
+    }
+}
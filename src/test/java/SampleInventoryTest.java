@@ -0,0 +1,39 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ApiUtil;
+import model.Breed;
+import model.BreedCache;
+import model.BreedLoader;
+import model.Dog;
+import model.SampleInventory;
+
+public class SampleInventoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Tests that the sample inventory can be built from the bundled breed catalogue alone.
+     */
+    @Test
+    public void testCreateFromBundledBreeds() throws IOException {
+        BreedCache cache = new BreedCache(tempDir.resolve("breeds.json"), Duration.ofHours(1));
+        Map<String, Breed> breeds = new BreedLoader(new ApiUtil("http://127.0.0.1:1"), cache).load();
+
+        List<Dog> dogs = SampleInventory.create(breeds);
+
+        assertEquals(30, dogs.size());
+        assertEquals("1", dogs.get(0).getID());
+        assertEquals("30", dogs.get(29).getID());
+        assertEquals(27, dogs.stream().filter(Dog::getIsReady).count());
+    }
+}
@@ -0,0 +1,48 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+import controller.SearchQuery;
+
+public class SearchQueryTest {
+
+    private static SearchQuery query(String name, String sex, String breed, String age) {
+        return new SearchQuery(name, sex, breed, age, "", "", "name", true);
+    }
+
+    /**
+     * Tests that a longer name containing the previous name refines the previous query.
+     */
+    @Test
+    public void testLongerNameRefines() {
+        assertTrue(query("Be", null, null, "").refines(query("B", null, null, "")));
+        assertTrue(query("Bella", null, null, "").refines(query("", null, null, "")));
+        assertTrue(query("ella", null, null, "").refines(query("ll", null, null, "")));
+        assertFalse(query("B", null, null, "").refines(query("Be", null, null, "")));
+        assertFalse(query("Ca", null, null, "").refines(query("B", null, null, "")));
+    }
+
+    /**
+     * Tests that adding a filter refines, while changing or removing one does not.
+     */
+    @Test
+    public void testAddedFilterRefines() {
+        assertTrue(query("B", "f", null, "").refines(query("B", null, null, "")));
+        assertTrue(query("B", "f", "Terrier", "3").refines(query("B", "f", null, "")));
+        assertTrue(query("B", "f", null, "").refines(query("B", "f", null, "")));
+        assertFalse(query("B", "m", null, "").refines(query("B", "f", null, "")));
+        assertFalse(query("B", null, null, "").refines(query("B", "f", null, "")));
+        assertFalse(query("B", null, null, "4").refines(query("B", null, null, "3")));
+        assertFalse(query("B", null, "Hokkaido", "").refines(query("B", null, "Terrier", "")));
+    }
+
+    /**
+     * Tests that changing only the sort order still refines, since results are sorted again.
+     */
+    @Test
+    public void testSortDoesNotAffectRefinement() {
+        SearchQuery byName = new SearchQuery("B", null, null, "", "", "", "name", true);
+        SearchQuery byPrice = new SearchQuery("Be", null, null, "", "", "", "price", true);
+        assertTrue(byPrice.refines(byName));
+    }
+}
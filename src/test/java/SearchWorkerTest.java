@@ -0,0 +1,78 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.jupiter.api.Test;
+
+import controller.SearchQuery;
+import model.Breed;
+import model.Dog;
+import view.SearchWorker;
+
+public class SearchWorkerTest {
+
+    private final Breed breed = new Breed("1", "Labrador Retriever",
+            "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+
+    /**
+     * Creates dogs named "Dog 0" to "Dog n-1" with increasing prices.
+     */
+    private List<Dog> dogs(int count) {
+        List<Dog> dogs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            dogs.add(new Dog(String.valueOf(i), "Dog " + i, i % 2 == 0 ? "M" : "F", breed,
+                    3, 20.0, "1.png", 100.0 + i, true));
+        }
+        return dogs;
+    }
+
+    /**
+     * Tests that all matching dogs arrive in order and in chunks, before the final count.
+     */
+    @Test
+    public void testDeliversChunksBeforeCount() throws Exception {
+        List<List<Dog>> chunks = new ArrayList<>();
+        List<Integer> chunkSizesAtDone = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        SearchQuery query = new SearchQuery("", "m", null, "", "", "", "price", true);
+
+        new SearchWorker(() -> dogs(2 * SearchWorker.CHUNK_SIZE + 10), query, chunks::add, count -> {
+            chunkSizesAtDone.add(count);
+            chunkSizesAtDone.add(chunks.stream().mapToInt(List::size).sum());
+            done.countDown();
+        }, message -> fail(message)).execute();
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of(SearchWorker.CHUNK_SIZE + 5, SearchWorker.CHUNK_SIZE + 5), chunkSizesAtDone);
+        assertEquals(2, chunks.size());
+        assertEquals("Dog 0", chunks.get(0).get(0).getName());
+        assertEquals("Dog 2", chunks.get(0).get(1).getName());
+    }
+
+    /**
+     * Tests that a search cancelled on the event dispatch thread delivers nothing afterwards.
+     */
+    @Test
+    public void testCancelledSearchDeliversNothing() throws Exception {
+        List<Object> delivered = new ArrayList<>();
+        SearchQuery query = new SearchQuery("", null, null, "", "", "", "name", true);
+        SearchWorker[] worker = new SearchWorker[1];
+
+        SwingUtilities.invokeAndWait(() -> {
+            worker[0] = new SearchWorker(() -> dogs(50_000), query, delivered::add,
+                    delivered::add, delivered::add);
+            worker[0].execute();
+            worker[0].cancel(true);
+        });
+        Thread.sleep(500);
+        SwingUtilities.invokeAndWait(() -> { }); // flush anything queued by the worker
+
+        assertTrue(worker[0].isCancelled());
+        assertTrue(delivered.isEmpty());
+    }
+}
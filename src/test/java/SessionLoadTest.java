@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import controller.ACController;
+import model.AdoptionCenterModel;
+import model.SyntheticInventory;
+
+/**
+ * Load test for concurrent browsing sessions. Run with ./gradlew perfTest.
+ */
+@Tag("perf")
+public class SessionLoadTest {
+
+    private static final int SESSIONS = 10_000;
+
+    /**
+     * Opens many sessions concurrently, runs a search and a wish list change in each,
+     * and reports the heap used per session.
+     */
+    @Test
+    public void testManyConcurrentSessions() throws Exception {
+        AdoptionCenterModel model = new AdoptionCenterModel();
+        SyntheticInventory.bundled(SyntheticInventory.DEFAULT_SEED).stream(1, 30).forEach(model::addDog);
+        ACController controller = new ACController(model);
+
+        long before = usedHeap();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < SESSIONS; i++) {
+            String id = "session-" + i;
+            futures.add(pool.submit(() -> {
+                ACController session = controller.forSession(id);
+                session.setNameSearch("a");
+                session.setResultList();
+                session.addToWishList(session.getResultList().get(0));
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        pool.shutdown();
+        long after = usedHeap();
+
+        assertEquals(SESSIONS + 1, controller.getSessions().size());
+        System.out.printf("%d sessions in %d ms, ~%d bytes per session%n",
+                SESSIONS, elapsed / 1_000_000, (after - before) / SESSIONS);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
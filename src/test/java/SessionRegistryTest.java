@@ -0,0 +1,128 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import controller.ACController;
+import controller.SearchSession;
+import controller.SessionRegistry;
+import model.AdoptionCenterModel;
+import model.Breed;
+import model.Dog;
+
+public class SessionRegistryTest {
+
+    private AtomicLong now;
+    private SessionRegistry registry;
+    private ACController controller;
+    private Dog dog1;
+    private Dog dog2;
+
+    @BeforeEach
+    public void setUp() {
+        now = new AtomicLong(0);
+        registry = new SessionRegistry(Duration.ofMinutes(1), now::get);
+
+        AdoptionCenterModel model = new AdoptionCenterModel();
+        Breed breed = new Breed("1", "Labrador Retriever", "Friendly and outgoing", 10, 12, 65, 80, 55, 70, false);
+        dog1 = new Dog("1", "Max", "M", breed, 2, 20.0, "1.png", 1000.00, true);
+        dog2 = new Dog("2", "Bella", "F", breed, 4, 30.0, "2.png", 1500.00, true);
+        model.addDog(dog1);
+        model.addDog(dog2);
+        controller = new ACController(model, registry);
+    }
+
+    /**
+     * Tests that getOrCreate returns the same session for the same id.
+     */
+    @Test
+    public void testGetOrCreate() {
+        SearchSession first = registry.getOrCreate("a");
+        SearchSession second = registry.getOrCreate("a");
+        assertSame(first, second);
+        assertNotSame(first, registry.getOrCreate("b"));
+        assertNull(registry.get("missing"));
+    }
+
+    /**
+     * Tests that filters and wish lists of two sessions do not affect each other.
+     */
+    @Test
+    public void testSessionIsolation() {
+        ACController alice = controller.forSession("alice");
+        ACController bob = controller.forSession("bob");
+
+        alice.setNameSearch("Max");
+        alice.setResultList();
+        bob.setResultList();
+        alice.addToWishList(dog1);
+
+        assertEquals(1, alice.getResultList().size());
+        assertEquals(2, bob.getResultList().size());
+        assertTrue(alice.isInWishList(dog1.getID()));
+        assertFalse(bob.isInWishList(dog1.getID()));
+        assertTrue(controller.getWishList().isEmpty());
+    }
+
+    /**
+     * Tests that only sessions idle for longer than the TTL are evicted.
+     */
+    @Test
+    public void testEvictIdle() {
+        registry.getOrCreate("old");
+        now.set(45_000);
+        registry.getOrCreate("recent");
+        now.set(90_000);
+
+        assertEquals(2, registry.evictIdle()); // "old" and the controller's local session
+        assertNull(registry.get("old"));
+        assertNotNull(registry.get("recent"));
+    }
+
+    /**
+     * Tests that a session returned by getOrCreate is never evicted by a concurrent eviction run
+     * that saw it idle, so the caller never writes into a session the registry no longer holds.
+     */
+    @Test
+    public void testGetOrCreateRacingEviction() throws Exception {
+        for (int i = 0; i < 2_000; i++) {
+            now.set(0);
+            registry.getOrCreate("racy");
+            now.set(90_000);
+            CountDownLatch start = new CountDownLatch(1);
+            Thread evictor = new Thread(() -> {
+                awaitQuietly(start);
+                registry.evictIdle();
+            });
+            evictor.start();
+            start.countDown();
+            SearchSession session = registry.getOrCreate("racy");
+            evictor.join();
+
+            assertSame(session, registry.get("racy"));
+        }
+    }
+
+    /**
+     * Waits for a latch, ignoring interrupts.
+     */
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Tests that a non-positive TTL is rejected.
+     */
+    @Test
+    public void testInvalidTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new SessionRegistry(Duration.ZERO, now::get));
+    }
+}
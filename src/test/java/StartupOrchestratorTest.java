@@ -0,0 +1,114 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import controller.ACController;
+import model.ApiUtil;
+import model.Breed;
+import model.BreedCache;
+import model.BreedLoader;
+import model.ImageCatalog;
+import view.StartupMetrics;
+import view.StartupOrchestrator;
+import view.StartupView;
+
+public class StartupOrchestratorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StartupMetrics metrics;
+    private ImageCatalog images;
+
+    @BeforeEach
+    public void setUp() {
+        metrics = new StartupMetrics();
+        images = new ImageCatalog(tempDir.toString() + "/");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        images.close();
+    }
+
+    /**
+     * A window that records what the orchestrator tells it, without needing a display.
+     */
+    private static class RecordingView implements StartupView {
+        private final StartupMetrics metrics;
+        private ACController controller;
+        private String failure;
+
+        RecordingView(StartupMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void attach(ACController controller) {
+            this.controller = controller;
+            metrics.markInteractive();
+        }
+
+        @Override
+        public void showLoadFailure(String message) {
+            failure = message;
+        }
+    }
+
+    /**
+     * Returns a breed loader reading the bundled breeds, whose refresh goes nowhere.
+     */
+    private BreedLoader bundledBreeds() {
+        return new BreedLoader(new ApiUtil("http://127.0.0.1:1"),
+                new BreedCache(tempDir.resolve("breeds.json"), Duration.ofHours(1)));
+    }
+
+    /**
+     * Tests that startup attaches the loaded dogs and records both times, with the GUI becoming
+     * interactive no earlier than its first paint even when the controls are enabled first.
+     */
+    @Test
+    public void testRecordsFirstPaintAndInteractive() throws Exception {
+        StartupOrchestrator orchestrator = new StartupOrchestrator(metrics, bundledBreeds(), images,
+                RecordingView::new);
+        RecordingView view = (RecordingView) orchestrator.start().get(30, TimeUnit.SECONDS);
+
+        assertNotNull(view.controller);
+        assertFalse(view.controller.getAdoptableDogs().isEmpty());
+        assertNull(view.failure);
+        assertEquals(-1, metrics.getTimeToInteractiveMillis()); // not painted yet
+
+        metrics.markFirstPaint();
+        assertTrue(metrics.getTimeToFirstPaintMillis() >= 0);
+        assertTrue(metrics.getTimeToInteractiveMillis() >= metrics.getTimeToFirstPaintMillis());
+    }
+
+    /**
+     * Tests that a failed load leaves the window usable with no dogs and shows why.
+     */
+    @Test
+    public void testShowsLoadFailure() throws Exception {
+        BreedLoader broken = new BreedLoader(new ApiUtil("http://127.0.0.1:1"),
+                new BreedCache(tempDir.resolve("breeds.json"), Duration.ofHours(1))) {
+            @Override
+            public Map<String, Breed> load() throws IOException {
+                throw new IOException("breeds unreadable");
+            }
+        };
+        StartupOrchestrator orchestrator = new StartupOrchestrator(metrics, broken, images, RecordingView::new);
+        RecordingView view = (RecordingView) orchestrator.start().get(30, TimeUnit.SECONDS);
+
+        assertNotNull(view.controller);
+        assertTrue(view.controller.getAdoptableDogs().isEmpty());
+        assertEquals("breeds unreadable", view.failure);
+    }
+}
@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import web.StreamLimiter;
+import web.ThrottledException;
+
+public class StreamLimiterTest {
+
+    /**
+     * Tests that one client cannot run more than its share of streams, while others still can.
+     */
+    @Test
+    public void testLimitsStreamsPerClient() {
+        StreamLimiter streams = new StreamLimiter(4, 2, 1);
+        StreamLimiter.Permit first = streams.acquire("a");
+        streams.acquire("a");
+
+        ThrottledException rejected = assertThrows(ThrottledException.class, () -> streams.acquire("a"));
+        assertEquals(429, rejected.getStatus());
+        streams.acquire("b");
+
+        first.close();
+        streams.acquire("a");
+        assertEquals(3, streams.getActive());
+    }
+
+    /**
+     * Tests that streams over the total limit are turned away at once with a 503.
+     */
+    @Test
+    public void testLimitsStreamsInTotal() {
+        StreamLimiter streams = new StreamLimiter(2, 2, 1);
+        streams.acquire("a");
+        StreamLimiter.Permit second = streams.acquire("b");
+
+        ThrottledException rejected = assertThrows(ThrottledException.class, () -> streams.acquire("c"));
+        assertEquals(503, rejected.getStatus());
+        assertEquals(1, rejected.getRetryAfterSeconds());
+        assertEquals(1, streams.getRejectedCount());
+
+        second.close();
+        streams.acquire("c");
+    }
+
+    /**
+     * Tests that closing a permit twice gives its slot back only once.
+     */
+    @Test
+    public void testCloseIsIdempotent() {
+        StreamLimiter streams = new StreamLimiter(2, 2, 1);
+        StreamLimiter.Permit permit = streams.acquire("a");
+        streams.acquire("a");
+
+        permit.close();
+        permit.close();
+
+        assertEquals(1, streams.getActive());
+        assertThrows(ThrottledException.class, () -> {
+            streams.acquire("b");
+            streams.acquire("c");
+        });
+    }
+}
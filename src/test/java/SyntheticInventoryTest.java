@@ -0,0 +1,89 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import model.Breed;
+import model.Dog;
+import model.SyntheticInventory;
+
+public class SyntheticInventoryTest {
+
+    /**
+     * Tests that the same seed gives the same dogs, and that a smaller inventory is the start
+     * of a larger one.
+     */
+    @Test
+    public void testReproducible() throws IOException {
+        List<Dog> first = SyntheticInventory.bundled(7).create(1_000);
+        List<Dog> second = SyntheticInventory.bundled(7).create(2_000);
+        List<Dog> other = SyntheticInventory.bundled(8).create(1_000);
+
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(describe(first.get(i)), describe(second.get(i)));
+        }
+        assertEquals("1", first.get(0).getID());
+        assertEquals("2000", second.get(1_999).getID());
+        assertNotEquals(first.stream().map(SyntheticInventoryTest::describe).toList(),
+                other.stream().map(SyntheticInventoryTest::describe).toList());
+        assertEquals(describe(first.get(0)),
+                describe(SyntheticInventory.bundled(7).stream(500, 1).findFirst().orElseThrow()).replace("500 ", "1 "));
+    }
+
+    /**
+     * Tests that names and breeds are skewed and values stay within realistic bounds.
+     */
+    @Test
+    public void testDistributions() throws IOException {
+        List<Dog> dogs = SyntheticInventory.bundled(SyntheticInventory.DEFAULT_SEED).create(100_000);
+
+        List<Long> names = frequencies(dogs, Dog::getName);
+        assertTrue(names.get(0) > 20 * names.get(names.size() - 1), "names should be skewed: " + names);
+        List<Long> breeds = frequencies(dogs, dog -> dog.getBreed().name());
+        assertTrue(breeds.get(0) > 3 * breeds.get(breeds.size() - 1), "breeds should be skewed: " + breeds);
+
+        long young = dogs.stream().filter(dog -> dog.getAge() <= 4).count();
+        assertTrue(young > dogs.size() / 2 && young < dogs.size() * 9 / 10);
+        for (Dog dog : dogs) {
+            Breed breed = dog.getBreed();
+            int max = dog.getSex().equalsIgnoreCase("M") ? breed.maleWeightMax() : breed.femaleWeightMax();
+            assertTrue(dog.getAge() >= 1 && dog.getAge() <= breed.lifeMax(), "age of " + dog.getID());
+            assertTrue(dog.getWeight() > 0 && dog.getWeight() <= max * 1.2, "weight of " + dog.getID());
+            assertEquals(dog.getIsReady(), dog.getPrice() > 0, "price of " + dog.getID());
+        }
+        long notReady = dogs.stream().filter(dog -> !dog.getIsReady()).count();
+        assertEquals(0.1, notReady / (double) dogs.size(), 0.01);
+        double meanPrice = dogs.stream().filter(Dog::getIsReady).mapToDouble(Dog::getPrice).average().orElse(0);
+        assertTrue(meanPrice > 800 && meanPrice < 1600, "mean price " + meanPrice);
+    }
+
+    /**
+     * Tests that a generator needs at least one breed.
+     */
+    @Test
+    public void testNoBreeds() {
+        assertThrows(IllegalArgumentException.class, () -> new SyntheticInventory(Map.of(), 1));
+    }
+
+    /**
+     * Returns the values of a dog as text, for comparing dogs of different generators.
+     */
+    private static String describe(Dog dog) {
+        return dog.getID() + " " + dog.getName() + " " + dog.getSex() + " " + dog.getBreed().name() + " "
+                + dog.getAge() + " " + dog.getWeight() + " " + dog.getPrice() + " " + dog.getIsReady() + " "
+                + dog.getImage();
+    }
+
+    /**
+     * Returns how often each value occurs, most frequent first.
+     */
+    private static List<Long> frequencies(List<Dog> dogs, Function<Dog, String> value) {
+        Map<String, Long> counts = dogs.stream().collect(Collectors.groupingBy(value, Collectors.counting()));
+        return counts.values().stream().sorted((a, b) -> Long.compare(b, a)).toList();
+    }
+}
@@ -0,0 +1,53 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Test;
+
+import view.ThumbnailCache;
+
+public class ThumbnailCacheTest {
+
+    private static final String IMAGES = "src/main/resources/dogimages/";
+
+    /**
+     * Tests that a loaded thumbnail has the requested size and is cached.
+     */
+    @Test
+    public void testLoadScalesAndCaches() throws Exception {
+        ThumbnailCache cache = new ThumbnailCache(100, ThumbnailCache.DEFAULT_MAX_BYTES, 2);
+        BufferedImage thumbnail = cache.load(IMAGES + "1.png").get();
+
+        assertEquals(100, thumbnail.getWidth());
+        assertEquals(100, thumbnail.getHeight());
+        assertSame(thumbnail, cache.load(IMAGES + "1.png").get());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Tests that the least recently used thumbnail is evicted when the budget is exceeded.
+     */
+    @Test
+    public void testEvictsLeastRecentlyUsed() throws Exception {
+        ThumbnailCache cache = new ThumbnailCache(10, 2 * 10 * 10 * 4, 1);
+        BufferedImage first = cache.load(IMAGES + "1.png").get();
+        cache.load(IMAGES + "2.png").get();
+        cache.load(IMAGES + "1.png").get(); // 1.png is now the most recently used
+        cache.load(IMAGES + "3.png").get();
+
+        assertEquals(2, cache.size());
+        assertEquals(2 * 10 * 10 * 4, cache.usedBytes());
+        assertSame(first, cache.load(IMAGES + "1.png").get());
+    }
+
+    /**
+     * Tests that a missing image completes with null and is not cached.
+     */
+    @Test
+    public void testMissingImage() throws Exception {
+        ThumbnailCache cache = new ThumbnailCache(100, ThumbnailCache.DEFAULT_MAX_BYTES, 1);
+
+        assertNull(cache.load(IMAGES + "missing.png").get());
+        assertEquals(0, cache.size());
+    }
+}
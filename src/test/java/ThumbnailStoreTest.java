@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import model.ThumbnailStore;
+
+public class ThumbnailStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ThumbnailStore store;
+    private String image;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        store = new ThumbnailStore();
+        Path copy = tempDir.resolve("1.png");
+        Files.copy(Paths.get("src/main/resources/dogimages/1.png"), copy);
+        image = copy.toString();
+    }
+
+    /**
+     * Tests that a generated thumbnail is a small image next to the original.
+     */
+    @Test
+    public void testGenerate() throws Exception {
+        Path thumbnail = store.generate(image);
+
+        assertEquals(tempDir.resolve(ThumbnailStore.THUMBNAIL_DIRECTORY).resolve("1.png.jpg"), thumbnail);
+        BufferedImage read = ImageIO.read(thumbnail.toFile());
+        assertEquals(ThumbnailStore.SIZE, read.getWidth());
+        assertEquals(ThumbnailStore.SIZE, read.getHeight());
+        assertTrue(Files.size(thumbnail) < Files.size(Paths.get(image)));
+        assertTrue(store.isFresh(image));
+    }
+
+    /**
+     * Tests that a thumbnail older than its original is stale and regenerated on request.
+     */
+    @Test
+    public void testInvalidatedByModificationTime() throws Exception {
+        Path thumbnail = store.generate(image);
+        Files.setLastModifiedTime(thumbnail,
+                FileTime.fromMillis(Files.getLastModifiedTime(Paths.get(image)).toMillis() - 10_000));
+
+        assertFalse(store.isFresh(image));
+        assertEquals(thumbnail, store.getThumbnail(image));
+        assertTrue(store.isFresh(image));
+    }
+
+    /**
+     * Tests that ensure generates a missing thumbnail in the background.
+     */
+    @Test
+    public void testEnsure() throws Exception {
+        assertFalse(store.isFresh(image));
+        store.ensure(image);
+        store.generateAsync(image).get();
+
+        assertTrue(store.isFresh(image));
+    }
+
+    /**
+     * Tests that an unreadable image has no thumbnail.
+     */
+    @Test
+    public void testUnreadableImage() throws Exception {
+        Path text = Files.writeString(tempDir.resolve("notes.png"), "not an image");
+
+        assertNull(store.getThumbnail(text.toString()));
+    }
+}
@@ -0,0 +1,103 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import model.WorkerThreads;
+import web.DogCenterApplication;
+
+/**
+ * Compares request handling on the Tomcat platform-thread pool with virtual threads, at a
+ * high number of concurrent connections. The number of connections defaults to 10,000 and can
+ * be set with the loadtest.connections system property; the open file limit of the shell must
+ * allow twice that many sockets, since client and server run in this JVM.
+ */
+@Tag("perf")
+public class VirtualThreadLoadTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("loadtest.connections", 10_000);
+
+    /**
+     * Stands in for request work that blocks on I/O, such as a thumbnail read or a breed refresh.
+     */
+    @RestController
+    public static class BlockingController {
+        @GetMapping("/test/blocking")
+        public String blocking() throws InterruptedException {
+            Thread.sleep(20);
+            return "ok";
+        }
+    }
+
+    /**
+     * Runs the same load against the platform-thread pool and, on Java 21 or later, against
+     * virtual threads, and reports throughput, latency, peak thread count and peak heap use.
+     */
+    @Test
+    public void testPlatformVersusVirtualThreads() throws Exception {
+        String platform = run(false);
+        System.out.println("Platform threads: " + platform);
+        if (!WorkerThreads.isVirtualSupported()) {
+            System.out.println("Virtual threads: not supported by Java " + Runtime.version().feature());
+            return;
+        }
+        System.out.println("Virtual threads: " + run(true));
+    }
+
+    /**
+     * Starts the application with or without virtual threads, drives it and stops it.
+     *
+     * @return a report of the run
+     */
+    private String run(boolean virtual) throws Exception {
+        System.setProperty(WorkerThreads.VIRTUAL_THREADS_PROPERTY, String.valueOf(virtual));
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                DogCenterApplication.class, BlockingController.class)
+                .properties("server.port=0", "server.tomcat.max-connections=" + (CONNECTIONS + 100),
+                        "server.tomcat.accept-count=" + CONNECTIONS,
+                        "dogcenter.rateLimit.burst=1000000", "dogcenter.rateLimit.perSecond=1000000",
+                        "dogcenter.admission.queue=100000", "dogcenter.admission.maxWaitMillis=60000")
+                .run()) {
+            String base = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            List<URI> uris = List.of(URI.create(base + "/test/blocking"),
+                    URI.create(base + "/dogs?sort=age"), URI.create(base + "/dogs/2"));
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            AtomicLong peakHeap = new AtomicLong();
+            threads.resetPeakThreadCount();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> peakHeap.accumulateAndGet(
+                    memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 100, TimeUnit.MILLISECONDS);
+            HttpLoad.Result result;
+            try {
+                result = HttpLoad.runAsync(client, uris, CONNECTIONS, Duration.ofSeconds(5), Duration.ofSeconds(15));
+            } finally {
+                sampler.shutdownNow();
+            }
+            assertTrue(result.requests() > 0);
+            return result + ", peak " + threads.getPeakThreadCount() + " platform threads, peak heap "
+                    + peakHeap.get() / (1024 * 1024) + " MB";
+        }
+    }
+}
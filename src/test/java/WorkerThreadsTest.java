@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import model.WorkerThreads;
+
+public class WorkerThreadsTest {
+
+    @AfterEach
+    public void tearDown() {
+        System.clearProperty(WorkerThreads.VIRTUAL_THREADS_PROPERTY);
+    }
+
+    /**
+     * Tests that without the switch, tasks run on named daemon platform threads.
+     */
+    @Test
+    public void testPlatformThreadsByDefault() throws Exception {
+        ExecutorService executor = WorkerThreads.newExecutor("test-worker", 2);
+        Thread thread = executor.submit(Thread::currentThread).get();
+        executor.shutdown();
+
+        assertFalse(WorkerThreads.isVirtualEnabled());
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("test-worker-"));
+    }
+
+    /**
+     * Tests that the switch uses virtual threads where supported and falls back otherwise.
+     */
+    @Test
+    public void testSwitchFallsBackWithoutSupport() throws Exception {
+        System.setProperty(WorkerThreads.VIRTUAL_THREADS_PROPERTY, "true");
+        ExecutorService executor = WorkerThreads.newExecutor("test-worker", 1);
+        Thread thread = executor.submit(Thread::currentThread).get();
+        executor.shutdown();
+
+        assertEquals(WorkerThreads.isVirtualSupported(), WorkerThreads.isVirtualEnabled());
+        assertTrue(thread.getName().startsWith("test-worker"));
+        if (!WorkerThreads.isVirtualSupported()) {
+            assertTrue(thread.isDaemon()); // platform pool
+        } else {
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        }
+    }
+
+    /**
+     * Tests that a platform executor keeps its fixed pool of platform threads with the switch on.
+     */
+    @Test
+    public void testPlatformExecutorIgnoresSwitch() throws Exception {
+        System.setProperty(WorkerThreads.VIRTUAL_THREADS_PROPERTY, "true");
+        ExecutorService executor = WorkerThreads.newPlatformExecutor("test-fanout", 2);
+        Thread thread = executor.submit(Thread::currentThread).get();
+        executor.shutdown();
+
+        assertTrue(thread.isDaemon());
+        assertTrue(thread.getName().startsWith("test-fanout-"));
+        if (WorkerThreads.isVirtualSupported()) {
+            assertFalse((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        }
+    }
+}